@@ -0,0 +1,27 @@
+#!/bin/bash
+
+# Training run for the startup optimised image, made as the image is built. The jar is extracted so that its classes
+# are loaded from plain jars that can be archived, then started up to the end of its context refresh (before any
+# listener container connects to Kafka), at which point the classes loaded are dumped into a class data sharing
+# archive for docker_start.sh to map in.
+
+set -e
+
+java -Djarmode=tools -jar item-handler.jar extract --destination extracted
+
+# Nothing is connected to during the training run, but the configuration the application requires must be present.
+IS_ERROR_QUEUE_CONSUMER="false" \
+KAFKA_BROKER_ADDR="localhost:9092" \
+CHS_API_KEY="cds-training" \
+CHS_URL="http://localhost" \
+CERTIFICATE_ORDER_CONFIRMATION_RECIPIENT="cds-training@localhost" \
+CERTIFIED_COPY_ORDER_CONFIRMATION_RECIPIENT="cds-training@localhost" \
+MISSING_IMAGE_DELIVERY_ORDER_CONFIRMATION_RECIPIENT="cds-training@localhost" \
+DISPATCH_DAYS="10" \
+DYNAMIC_LP_CERTIFICATE_ORDERS_ENABLED="true" \
+DYNAMIC_LLP_CERTIFICATE_ORDERS_ENABLED="true" \
+java -XX:ArchiveClassesAtExit=extracted/item-handler.jsa \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true \
+    -Dspring.main.lazy-initialization=true \
+    -jar "extracted/item-handler.jar"
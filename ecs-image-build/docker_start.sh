@@ -3,4 +3,14 @@
 # Start script for item-handler
 
 PORT=8080
+
+if [ "${STARTUP_OPTIMISED}" = "true" ]; then
+    # Runs the jar extracted by cds_training.sh, with the class data sharing archive dumped from its training run
+    exec java -jar -Dserver.port="${PORT}" -XX:MaxRAMPercentage=80 \
+        -XX:SharedArchiveFile=extracted/item-handler.jsa \
+        -Dspring.aot.enabled=true \
+        -Dspring.main.lazy-initialization=true \
+        "extracted/item-handler.jar"
+fi
+
 exec java -jar -Dserver.port="${PORT}" -XX:MaxRAMPercentage=80 "item-handler.jar"
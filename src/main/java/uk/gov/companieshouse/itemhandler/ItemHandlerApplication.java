@@ -2,6 +2,7 @@ package uk.gov.companieshouse.itemhandler;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.environment.exception.EnvironmentVariableException;
 import uk.gov.companieshouse.environment.impl.EnvironmentReaderImpl;
@@ -16,7 +17,11 @@ public class ItemHandlerApplication {
 
 	public static void main(String[] args) {
 	    if(checkEnvironmentVariables()) {
-	        SpringApplication.run(ItemHandlerApplication.class, args);
+	        ConfigurableApplicationContext context = SpringApplication.run(ItemHandlerApplication.class, args);
+	        if (context.getEnvironment().getProperty("replay.enabled", Boolean.class, false)) {
+	            // The replay has run to completion as the application started; exit with its outcome.
+	            System.exit(SpringApplication.exit(context));
+	        }
 	    }
 	}
 
@@ -10,6 +10,7 @@ import uk.gov.companieshouse.api.handler.chskafka.request.PrivateSendEmailPost;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.email.EmailSend;
 import uk.gov.companieshouse.itemhandler.exception.EmailClientException;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -34,6 +35,7 @@ public class EmailClient {
             sendEmail.setEmailAddress(document.getEmailAddress());
 
             InternalApiClient internalApiClient = apiClientSupplier.get();
+            propagateTraceContext(internalApiClient);
 
             PrivateSendEmailHandler emailHandler = internalApiClient.sendEmailHandler();
             PrivateSendEmailPost emailPost = emailHandler.postSendEmail("/send-email", sendEmail);
@@ -50,4 +52,15 @@ public class EmailClient {
             throw new EmailClientException("Error sending payload to CHS Kafka API: ", ex);
         }
     }
+
+    /**
+     * The SDK sends no headers other than its own, so the trace context is propagated as the request ID it sends,
+     * which CHS Kafka API logs against the request.
+     */
+    private static void propagateTraceContext(final InternalApiClient internalApiClient) {
+        final String traceParent = OrderTracing.traceParent();
+        if (traceParent != null) {
+            internalApiClient.getHttpClient().setRequestId(traceParent);
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package uk.gov.companieshouse.itemhandler.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.api.client.http.HttpStatusCodes;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.OrdersApiStreamingConfig;
+import uk.gov.companieshouse.itemhandler.exception.ApiException;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
+import uk.gov.companieshouse.itemhandler.mapper.OrderDataStreamingReader;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+
+/**
+ * Gets orders from the Orders API over a plain HTTP client, reading the response body as it arrives with the
+ * {@link OrderDataStreamingReader} rather than through the SDK, which binds the whole body to its own model before
+ * it can be mapped to {@link OrderData}. Failures are classified as the SDK path classifies them.
+ */
+@Component
+public class OrdersApiStreamingClient {
+
+    private final OrdersApiStreamingConfig config;
+    private final OrderDataStreamingReader orderDataStreamingReader;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public OrdersApiStreamingClient(OrdersApiStreamingConfig config,
+                                    OrderDataStreamingReader orderDataStreamingReader) {
+        this(config, orderDataStreamingReader, HttpClient.newBuilder()
+                .connectTimeout(config.getConnectTimeout())
+                .build());
+    }
+
+    OrdersApiStreamingClient(OrdersApiStreamingConfig config,
+                             OrderDataStreamingReader orderDataStreamingReader,
+                             HttpClient httpClient) {
+        this.config = config;
+        this.orderDataStreamingReader = orderDataStreamingReader;
+        this.httpClient = httpClient;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Gets an order using an orderUri identifier.
+     *
+     * @param orderUri order identifier
+     * @return the order
+     * @throws ApiException if the service is unavailable
+     * @throws NonRetryableException if the order URI is invalid, the order is not found or its body is not valid
+     */
+    public OrderData getOrderData(String orderUri) {
+        final HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(config.getApiUrl() + orderUri))
+                    .timeout(config.getRequestTimeout())
+                    .header("Authorization", authorisation())
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException exception) {
+            String message = String.format("Invalid order URI %s", orderUri);
+            LoggingUtils.getLogger().error(message, exception);
+            throw new NonRetryableException(message);
+        }
+
+        try {
+            final HttpResponse<InputStream> response =
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == HttpStatusCodes.STATUS_CODE_NOT_FOUND) {
+                    String message = String.format("Order URI %s, API status %d", orderUri, response.statusCode());
+                    LoggingUtils.getLogger().error(message);
+                    throw new NonRetryableException(message);
+                } else if (!HttpStatusCodes.isSuccess(response.statusCode())) {
+                    String message = String.format("Order URI %s, API status %d", orderUri, response.statusCode());
+                    LoggingUtils.getLogger().info(message);
+                    throw new ApiException(message);
+                }
+                return orderDataStreamingReader.read(body);
+            }
+        } catch (JsonProcessingException exception) {
+            String message = String.format("Order URI %s, invalid order response %s", orderUri, exception);
+            LoggingUtils.getLogger().error(message);
+            throw new NonRetryableException(message);
+        } catch (IOException exception) {
+            String message = String.format("Order URI %s, API exception %s", orderUri, exception);
+            LoggingUtils.getLogger().info(message);
+            throw new ApiException(message, exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(String.format("Order URI %s, interrupted", orderUri), exception);
+        }
+    }
+
+    private String authorisation() {
+        // The API key is presented as the user name of basic authentication, as the SDK does.
+        final String credentials = config.getApiKey() + ":";
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "consumer-group")
+@Component
+public class ConsumerGroupConfig {
+
+    private String instanceId;
+    private boolean cooperativeRebalancing;
+    private Duration sessionTimeout;
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public boolean isCooperativeRebalancing() {
+        return cooperativeRebalancing;
+    }
+
+    public void setCooperativeRebalancing(boolean cooperativeRebalancing) {
+        this.cooperativeRebalancing = cooperativeRebalancing;
+    }
+
+    public Duration getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    public void setSessionTimeout(Duration sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "consumer-lag")
+@Component
+public class ConsumerLagConfig {
+
+    private long maxLag = 1000;
+    private Duration maxOldestUnprocessedAge = Duration.ofMinutes(5);
+
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(long maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getMaxOldestUnprocessedAge() {
+        return maxOldestUnprocessedAge;
+    }
+
+    public void setMaxOldestUnprocessedAge(Duration maxOldestUnprocessedAge) {
+        this.maxOldestUnprocessedAge = maxOldestUnprocessedAge;
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "dispatch-slo")
+@Component
+public class DispatchSloConfig {
+
+    private Duration expressLatency = Duration.ofSeconds(30);
+    private Duration standardLatency = Duration.ofMinutes(5);
+
+    public Duration getExpressLatency() {
+        return expressLatency;
+    }
+
+    public void setExpressLatency(Duration expressLatency) {
+        this.expressLatency = expressLatency;
+    }
+
+    public Duration getStandardLatency() {
+        return standardLatency;
+    }
+
+    public void setStandardLatency(Duration standardLatency) {
+        this.standardLatency = standardLatency;
+    }
+}
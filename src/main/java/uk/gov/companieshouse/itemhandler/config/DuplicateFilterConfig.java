@@ -0,0 +1,60 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "duplicate-filter")
+@Component
+public class DuplicateFilterConfig {
+
+    private boolean enabled;
+    private Duration window = Duration.ofHours(1);
+    private long expectedOrders = 50_000;
+    private double falsePositiveRate = 0.01;
+    private int maxCompletedOrders = 50_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public long getExpectedOrders() {
+        return expectedOrders;
+    }
+
+    public void setExpectedOrders(long expectedOrders) {
+        this.expectedOrders = expectedOrders;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public int getMaxCompletedOrders() {
+        return maxCompletedOrders;
+    }
+
+    public void setMaxCompletedOrders(int maxCompletedOrders) {
+        this.maxCompletedOrders = maxCompletedOrders;
+    }
+}
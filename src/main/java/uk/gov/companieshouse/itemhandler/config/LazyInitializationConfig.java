@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.itemhandler.kafka.OrderMessageDefaultConsumer;
+import uk.gov.companieshouse.itemhandler.kafka.OrderMessageErrorConsumer;
+import uk.gov.companieshouse.itemhandler.kafka.OrderMessageRetryConsumer;
+import uk.gov.companieshouse.itemhandler.logging.LogSampler;
+import uk.gov.companieshouse.itemhandler.outbox.OutboxRelay;
+import uk.gov.companieshouse.itemhandler.service.FilingHistoryDescriptionReloader;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracingInstaller;
+
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * Keeps the beans on the startup path eager when {@code spring.main.lazy-initialization} is enabled. The listeners
+     * are only registered with their containers as they are created, and so bring everything that handles an order
+     * with them; the installers are never injected anywhere, so would otherwise never be created at all.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter startupPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                OrderMessageDefaultConsumer.class,
+                OrderMessageRetryConsumer.class,
+                OrderMessageErrorConsumer.class,
+                OutboxRelay.class,
+                LogSampler.class,
+                OrderTracingInstaller.class,
+                FilingHistoryDescriptionReloader.class);
+    }
+}
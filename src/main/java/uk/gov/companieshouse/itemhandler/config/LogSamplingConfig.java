@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "log-sampling")
+@Component
+public class LogSamplingConfig {
+
+    private boolean enabled = false;
+    private double orderSampleRate = 0.01;
+    private Map<String, Integer> messagesPerSecond = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getOrderSampleRate() {
+        return orderSampleRate;
+    }
+
+    public void setOrderSampleRate(double orderSampleRate) {
+        this.orderSampleRate = orderSampleRate;
+    }
+
+    public Map<String, Integer> getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public void setMessagesPerSecond(Map<String, Integer> messagesPerSecond) {
+        this.messagesPerSecond = messagesPerSecond;
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "order-streams")
+@Component
+public class OrderStreamsConfig {
+
+    private boolean enabled;
+    private String applicationId = "item-handler-order-streams";
+    private int numStreamThreads = 1;
+    private int numStandbyReplicas = 1;
+    private String stateDir;
+    private Duration completedOrderRetention = Duration.ofDays(7);
+    private Duration closeTimeout = Duration.ofSeconds(20);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public int getNumStreamThreads() {
+        return numStreamThreads;
+    }
+
+    public void setNumStreamThreads(int numStreamThreads) {
+        this.numStreamThreads = numStreamThreads;
+    }
+
+    public int getNumStandbyReplicas() {
+        return numStandbyReplicas;
+    }
+
+    public void setNumStandbyReplicas(int numStandbyReplicas) {
+        this.numStandbyReplicas = numStandbyReplicas;
+    }
+
+    public String getStateDir() {
+        return stateDir;
+    }
+
+    public void setStateDir(String stateDir) {
+        this.stateDir = stateDir;
+    }
+
+    public Duration getCompletedOrderRetention() {
+        return completedOrderRetention;
+    }
+
+    public void setCompletedOrderRetention(Duration completedOrderRetention) {
+        this.completedOrderRetention = completedOrderRetention;
+    }
+
+    public Duration getCloseTimeout() {
+        return closeTimeout;
+    }
+
+    public void setCloseTimeout(Duration closeTimeout) {
+        this.closeTimeout = closeTimeout;
+    }
+}
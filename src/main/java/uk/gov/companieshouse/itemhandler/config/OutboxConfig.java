@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "outbox")
+@Component
+public class OutboxConfig {
+
+    private boolean enabled;
+    private Duration writeTimeout = Duration.ofSeconds(10);
+    private Duration deliveryTimeout = Duration.ofSeconds(60);
+    private int relayMaxPollRecords = 100;
+    private Duration relayInitialBackOff = Duration.ofSeconds(1);
+    private Duration relayMaxBackOff = Duration.ofMinutes(1);
+    private Duration relayMaxElapsedTime = Duration.ofMinutes(15);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    public Duration getDeliveryTimeout() {
+        return deliveryTimeout;
+    }
+
+    public void setDeliveryTimeout(Duration deliveryTimeout) {
+        this.deliveryTimeout = deliveryTimeout;
+    }
+
+    public int getRelayMaxPollRecords() {
+        return relayMaxPollRecords;
+    }
+
+    public void setRelayMaxPollRecords(int relayMaxPollRecords) {
+        this.relayMaxPollRecords = relayMaxPollRecords;
+    }
+
+    public Duration getRelayInitialBackOff() {
+        return relayInitialBackOff;
+    }
+
+    public void setRelayInitialBackOff(Duration relayInitialBackOff) {
+        this.relayInitialBackOff = relayInitialBackOff;
+    }
+
+    public Duration getRelayMaxBackOff() {
+        return relayMaxBackOff;
+    }
+
+    public void setRelayMaxBackOff(Duration relayMaxBackOff) {
+        this.relayMaxBackOff = relayMaxBackOff;
+    }
+
+    public Duration getRelayMaxElapsedTime() {
+        return relayMaxElapsedTime;
+    }
+
+    public void setRelayMaxElapsedTime(Duration relayMaxElapsedTime) {
+        this.relayMaxElapsedTime = relayMaxElapsedTime;
+    }
+}
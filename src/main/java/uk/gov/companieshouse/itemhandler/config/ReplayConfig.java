@@ -0,0 +1,123 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import java.time.Instant;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Configuration
+@PropertySource("classpath:application.properties")
+@ConfigurationProperties(prefix = "replay")
+@Component
+public class ReplayConfig {
+
+    private boolean enabled;
+    private String file;
+    private String topic;
+    private Integer partition;
+    private Long fromOffset;
+    private Long toOffset;
+    private Instant fromTime;
+    private Instant toTime;
+    private int parallelism = 4;
+    private double ratePerSecond = 10;
+    private boolean dryRun;
+    private String reportFile = "replay-report.csv";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
+
+    public Long getFromOffset() {
+        return fromOffset;
+    }
+
+    public void setFromOffset(Long fromOffset) {
+        this.fromOffset = fromOffset;
+    }
+
+    public Long getToOffset() {
+        return toOffset;
+    }
+
+    public void setToOffset(Long toOffset) {
+        this.toOffset = toOffset;
+    }
+
+    public Instant getFromTime() {
+        return fromTime;
+    }
+
+    public void setFromTime(Instant fromTime) {
+        this.fromTime = fromTime;
+    }
+
+    public Instant getToTime() {
+        return toTime;
+    }
+
+    public void setToTime(Instant toTime) {
+        this.toTime = toTime;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+}
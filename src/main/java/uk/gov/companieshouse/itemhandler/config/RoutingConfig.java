@@ -0,0 +1,32 @@
+package uk.gov.companieshouse.itemhandler.config;
+
+import io.opentelemetry.context.Context;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RoutingConfig {
+
+    /**
+     * Runs the independent sinks (emails, CHD messages and digital item group messages) of each order concurrently.
+     * Once the queue is full a sink runs on the thread routing its order, which slows consumption rather than
+     * failing the order.
+     */
+    @Bean
+    ThreadPoolTaskExecutor routingSinkExecutor(@Value("${routing.sinkPoolSize:8}") final int sinkPoolSize,
+                                               @Value("${routing.sinkQueueCapacity:100}") final int queueCapacity) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sinkPoolSize);
+        executor.setMaxPoolSize(sinkPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("routing-sink-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        // Sinks run within the trace context of the order they were fanned out for.
+        executor.setTaskDecorator(sink -> Context.current().wrap(sink));
+        return executor;
+    }
+}
@@ -13,15 +13,21 @@ public class ItemGroup {
     private OrderData order;
     private String kind;
     private final List<Item> items;
+    private final OrderFragments orderFragments;
 
     public ItemGroup(OrderData order, String kind) {
         this(order, kind, new ArrayList<>());
     }
 
     public ItemGroup(OrderData order, String kind, List<Item> items) {
+        this(order, kind, items, null);
+    }
+
+    public ItemGroup(OrderData order, String kind, List<Item> items, OrderFragments orderFragments) {
         this.order = order;
         this.kind = kind;
         this.items = items;
+        this.orderFragments = orderFragments;
     }
 
     public OrderData getOrder() {
@@ -32,6 +38,14 @@ public class ItemGroup {
         this.order = order;
     }
 
+    /**
+     * @return the order level values of the routing pass that created this group, or those of its order if it was
+     * created outside a routing pass
+     */
+    public OrderFragments getOrderFragments() {
+        return orderFragments != null ? orderFragments : OrderFragments.of(order);
+    }
+
     public String getKind() {
         return kind;
     }
@@ -0,0 +1,25 @@
+package uk.gov.companieshouse.itemhandler.itemsummary;
+
+import uk.gov.companieshouse.itemhandler.model.ActionedBy;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+
+/**
+ * The order level values carried by every item message created for an order, extracted once per routing pass and
+ * shared by the item groups of its {@link RoutingPlan}. Each message builds its own Avro records from them, so no
+ * record is ever shared between messages.
+ *
+ * @param orderedAt the time the order was placed, as sent in messages
+ * @param orderedByEmail the email address of the customer who placed the order
+ * @param orderedById the ID of the customer who placed the order
+ * @param orderSelfLink the self link of the order, if it has links
+ */
+public record OrderFragments(String orderedAt, String orderedByEmail, String orderedById, String orderSelfLink) {
+
+    public static OrderFragments of(final OrderData order) {
+        final ActionedBy orderedBy = order.getOrderedBy();
+        return new OrderFragments(order.getOrderedAt() != null ? order.getOrderedAt().toString() : null,
+                orderedBy != null ? orderedBy.getEmail() : null,
+                orderedBy != null ? orderedBy.getId() : null,
+                order.getLinks() != null ? order.getLinks().getSelf() : null);
+    }
+}
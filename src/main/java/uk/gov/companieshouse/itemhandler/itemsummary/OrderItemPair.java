@@ -8,10 +8,16 @@ public class OrderItemPair {
 
     private final OrderData order;
     private final Item item;
+    private final OrderFragments orderFragments;
 
     public OrderItemPair(OrderData order, Item item) {
+        this(order, item, null);
+    }
+
+    public OrderItemPair(OrderData order, Item item, OrderFragments orderFragments) {
         this.order = order;
         this.item = item;
+        this.orderFragments = orderFragments;
     }
 
     public OrderData getOrder() {
@@ -22,6 +28,14 @@ public class OrderItemPair {
         return item;
     }
 
+    /**
+     * @return the order level values of the routing pass the item was routed in, or those of its order if it was
+     * paired outside a routing pass
+     */
+    public OrderFragments getOrderFragments() {
+        return orderFragments != null ? orderFragments : OrderFragments.of(order);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,153 @@
+package uk.gov.companieshouse.itemhandler.itemsummary;
+
+import io.opentelemetry.api.trace.SpanKind;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.logging.LazyLogger;
+import uk.gov.companieshouse.itemhandler.model.DeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.DeliveryTimescale;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.service.ChdItemSenderService;
+import uk.gov.companieshouse.itemhandler.service.DigitalItemGroupSenderService;
+import uk.gov.companieshouse.itemhandler.service.EmailService;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.Routable;
+import uk.gov.companieshouse.itemhandler.service.SinkFanOutExecutor;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
+import uk.gov.companieshouse.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+
+/**
+ * Routes every item in an order in a single pass. Each item is classified once into a {@link RoutingPlan}:
+ * <ul>
+ *     <li>postal deliverable items, grouped by kind and delivery timescale, are confirmed by email</li>
+ *     <li>missing image delivery items are sent to CHD</li>
+ *     <li>digital items are each sent for digital processing (via the `item-group-ordered` topic)</li>
+ * </ul>
+ * The sinks of the plan are independent of each other and so are fanned out concurrently by the
+ * {@link SinkFanOutExecutor}, making the time taken to route an order that of its slowest sink rather than the sum
+ * of all of them.
+ */
+@Component
+public class OrderRoutingEngine implements Routable {
+
+    static final String KIND_MISSING_IMAGE_DELIVERY = "item#missing-image-delivery";
+
+    private final EmailService emailService;
+    private final ChdItemSenderService chdItemSenderService;
+    private final DigitalItemGroupSenderService digitalItemGroupSenderService;
+    private final SinkFanOutExecutor sinkFanOutExecutor;
+    private final LazyLogger logger;
+
+    public OrderRoutingEngine(EmailService emailService,
+                              ChdItemSenderService chdItemSenderService,
+                              DigitalItemGroupSenderService digitalItemGroupSenderService,
+                              SinkFanOutExecutor sinkFanOutExecutor,
+                              Logger logger) {
+        this.emailService = emailService;
+        this.chdItemSenderService = chdItemSenderService;
+        this.digitalItemGroupSenderService = digitalItemGroupSenderService;
+        this.sinkFanOutExecutor = sinkFanOutExecutor;
+        this.logger = new LazyLogger(logger);
+    }
+
+    @Override
+    public OrderProcessResponse.Status route(final OrderData order) {
+        return OrderTracing.inSpan(OrderTracing.SPAN_ROUTE_ORDER, SpanKind.INTERNAL, order.getReference(), null,
+                () -> routePlan(order));
+    }
+
+    private OrderProcessResponse.Status routePlan(final OrderData order) {
+        final RoutingPlan plan = plan(order);
+        final List<Runnable> sinks = new ArrayList<>(plan.getSinkCount());
+        plan.getEmailGroups().forEach(group -> sinks.add(() -> emailService.sendOrderConfirmation(group)));
+        if (!plan.getChdItems().empty()) {
+            sinks.add(() -> chdItemSenderService.sendItemsToChd(plan.getChdItems()));
+        }
+        plan.getDigitalGroups().forEach(group ->
+                sinks.add(() -> digitalItemGroupSenderService.sendItemGroupForDigitalProcessing(group)));
+        return sinkFanOutExecutor.fanOut(order.getReference(), sinks);
+    }
+
+    /**
+     * Classifies each item in the order exactly once.
+     * @param order the order to be routed
+     * @return the {@link RoutingPlan} for the order
+     * @throws NonRetryableException should a postal deliverable item have no delivery timescale
+     */
+    public RoutingPlan plan(final OrderData order) {
+        final RoutingPlan plan = classify(order);
+        logItemGroupsCreated(order, plan.getDigitalGroups());
+        return plan;
+    }
+
+    /**
+     * Classifies each item in the order exactly once, as {@link #plan(OrderData)} does, without logging the item
+     * groups created.
+     * @param order the order to be classified
+     * @return the {@link RoutingPlan} for the order
+     * @throws NonRetryableException should a postal deliverable item have no delivery timescale
+     */
+    public RoutingPlan classify(final OrderData order) {
+        final OrderFragments orderFragments = OrderFragments.of(order);
+        final Map<String, Map<DeliveryTimescale, DeliverableItemGroup>> emailGroups = new LinkedHashMap<>();
+        final List<Item> missingImageDeliveryItems = new ArrayList<>();
+        final List<ItemGroup> digitalGroups = new ArrayList<>();
+
+        for (Item item : order.getItems()) {
+            if (item.getItemOptions() instanceof DeliveryItemOptions options) {
+                if (item.isPostalDelivery()) {
+                    final DeliveryTimescale timescale = options.getDeliveryTimescale();
+                    if (timescale == null) {
+                        throw new NonRetryableException(
+                                String.format("Item [%s] is missing a delivery timescale", item.getId()));
+                    }
+                    emailGroups.computeIfAbsent(item.getKind(), kind -> new EnumMap<>(DeliveryTimescale.class))
+                            .computeIfAbsent(timescale, ts -> new DeliverableItemGroup(order, item.getKind(), ts))
+                            .add(item);
+                }
+            } else {
+                missingImageDeliveryItems.add(item);
+            }
+            if (!KIND_MISSING_IMAGE_DELIVERY.equals(item.getKind()) && !item.isPostalDelivery()) {
+                digitalGroups.add(new ItemGroup(order, item.getKind(), singletonList(item), orderFragments));
+            }
+        }
+
+        final List<DeliverableItemGroup> deliverableGroups = new ArrayList<>();
+        emailGroups.values().forEach(timescaleToGroup -> deliverableGroups.addAll(timescaleToGroup.values()));
+        return new RoutingPlan(order, deliverableGroups,
+                new ItemGroup(order, KIND_MISSING_IMAGE_DELIVERY, missingImageDeliveryItems, orderFragments),
+                digitalGroups);
+    }
+
+    private void logItemGroupsCreated(final OrderData order, final List<ItemGroup> digitalItemGroups) {
+        final String orderNumber = order.getReference();
+        if (digitalItemGroups.isEmpty()) {
+            logger.info(() -> "No digital items were found, no digital item groups were created for order "
+                    + orderNumber + ".\n", () -> getLogMap(orderNumber));
+            return;
+        }
+        logger.info(() -> describeItemGroupsCreated(orderNumber, digitalItemGroups), () -> getLogMap(orderNumber));
+    }
+
+    private static String describeItemGroupsCreated(final String orderNumber, final List<ItemGroup> digitalItemGroups) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("For order ").append(orderNumber).append(" created ")
+                .append(digitalItemGroups.size()).append(" digital item groups:\n \n");
+        for (int i = 0; i < digitalItemGroups.size(); i++) {
+            final ItemGroup ig = digitalItemGroups.get(i);
+            sb.append("\n + IG ").append(i + 1).append(" | ").append(ig).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.itemhandler.itemsummary;
+
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+
+import java.util.List;
+
+/**
+ * The outcome of classifying every item in an order once: the deliverable item groups to be confirmed by email,
+ * the missing image delivery items to be sent to CHD and the digital item groups to be sent for digital processing.
+ * The CHD and digital item groups share the {@link OrderFragments} extracted from the order for the pass.
+ */
+public class RoutingPlan {
+
+    private final OrderData order;
+    private final List<DeliverableItemGroup> emailGroups;
+    private final ItemGroup chdItems;
+    private final List<ItemGroup> digitalGroups;
+
+    public RoutingPlan(OrderData order, List<DeliverableItemGroup> emailGroups, ItemGroup chdItems,
+                       List<ItemGroup> digitalGroups) {
+        this.order = order;
+        this.emailGroups = emailGroups;
+        this.chdItems = chdItems;
+        this.digitalGroups = digitalGroups;
+    }
+
+    public OrderData getOrder() {
+        return order;
+    }
+
+    public List<DeliverableItemGroup> getEmailGroups() {
+        return emailGroups;
+    }
+
+    public ItemGroup getChdItems() {
+        return chdItems;
+    }
+
+    public List<ItemGroup> getDigitalGroups() {
+        return digitalGroups;
+    }
+
+    /**
+     * @return the number of independent sink invocations this plan will make
+     */
+    public int getSinkCount() {
+        return emailGroups.size() + (chdItems.empty() ? 0 : 1) + digitalGroups.size();
+    }
+}
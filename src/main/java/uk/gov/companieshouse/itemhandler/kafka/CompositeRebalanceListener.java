@@ -0,0 +1,41 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import java.util.Collection;
+import java.util.List;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+/**
+ * Passes each rebalance callback on to every listener provided, in order, as a container takes only one.
+ */
+class CompositeRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private final List<ConsumerAwareRebalanceListener> listeners;
+
+    CompositeRebalanceListener(final ConsumerAwareRebalanceListener... listeners) {
+        this.listeners = List.of(listeners);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(final Consumer<?, ?> consumer,
+                                                final Collection<TopicPartition> partitions) {
+        listeners.forEach(listener -> listener.onPartitionsRevokedBeforeCommit(consumer, partitions));
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(final Consumer<?, ?> consumer,
+                                               final Collection<TopicPartition> partitions) {
+        listeners.forEach(listener -> listener.onPartitionsRevokedAfterCommit(consumer, partitions));
+    }
+
+    @Override
+    public void onPartitionsLost(final Consumer<?, ?> consumer, final Collection<TopicPartition> partitions) {
+        listeners.forEach(listener -> listener.onPartitionsLost(consumer, partitions));
+    }
+
+    @Override
+    public void onPartitionsAssigned(final Consumer<?, ?> consumer, final Collection<TopicPartition> partitions) {
+        listeners.forEach(listener -> listener.onPartitionsAssigned(consumer, partitions));
+    }
+}
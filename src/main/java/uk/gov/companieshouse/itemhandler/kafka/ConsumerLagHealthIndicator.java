@@ -0,0 +1,38 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.ConsumerLagConfig;
+
+/**
+ * Reports the consumers as {@link #DEGRADED} once the lag of any partition, or the age of its oldest unprocessed
+ * record, exceeds its service level objective. The consumers are still working when degraded, so the status is
+ * reported to the autoscaler and alerting rather than taking the instance out of service.
+ */
+@Component
+public class ConsumerLagHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED");
+
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final ConsumerLagConfig config;
+
+    public ConsumerLagHealthIndicator(final ConsumerLagMonitor consumerLagMonitor, final ConsumerLagConfig config) {
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.config = config;
+    }
+
+    @Override
+    public Health health() {
+        final long maxLag = consumerLagMonitor.getMaxLag();
+        final long oldestUnprocessedAgeMillis = consumerLagMonitor.getMaxOldestUnprocessedAgeMillis();
+        final boolean degraded = maxLag > config.getMaxLag()
+                || oldestUnprocessedAgeMillis > config.getMaxOldestUnprocessedAge().toMillis();
+        return Health.status(degraded ? DEGRADED : Status.UP)
+                .withDetail("maxLag", maxLag)
+                .withDetail("oldestUnprocessedAgeMillis", oldestUnprocessedAgeMillis)
+                .build();
+    }
+}
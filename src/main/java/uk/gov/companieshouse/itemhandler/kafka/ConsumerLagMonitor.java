@@ -0,0 +1,209 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.RecordBatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Tracks, for each partition assigned to the main, retry and error listener containers, how far the container is
+ * behind the end of the partition and how old the oldest record it has yet to process is, publishing both as gauges
+ * alongside the number of records processed and the time taken to process each. Lag is worked out from the
+ * position and lag the consumer already holds from its last fetch, so no call is made to the broker. A record is
+ * unprocessed from the moment it is handed to the listener; while a partition has lag, its oldest unprocessed
+ * record can be no older than the last record processed from it, whose age is reported instead.
+ */
+@Component
+public class ConsumerLagMonitor implements RecordInterceptor<String, OrderReceived>, ConsumerAwareRebalanceListener {
+
+    static final String LAG_GAUGE = "item.handler.consumer.lag";
+    static final String OLDEST_UNPROCESSED_AGE_GAUGE = "item.handler.consumer.oldest.unprocessed.age";
+    static final String PROCESSING_TIMER = "item.handler.consumer.processing";
+    static final String RECORDS_COUNTER = "item.handler.consumer.records";
+    static final String GROUP_TAG = "group";
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier currentTimeMillis;
+    private final Map<PartitionKey, PartitionState> partitions = new ConcurrentHashMap<>();
+    private final Map<String, GroupMeters> groups = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConsumerLagMonitor(final MeterRegistry meterRegistry) {
+        this(meterRegistry, System::currentTimeMillis);
+    }
+
+    ConsumerLagMonitor(final MeterRegistry meterRegistry, final LongSupplier currentTimeMillis) {
+        this.meterRegistry = meterRegistry;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    @Override
+    public ConsumerRecord<String, OrderReceived> intercept(final ConsumerRecord<String, OrderReceived> record,
+                                                          final Consumer<String, OrderReceived> consumer) {
+        final PartitionState state = state(consumer, record);
+        state.assigned = true;
+        state.inFlightTimestamp = record.timestamp();
+        state.inFlightStartNanos = System.nanoTime();
+        return record;
+    }
+
+    @Override
+    public void afterRecord(final ConsumerRecord<String, OrderReceived> record,
+                            final Consumer<String, OrderReceived> consumer) {
+        final PartitionState state = state(consumer, record);
+        final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        final OptionalLong fetchedLag = consumer.currentLag(partition);
+        if (fetchedLag.isPresent()) {
+            // The consumer's lag is measured from its position, beyond the records of the poll still to be processed.
+            state.lag = Math.max(0, consumer.position(partition) + fetchedLag.getAsLong() - record.offset() - 1);
+        }
+        state.lastTimestamp = record.timestamp();
+        state.inFlightTimestamp = RecordBatch.NO_TIMESTAMP;
+        final GroupMeters meters = groups.computeIfAbsent(groupId(consumer), GroupMeters::new);
+        meters.processing.record(System.nanoTime() - state.inFlightStartNanos, TimeUnit.NANOSECONDS);
+        meters.records.increment();
+    }
+
+    @Override
+    public void onPartitionsAssigned(final Consumer<?, ?> consumer, final Collection<TopicPartition> assigned) {
+        final String groupId = groupId(consumer);
+        assigned.forEach(partition -> state(groupId, partition).assigned = true);
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(final Consumer<?, ?> consumer,
+                                               final Collection<TopicPartition> revoked) {
+        unassign(consumer, revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(final Consumer<?, ?> consumer, final Collection<TopicPartition> lost) {
+        unassign(consumer, lost);
+    }
+
+    /**
+     * @return the greatest lag of any partition currently assigned
+     */
+    public long getMaxLag() {
+        return partitions.values().stream()
+                .filter(state -> state.assigned)
+                .mapToLong(state -> state.lag)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * @return the age, in milliseconds, of the oldest record yet to be processed from any partition currently
+     * assigned
+     */
+    public long getMaxOldestUnprocessedAgeMillis() {
+        final long now = currentTimeMillis.getAsLong();
+        return partitions.values().stream()
+                .mapToLong(state -> state.oldestUnprocessedAgeMillis(now))
+                .max()
+                .orElse(0);
+    }
+
+    private void unassign(final Consumer<?, ?> consumer, final Collection<TopicPartition> partitionsUnassigned) {
+        final String groupId = groupId(consumer);
+        partitionsUnassigned.forEach(partition -> {
+            final PartitionState state = partitions.get(new PartitionKey(groupId, partition));
+            if (state != null) {
+                // Kept rather than removed, as its gauges are bound to it should the partition be reassigned.
+                state.assigned = false;
+                state.lag = 0;
+                state.inFlightTimestamp = RecordBatch.NO_TIMESTAMP;
+            }
+        });
+    }
+
+    private PartitionState state(final Consumer<?, ?> consumer, final ConsumerRecord<?, ?> record) {
+        return state(groupId(consumer), new TopicPartition(record.topic(), record.partition()));
+    }
+
+    private PartitionState state(final String groupId, final TopicPartition partition) {
+        return partitions.computeIfAbsent(new PartitionKey(groupId, partition), this::register);
+    }
+
+    private PartitionState register(final PartitionKey key) {
+        final PartitionState state = new PartitionState();
+        Gauge.builder(LAG_GAUGE, state, partitionState -> partitionState.lag)
+                .description("Records in the partition yet to be processed by the consumer group")
+                .tags(GROUP_TAG, key.groupId(), "topic", key.partition().topic(),
+                        "partition", Integer.toString(key.partition().partition()))
+                .register(meterRegistry);
+        Gauge.builder(OLDEST_UNPROCESSED_AGE_GAUGE, state,
+                        partitionState -> partitionState.oldestUnprocessedAgeMillis(currentTimeMillis.getAsLong())
+                                / 1000.0)
+                .description("Age of the oldest record in the partition yet to be processed by the consumer group")
+                .baseUnit("seconds")
+                .tags(GROUP_TAG, key.groupId(), "topic", key.partition().topic(),
+                        "partition", Integer.toString(key.partition().partition()))
+                .register(meterRegistry);
+        return state;
+    }
+
+    private static String groupId(final Consumer<?, ?> consumer) {
+        return consumer.groupMetadata().groupId();
+    }
+
+    private record PartitionKey(String groupId, TopicPartition partition) {
+    }
+
+    /**
+     * Written only by the consumer thread the partition is assigned to.
+     */
+    private static final class PartitionState {
+        private volatile boolean assigned;
+        private volatile long lag;
+        private volatile long inFlightTimestamp = RecordBatch.NO_TIMESTAMP;
+        private volatile long lastTimestamp = RecordBatch.NO_TIMESTAMP;
+        private long inFlightStartNanos;
+
+        private long oldestUnprocessedAgeMillis(final long now) {
+            if (!assigned) {
+                return 0;
+            }
+            final long inFlight = inFlightTimestamp;
+            if (inFlight != RecordBatch.NO_TIMESTAMP) {
+                return Math.max(0, now - inFlight);
+            }
+            final long last = lastTimestamp;
+            if (lag > 0 && last != RecordBatch.NO_TIMESTAMP) {
+                return Math.max(0, now - last);
+            }
+            return 0;
+        }
+    }
+
+    private final class GroupMeters {
+        private final Timer processing;
+        private final Counter records;
+
+        private GroupMeters(final String groupId) {
+            this.processing = Timer.builder(PROCESSING_TIMER)
+                    .description("Time taken by the consumer group to process a record")
+                    .tag(GROUP_TAG, groupId)
+                    .register(meterRegistry);
+            this.records = Counter.builder(RECORDS_COUNTER)
+                    .description("Records processed by the consumer group, whose rate is its throughput")
+                    .tag(GROUP_TAG, groupId)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.DuplicateFilterConfig;
+import uk.gov.companieshouse.itemhandler.util.BloomFilter;
+import uk.gov.companieshouse.itemhandler.util.LruCache;
+
+/**
+ * Detects <code>order-received</code> messages for orders already completed within the window, so that orders
+ * redelivered after a rebalance or a failed commit are skipped rather than fetched, emailed and produced again.
+ * <p>
+ * Completed orders are put into a Bloom filter, which rules out the great majority of orders, those never seen, in
+ * constant time and without a lock. An order the filter reports as possibly seen is confirmed against an exact
+ * store of the times the most recently completed orders were completed, so a false positive of the filter never
+ * causes an order to be skipped. The filter is replaced every window, and the previous filter is consulted
+ * alongside the current one, so every order completed within the window is in one of the two.
+ * <p>
+ * Only the orders completed by this instance are known, and only so many of them, so an order redelivered to
+ * another instance, or completed too long ago, is handled again as it would be without this filter.
+ */
+@Component
+public class DuplicateOrderFilter {
+
+    static final String SKIPPED_DUPLICATE_COUNTER = "item.handler.order.duplicate.skipped";
+
+    private final DuplicateFilterConfig config;
+    private final LruCache<String, Long> completedAt;
+    private final Counter skipped;
+    private final LongSupplier nanoTime;
+    private final long windowNanos;
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long currentCreatedAt;
+
+    @Autowired
+    public DuplicateOrderFilter(final DuplicateFilterConfig config, final MeterRegistry meterRegistry) {
+        this(config, meterRegistry, System::nanoTime);
+    }
+
+    DuplicateOrderFilter(final DuplicateFilterConfig config,
+                         final MeterRegistry meterRegistry,
+                         final LongSupplier nanoTime) {
+        this.config = config;
+        this.completedAt = new LruCache<>(config.getMaxCompletedOrders());
+        this.skipped = Counter.builder(SKIPPED_DUPLICATE_COUNTER)
+                .description("Orders skipped as already completed within the duplicate filter window")
+                .register(meterRegistry);
+        this.nanoTime = nanoTime;
+        this.windowNanos = config.getWindow().toNanos();
+        this.current = newBloomFilter();
+        this.previous = newBloomFilter();
+        this.currentCreatedAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Reports whether the order has already been completed within the window, counting it as skipped if so.
+     * @param orderUri the URI of the order received
+     * @return <code>true</code> if the order is to be skipped as a duplicate
+     */
+    public boolean isDuplicate(final String orderUri) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        final long now = nanoTime.getAsLong();
+        rotateIfDue(now);
+        if (!current.mightContain(orderUri) && !previous.mightContain(orderUri)) {
+            return false;
+        }
+        final Long completed = completedAt.get(orderUri);
+        if (completed == null || now - completed >= windowNanos) {
+            return false;
+        }
+        skipped.increment();
+        return true;
+    }
+
+    /**
+     * Records that the order has been completed, so that it is skipped if received again within the window.
+     * @param orderUri the URI of the order completed
+     */
+    public void recordCompleted(final String orderUri) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        final long now = nanoTime.getAsLong();
+        rotateIfDue(now);
+        completedAt.put(orderUri, now);
+        current.put(orderUri);
+    }
+
+    private void rotateIfDue(final long now) {
+        if (now - currentCreatedAt < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            if (now - currentCreatedAt >= windowNanos) {
+                previous = current;
+                current = newBloomFilter();
+                currentCreatedAt = now;
+            }
+        }
+    }
+
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(config.getExpectedOrders(), config.getFalsePositiveRate());
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import uk.gov.companieshouse.itemhandler.util.LruCache;
+
+/**
+ * Holds the filing history item options of an outbound message per filing, so that the description values of a
+ * filing ordered over and over are serialised, and its options map built, only once. A cached entry is only reused
+ * while the filing's options and description values are unchanged, and the map handed out cannot be modified.
+ */
+class FilingHistoryOptionsCache {
+
+    private static final int MAXIMUM_FILINGS = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, CachedOptions> options = new LruCache<>(MAXIMUM_FILINGS);
+
+    FilingHistoryOptionsCache(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Gets the item options of the filing provided, building them on a miss.
+     * @param filingHistoryId the filing history ID; options are not cached for a filing without one
+     * @param fields the option values that, with the description values, the options are built from
+     * @param descriptionValues the filing history description values, which must not be modified once cached
+     * @param factory builds the options from the serialised description values
+     * @return the unmodifiable options
+     * @throws JsonProcessingException should there be an error serialising filing history description values
+     */
+    Map<String, String> get(final String filingHistoryId,
+                            final List<String> fields,
+                            final Map<String, Object> descriptionValues,
+                            final OptionsFactory factory) throws JsonProcessingException {
+        if (filingHistoryId == null) {
+            return build(fields, descriptionValues, factory).options();
+        }
+        final CachedOptions cached = options.get(filingHistoryId);
+        if (cached != null && cached.fields().equals(fields)
+                && Objects.equals(cached.descriptionValues(), descriptionValues)) {
+            return cached.options();
+        }
+        final CachedOptions built = build(fields, descriptionValues, factory);
+        options.put(filingHistoryId, built);
+        return built.options();
+    }
+
+    private CachedOptions build(final List<String> fields,
+                                final Map<String, Object> descriptionValues,
+                                final OptionsFactory factory) throws JsonProcessingException {
+        // Note this implicit contract - consumer needs to deserialise to Map<String, Object>.
+        final String serialisedDescriptionValues = objectMapper.writeValueAsString(descriptionValues);
+        return new CachedOptions(fields, descriptionValues,
+                Collections.unmodifiableMap(factory.create(serialisedDescriptionValues)));
+    }
+
+    void clear() {
+        options.reset();
+    }
+
+    @FunctionalInterface
+    interface OptionsFactory {
+        Map<String, String> create(String serialisedDescriptionValues);
+    }
+
+    private record CachedOptions(List<String> fields,
+                                 Map<String, Object> descriptionValues,
+                                 Map<String, String> options) {
+    }
+}
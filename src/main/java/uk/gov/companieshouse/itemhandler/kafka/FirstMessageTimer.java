@@ -0,0 +1,54 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Records the time from the start of the JVM to the first record consumed by any of the listeners, which is how long
+ * a new instance takes to start doing useful work. Spring Boot's own started and ready times stop short of the
+ * consumers joining their group and being assigned partitions.
+ */
+@Component
+public class FirstMessageTimer implements RecordInterceptor<String, OrderReceived> {
+
+    static final String TIME_TO_FIRST_MESSAGE_GAUGE = "item.handler.startup.time.to.first.message";
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier currentTimeMillis;
+    private final long jvmStartTimeMillis;
+
+    @Autowired
+    public FirstMessageTimer(final MeterRegistry meterRegistry) {
+        this(meterRegistry, System::currentTimeMillis, ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+
+    FirstMessageTimer(final MeterRegistry meterRegistry, final LongSupplier currentTimeMillis,
+                      final long jvmStartTimeMillis) {
+        this.meterRegistry = meterRegistry;
+        this.currentTimeMillis = currentTimeMillis;
+        this.jvmStartTimeMillis = jvmStartTimeMillis;
+    }
+
+    @Override
+    public ConsumerRecord<String, OrderReceived> intercept(final ConsumerRecord<String, OrderReceived> consumerRecord,
+                                                           final Consumer<String, OrderReceived> consumer) {
+        if (!recorded.get() && recorded.compareAndSet(false, true)) {
+            final long timeToFirstMessage = currentTimeMillis.getAsLong() - jvmStartTimeMillis;
+            TimeGauge.builder(TIME_TO_FIRST_MESSAGE_GAUGE, () -> timeToFirstMessage, TimeUnit.MILLISECONDS)
+                    .description("Time from the start of the JVM to the first record consumed")
+                    .register(meterRegistry);
+        }
+        return consumerRecord;
+    }
+}
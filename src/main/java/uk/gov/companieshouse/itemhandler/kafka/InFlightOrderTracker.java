@@ -0,0 +1,107 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.OFFSET;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_URI;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.PARTITION;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.TOPIC;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMap;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.logIfNotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Tracks the orders being handled, so that in-flight orders can be drained before the application stops (see
+ * {@link OrderDrainCoordinator}).
+ * <p>
+ * It takes no part in rebalances. The rebalance callbacks run on the listener thread, between polls, so no order is
+ * ever in flight during one, and the container has already committed the offsets of every order handled from a
+ * partition before it is revoked.
+ */
+@Component
+public class InFlightOrderTracker {
+
+    private final Set<InFlightOrder> inFlight = ConcurrentHashMap.newKeySet();
+    private final Object drainMonitor = new Object();
+
+    /**
+     * Records that the order received in the message provided is being handled.
+     * @param message the <code>order-received</code> message
+     * @return the order, to be passed to {@link #complete(InFlightOrder)} once handled
+     */
+    public InFlightOrder begin(final Message<OrderReceived> message) {
+        final MessageHeaders headers = message.getHeaders();
+        final String topic = headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+        final Integer partition = headers.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+        final Long offset = headers.get(KafkaHeaders.OFFSET, Long.class);
+        final InFlightOrder order = new InFlightOrder(message.getPayload().getOrderUri(),
+                topic != null && partition != null ? new TopicPartition(topic, partition) : null, offset);
+        inFlight.add(order);
+        return order;
+    }
+
+    /**
+     * Records that the order provided has been handled, whatever its outcome.
+     * @param order the order returned by {@link #begin(Message)}
+     */
+    public void complete(final InFlightOrder order) {
+        synchronized (drainMonitor) {
+            inFlight.remove(order);
+            drainMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Waits for the orders in flight to be handled.
+     * @param timeout the longest time to wait
+     * @return whether every order has been handled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitDrained(final Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (drainMonitor) {
+            while (!inFlight.isEmpty()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(drainMonitor, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the orders currently being handled
+     */
+    public List<InFlightOrder> getInFlight() {
+        return List.copyOf(inFlight);
+    }
+
+    /**
+     * An order being handled, and where it was received from, where known.
+     */
+    public record InFlightOrder(String orderUri, TopicPartition partition, Long offset) {
+
+        Map<String, Object> toLogMap() {
+            final Map<String, Object> logMap = createLogMap();
+            logIfNotNull(logMap, ORDER_URI, orderUri);
+            if (partition != null) {
+                logMap.put(TOPIC, partition.topic());
+                logMap.put(PARTITION, partition.partition());
+            }
+            logIfNotNull(logMap, OFFSET, offset);
+            return logMap;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package uk.gov.companieshouse.itemhandler.kafka;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.SAMPLED_CREATING_ITEM_GROUP_ORDERED;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.isSampledIn;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,7 +13,8 @@ import uk.gov.companieshouse.itemgroupordered.ItemGroupOrdered;
 import uk.gov.companieshouse.itemgroupordered.OrderedBy;
 import uk.gov.companieshouse.itemhandler.exception.KafkaMessagingException;
 import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
-import uk.gov.companieshouse.itemhandler.model.ActionedBy;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderFragments;
+import uk.gov.companieshouse.itemhandler.logging.LazyLogger;
 import uk.gov.companieshouse.itemhandler.model.CertifiedCopyItemOptions;
 import uk.gov.companieshouse.itemhandler.model.FilingHistoryDocument;
 import uk.gov.companieshouse.itemhandler.model.Item;
@@ -20,6 +23,7 @@ import uk.gov.companieshouse.itemhandler.model.ItemOptions;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
 import uk.gov.companieshouse.logging.Logger;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,28 +38,40 @@ public class ItemGroupOrderedFactory {
     static final String FILING_HISTORY_TYPE = "filingHistoryType";
 
     private final Logger logger;
-    private final ObjectMapper objectMapper;
+    private final LazyLogger lazyLogger;
+    private final FilingHistoryOptionsCache filingHistoryOptions;
 
     public ItemGroupOrderedFactory(Logger logger, ObjectMapper objectMapper) {
         this.logger = logger;
-        this.objectMapper = objectMapper;
+        this.lazyLogger = new LazyLogger(logger);
+        this.filingHistoryOptions = new FilingHistoryOptionsCache(objectMapper);
+    }
+
+    /**
+     * Empties the cache of filing history item options built for the messages created so far.
+     */
+    public void clearFilingHistoryOptions() {
+        filingHistoryOptions.clear();
     }
 
     public ItemGroupOrdered createMessage(final ItemGroup digitalItemGroup) {
         final OrderData order = digitalItemGroup.getOrder();
         final Item item = digitalItemGroup.getItems().get(0);
-        logger.info("Creating ItemGroupOrdered message for order " + order.getReference() + ".",
-                getLogMap(order.getReference(), item.getId()));
+        if (isSampledIn(SAMPLED_CREATING_ITEM_GROUP_ORDERED)) {
+            lazyLogger.info(() -> "Creating ItemGroupOrdered message for order " + order.getReference() + ".",
+                    () -> getLogMap(order.getReference(), item.getId()));
+        }
         try {
+            final OrderFragments fragments = digitalItemGroup.getOrderFragments();
             return ItemGroupOrdered.newBuilder()
                     .setOrderId(order.getReference())
-                    .setOrderedAt(order.getOrderedAt().toString())
-                    .setOrderedBy(createOrderedBy(order))
+                    .setOrderedAt(fragments.orderedAt())
+                    .setOrderedBy(new OrderedBy(fragments.orderedByEmail(), fragments.orderedById()))
                     .setPaymentReference(order.getPaymentReference())
                     .setReference(order.getReference())
                     .setTotalOrderCost(order.getTotalOrderCost())
                     .setItems(singletonList(createItem(item)))
-                    .setLinks(createOrderLinks(order))
+                    .setLinks(createOrderLinks(fragments))
                     .build();
         } catch (Exception ex) {
             final String errorMessage =
@@ -68,11 +84,6 @@ public class ItemGroupOrderedFactory {
         }
     }
 
-    private OrderedBy createOrderedBy(final OrderData order) {
-        final ActionedBy actionedBy = order.getOrderedBy();
-        return new OrderedBy(actionedBy.getEmail(), actionedBy.getId());
-    }
-
     private uk.gov.companieshouse.itemgroupordered.Item createItem(final Item item) throws JsonProcessingException {
         return new uk.gov.companieshouse.itemgroupordered.Item(
                 item.getCompanyName(),
@@ -132,24 +143,26 @@ public class ItemGroupOrderedFactory {
      */
     private Map<String, String> createCertifiedCopyFirstFilingHistoryDocOptions(final CertifiedCopyItemOptions options)
             throws JsonProcessingException {
-        final Map<String, String> filingHistoryOptions = new HashMap<>();
         final FilingHistoryDocument firstDocument = options.getFilingHistoryDocuments().get(0);
-        filingHistoryOptions.put(FILING_HISTORY_TYPE, firstDocument.getFilingHistoryType());
-        filingHistoryOptions.put(FILING_HISTORY_ID, firstDocument.getFilingHistoryId());
-        filingHistoryOptions.put(FILING_HISTORY_DESCRIPTION, firstDocument.getFilingHistoryDescription());
-        // Note this implicit contract - consumer needs to deserialise to Map<String, Object>.
-        filingHistoryOptions.put(FILING_HISTORY_DESCRIPTION_VALUES,
-                objectMapper.writeValueAsString(firstDocument.getFilingHistoryDescriptionValues()));
-        return filingHistoryOptions;
+        return filingHistoryOptions.get(firstDocument.getFilingHistoryId(),
+                Arrays.asList(firstDocument.getFilingHistoryType(), firstDocument.getFilingHistoryDescription()),
+                firstDocument.getFilingHistoryDescriptionValues(),
+                descriptionValues -> {
+                    final Map<String, String> filingHistoryOptions = new HashMap<>();
+                    filingHistoryOptions.put(FILING_HISTORY_TYPE, firstDocument.getFilingHistoryType());
+                    filingHistoryOptions.put(FILING_HISTORY_ID, firstDocument.getFilingHistoryId());
+                    filingHistoryOptions.put(FILING_HISTORY_DESCRIPTION, firstDocument.getFilingHistoryDescription());
+                    filingHistoryOptions.put(FILING_HISTORY_DESCRIPTION_VALUES, descriptionValues);
+                    return filingHistoryOptions;
+                });
     }
 
     private uk.gov.companieshouse.itemgroupordered.ItemLinks createItemLinks(final Item item) {
         return new uk.gov.companieshouse.itemgroupordered.ItemLinks(item.getLinks().getSelf());
     }
 
-    private uk.gov.companieshouse.itemgroupordered.OrderLinks createOrderLinks(final OrderData order) {
-        return order.getLinks() != null ?
-                new uk.gov.companieshouse.itemgroupordered.OrderLinks(order.getLinks().getSelf()) : null;
+    private static uk.gov.companieshouse.itemgroupordered.OrderLinks createOrderLinks(final OrderFragments fragments) {
+        return fragments.orderSelfLink() != null ?
+                new uk.gov.companieshouse.itemgroupordered.OrderLinks(fragments.orderSelfLink()) : null;
     }
-
 }
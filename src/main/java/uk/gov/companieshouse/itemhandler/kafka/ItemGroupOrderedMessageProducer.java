@@ -1,13 +1,22 @@
 package uk.gov.companieshouse.itemhandler.kafka;
 
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.SAMPLED_MESSAGE_SENT;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.SAMPLED_SENDING_ITEM_GROUP;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.isSampledIn;
 
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.itemgroupordered.ItemGroupOrdered;
 import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
+import uk.gov.companieshouse.itemhandler.logging.LazyLogger;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 import uk.gov.companieshouse.logging.Logger;
 
 import org.springframework.kafka.support.SendResult;
@@ -23,6 +32,7 @@ public class ItemGroupOrderedMessageProducer {
     private final String itemGroupOrderedTopic;
 
     private final Logger logger;
+    private final LazyLogger lazyLogger;
 
     public ItemGroupOrderedMessageProducer(KafkaTemplate<String, ItemGroupOrdered> kafkaTemplate,
                                            ItemGroupOrderedFactory itemGroupOrderedFactory,
@@ -33,23 +43,37 @@ public class ItemGroupOrderedMessageProducer {
         this.itemGroupOrderedFactory = itemGroupOrderedFactory;
         this.itemGroupOrderedTopic = itemGroupOrderedTopic;
         this.logger = logger;
+        this.lazyLogger = new LazyLogger(logger);
     }
 
     public void sendMessage(final ItemGroup digitalItemGroup) {
-        logger.info("Sending a message for item group " + digitalItemGroup + " from order "
-                + digitalItemGroup.getOrder().getReference() + ".",
-                getLogMap(digitalItemGroup.getOrder().getReference()));
+        final String orderReference = digitalItemGroup.getOrder().getReference();
+        OrderTracing.inSpan(OrderTracing.SPAN_SEND_ITEM_GROUP, SpanKind.PRODUCER, orderReference,
+                digitalItemGroup.getItems().stream().map(Item::getId).toList(),
+                () -> send(digitalItemGroup, orderReference));
+    }
+
+    private void send(final ItemGroup digitalItemGroup, final String orderReference) {
+        if (isSampledIn(SAMPLED_SENDING_ITEM_GROUP)) {
+            lazyLogger.info(() -> "Sending a message for item group " + digitalItemGroup + " from order "
+                    + orderReference + ".", () -> getLogMap(orderReference));
+        }
         final ItemGroupOrdered message = itemGroupOrderedFactory.createMessage(digitalItemGroup);
-        final CompletableFuture<SendResult<String, ItemGroupOrdered>> future =
-                kafkaTemplate.send(itemGroupOrderedTopic, message);
-        future.thenAcceptAsync(result -> {
+        final ProducerRecord<String, ItemGroupOrdered> producerRecord =
+                new ProducerRecord<>(itemGroupOrderedTopic, message);
+        OrderTracing.inject(producerRecord.headers());
+        final CompletableFuture<SendResult<String, ItemGroupOrdered>> future = kafkaTemplate.send(producerRecord);
+        // The delivery is logged on another thread, so the context carrying the order's sampling decision goes too.
+        future.thenAcceptAsync(Context.current().wrapConsumer(result -> {
             final RecordMetadata metadata =  result.getRecordMetadata();
             final int partition = metadata.partition();
             final long offset = metadata.offset();
-            logger.info("Message " + message + " delivered to topic " + itemGroupOrderedTopic
-                            + " on partition " + partition + " with offset " + offset + ".",
-                    getLogMap(digitalItemGroup.getOrder().getReference()));
-        }).exceptionallyAsync(err -> {
+            if (isSampledIn(SAMPLED_MESSAGE_SENT)) {
+                lazyLogger.info(() -> "Message " + message + " delivered to topic " + itemGroupOrderedTopic
+                                + " on partition " + partition + " with offset " + offset + ".",
+                        () -> getLogMap(orderReference));
+            }
+        })).exceptionallyAsync(err -> {
             onFailure(err, digitalItemGroup, message);
             return null;
         });
@@ -4,9 +4,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.itemhandler.exception.KafkaMessagingException;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderFragments;
 import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemPair;
 import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
-import uk.gov.companieshouse.itemhandler.model.ActionedBy;
 import uk.gov.companieshouse.itemhandler.model.MissingImageDeliveryItemOptions;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
 import uk.gov.companieshouse.kafka.message.Message;
@@ -19,6 +19,7 @@ import uk.gov.companieshouse.orders.items.ItemCosts;
 import uk.gov.companieshouse.orders.items.Links;
 import uk.gov.companieshouse.orders.items.OrderedBy;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -46,11 +47,18 @@ public class ItemMessageFactory {
     private static final String FILING_HISTORY_BARCODE = "filingHistoryBarcode";
 
     private final SerializerFactory serializerFactory;
-    private final ObjectMapper objectMapper;
+    private final FilingHistoryOptionsCache filingHistoryOptions;
 
     public ItemMessageFactory(final SerializerFactory serializer, final ObjectMapper mapper) {
         serializerFactory = serializer;
-        objectMapper = mapper;
+        filingHistoryOptions = new FilingHistoryOptionsCache(mapper);
+    }
+
+    /**
+     * Empties the cache of filing history item options built for the messages created so far.
+     */
+    public void clearFilingHistoryOptions() {
+        filingHistoryOptions.clear();
     }
 
     /**
@@ -92,9 +100,10 @@ public class ItemMessageFactory {
     ChdItemOrdered buildChdItemOrdered(final OrderItemPair orderItemPair) throws JsonProcessingException {
         OrderData order = orderItemPair.getOrder();
         final uk.gov.companieshouse.itemhandler.model.Item orderItem = orderItemPair.getItem();
+        final OrderFragments fragments = orderItemPair.getOrderFragments();
         final ChdItemOrdered outgoing = new ChdItemOrdered();
-        outgoing.setOrderedAt(order.getOrderedAt().toString());
-        outgoing.setOrderedBy(createOrderedBy(order.getOrderedBy()));
+        outgoing.setOrderedAt(fragments.orderedAt());
+        outgoing.setOrderedBy(new OrderedBy(fragments.orderedByEmail(), fragments.orderedById()));
         outgoing.setPaymentReference(order.getPaymentReference());
         outgoing.setReference(order.getReference());
         outgoing.setTotalOrderCost(order.getTotalOrderCost());
@@ -151,27 +160,23 @@ public class ItemMessageFactory {
         throws JsonProcessingException {
         // For now we know we are dealing with MID only.
         final MissingImageDeliveryItemOptions options = (MissingImageDeliveryItemOptions) item.getItemOptions();
-        final Map<String, String> optionsForMid = new HashMap<>();
-        optionsForMid.put(FILING_HISTORY_ID, options.getFilingHistoryId());
-        optionsForMid.put(FILING_HISTORY_DATE, options.getFilingHistoryDate());
-        optionsForMid.put(FILING_HISTORY_DESCRIPTION, options.getFilingHistoryDescription());
-        // Note this implicit contract - consumer needs to deserialise to Map<String, Object>.
-        optionsForMid.put(FILING_HISTORY_DESCRIPTION_VALUES,
-            objectMapper.writeValueAsString(options.getFilingHistoryDescriptionValues()));
-        optionsForMid.put(FILING_HISTORY_TYPE, options.getFilingHistoryType());
-        optionsForMid.put(FILING_HISTORY_CATEGORY, options.getFilingHistoryCategory());
-        optionsForMid.put(FILING_HISTORY_BARCODE, options.getFilingHistoryBarcode());
-        return optionsForMid;
-    }
-
-    /**
-     * Creates a Kafka message content {@link OrderedBy} instance from the {@link ActionedBy} instance provided.
-     *
-     * @param actionedBy the ordered by info from the order
-     * @return the info to populate the Kafka message with
-     */
-    private OrderedBy createOrderedBy(final ActionedBy actionedBy) {
-        return new OrderedBy(actionedBy.getEmail(), actionedBy.getId());
+        return filingHistoryOptions.get(options.getFilingHistoryId(),
+            Arrays.asList(options.getFilingHistoryDate(),
+                options.getFilingHistoryDescription(),
+                options.getFilingHistoryType(),
+                options.getFilingHistoryCategory(),
+                options.getFilingHistoryBarcode()),
+            options.getFilingHistoryDescriptionValues(),
+            descriptionValues -> {
+                final Map<String, String> optionsForMid = new HashMap<>();
+                optionsForMid.put(FILING_HISTORY_ID, options.getFilingHistoryId());
+                optionsForMid.put(FILING_HISTORY_DATE, options.getFilingHistoryDate());
+                optionsForMid.put(FILING_HISTORY_DESCRIPTION, options.getFilingHistoryDescription());
+                optionsForMid.put(FILING_HISTORY_DESCRIPTION_VALUES, descriptionValues);
+                optionsForMid.put(FILING_HISTORY_TYPE, options.getFilingHistoryType());
+                optionsForMid.put(FILING_HISTORY_CATEGORY, options.getFilingHistoryCategory());
+                optionsForMid.put(FILING_HISTORY_BARCODE, options.getFilingHistoryBarcode());
+                return optionsForMid;
+            });
     }
-
 }
@@ -4,8 +4,10 @@ import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.COMPANY_NUM
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ITEM_ID;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_REFERENCE_NUMBER;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.PAYMENT_REFERENCE;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.SAMPLED_MESSAGE_SENT;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMap;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMapWithAcknowledgedKafkaMessage;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.isSampledIn;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.logIfNotNull;
 
 import java.util.Map;
@@ -53,7 +55,9 @@ public class ItemMessageProducer {
                                             final RecordMetadata recordMetadata) {
         final Map<String, Object> logMapCallback =  createLogMapWithAcknowledgedKafkaMessage(recordMetadata);
         populateChdMessageLogMap(orderItemPair, logMapCallback);
-        LOGGER.info("Message sent to Kafka topic", logMapCallback);
+        if (isSampledIn(SAMPLED_MESSAGE_SENT)) {
+            LOGGER.info("Message sent to Kafka topic", logMapCallback);
+        }
     }
 
     /**
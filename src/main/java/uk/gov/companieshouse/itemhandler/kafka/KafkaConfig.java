@@ -1,8 +1,12 @@
 package uk.gov.companieshouse.itemhandler.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,11 +18,20 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.StringUtils;
+import org.springframework.util.backoff.ExponentialBackOff;
 import org.springframework.util.backoff.FixedBackOff;
 import uk.gov.companieshouse.email.EmailSend;
 import uk.gov.companieshouse.itemgroupordered.ItemGroupOrdered;
+import uk.gov.companieshouse.itemhandler.config.ConsumerGroupConfig;
+import uk.gov.companieshouse.itemhandler.config.OutboxConfig;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.outbox.OutboxDeadLetterRecoverer;
 import uk.gov.companieshouse.kafka.producer.Acks;
 import uk.gov.companieshouse.kafka.producer.CHKafkaProducer;
 import uk.gov.companieshouse.kafka.producer.ProducerConfig;
@@ -32,15 +45,27 @@ public class KafkaConfig {
     private String bootstrapServers;
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, OrderReceived> kafkaListenerContainerFactory() {
-        return getContainerFactory(getConsumerConfigs());
+    public ConcurrentKafkaListenerContainerFactory<String, OrderReceived> kafkaListenerContainerFactory(
+            ConsumerGroupConfig consumerGroupConfig, ConsumerLagMonitor consumerLagMonitor,
+            FirstMessageTimer firstMessageTimer, RebalanceMetrics rebalanceMetrics,
+            PoisonPillRecoverer poisonPillRecoverer, MeterRegistry meterRegistry) {
+        final ConcurrentKafkaListenerContainerFactory<String, OrderReceived> factory =
+                getContainerFactory(getConsumerConfigs(consumerGroupConfig), consumerLagMonitor, firstMessageTimer,
+                        rebalanceMetrics, poisonPillRecoverer, meterRegistry);
+        // Lets a drain pause after the order being handled, rather than after the rest of its poll.
+        factory.getContainerProperties().setPauseImmediate(true);
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, OrderReceived> kafkaListenerContainerFactoryError() {
-        final Map<String, Object> props = getConsumerConfigs();
+    public ConcurrentKafkaListenerContainerFactory<String, OrderReceived> kafkaListenerContainerFactoryError(
+            ConsumerGroupConfig consumerGroupConfig, ConsumerLagMonitor consumerLagMonitor,
+            FirstMessageTimer firstMessageTimer, RebalanceMetrics rebalanceMetrics,
+            PoisonPillRecoverer poisonPillRecoverer, MeterRegistry meterRegistry) {
+        final Map<String, Object> props = getConsumerConfigs(consumerGroupConfig);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        return getContainerFactory(props);
+        return getContainerFactory(props, consumerLagMonitor, firstMessageTimer, rebalanceMetrics, poisonPillRecoverer,
+                meterRegistry);
     }
 
     @Bean
@@ -138,17 +163,106 @@ public class KafkaConfig {
         return new ItemGroupOrderedAvroSerializer();
     }
 
-    private ConcurrentKafkaListenerContainerFactory<String, OrderReceived> getContainerFactory(Map<String, Object> props) {
+    /**
+     * Sends values already serialised: writes outbox entries, relays the messages they hold, and publishes the
+     * records that cannot be deserialised as received. Idempotent, so that a retried send is never duplicated by the
+     * producer itself.
+     */
+    @Bean
+    public KafkaTemplate<String, byte[]> byteArrayKafkaTemplate() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
+                StringSerializer.class);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                ByteArraySerializer.class);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.ACKS_CONFIG, "all");
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config));
+    }
+
+    /**
+     * Publishes the records the order streams cannot deserialise, key and value as they were consumed.
+     */
+    @Bean
+    public KafkaTemplate<byte[], byte[]> rawKafkaTemplate() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
+                ByteArraySerializer.class);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                ByteArraySerializer.class);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(org.apache.kafka.clients.producer.ProducerConfig.ACKS_CONFIG, "all");
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config));
+    }
+
+    /**
+     * Consumes the outbox in batches, retrying a failure to relay an entry with its own back off rather than with the
+     * handling of orders, and giving the entry up to the outbox error topic once the back off is exhausted.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> outboxListenerContainerFactory(
+            OutboxConfig outboxConfig, OutboxDeadLetterRecoverer outboxDeadLetterRecoverer,
+            MeterRegistry meterRegistry) {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, Boolean.toString(false));
+        // Entries written before the relay first joined are relayed too.
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, outboxConfig.getRelayMaxPollRecords());
+        final DefaultKafkaConsumerFactory<String, byte[]> consumerFactory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        final ExponentialBackOff backOff = new ExponentialBackOff(
+                outboxConfig.getRelayInitialBackOff().toMillis(), ExponentialBackOff.DEFAULT_MULTIPLIER);
+        backOff.setMaxInterval(outboxConfig.getRelayMaxBackOff().toMillis());
+        backOff.setMaxElapsedTime(outboxConfig.getRelayMaxElapsedTime().toMillis());
+        final DefaultErrorHandler errorHandler = new DefaultErrorHandler(outboxDeadLetterRecoverer, backOff);
+        errorHandler.addNotRetryableExceptions(NonRetryableException.class);
+        final ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, OrderReceived> getContainerFactory(Map<String, Object> props,
+            ConsumerLagMonitor consumerLagMonitor, FirstMessageTimer firstMessageTimer,
+            RebalanceMetrics rebalanceMetrics, PoisonPillRecoverer poisonPillRecoverer, MeterRegistry meterRegistry) {
         ConcurrentKafkaListenerContainerFactory<String, OrderReceived> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new OrderReceivedDeserialiser()));
-        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(0, 0)));
+        // A record that cannot be deserialised is handed straight to the error handler, with its raw bytes, rather
+        // than to the listener as a null payload.
+        DefaultKafkaConsumerFactory<String, OrderReceived> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(new OrderReceivedDeserialiser()));
+        // Publishes the consumer's own fetch metrics, including per partition lag and consumption rate.
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        factory.setConsumerFactory(consumerFactory);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(poisonPillRecoverer, new FixedBackOff(0, 0)));
+        factory.setRecordInterceptor(new CompositeRecordInterceptor<>(consumerLagMonitor, firstMessageTimer));
+        factory.getContainerProperties().setConsumerRebalanceListener(
+                new CompositeRebalanceListener(rebalanceMetrics, consumerLagMonitor));
         return factory;
     }
 
-    private Map<String, Object> getConsumerConfigs() {
+    private Map<String, Object> getConsumerConfigs(ConsumerGroupConfig consumerGroupConfig) {
         final Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, Boolean.toString(false));
+        if (StringUtils.hasText(consumerGroupConfig.getInstanceId())) {
+            // Each container appends its own suffix where it runs more than one consumer.
+            props.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, consumerGroupConfig.getInstanceId());
+        }
+        if (consumerGroupConfig.isCooperativeRebalancing()) {
+            // The client default lists the range assignor first, so a single rolling restart switches protocol.
+            props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+                    CooperativeStickyAssignor.class.getName());
+        }
+        if (consumerGroupConfig.getSessionTimeout() != null) {
+            props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG,
+                    (int) consumerGroupConfig.getSessionTimeout().toMillis());
+        }
         return props;
     }
 }
\ No newline at end of file
@@ -5,9 +5,11 @@ public class KafkaTopics {
     private String orderReceived;
     private String orderReceivedRetry;
     private String orderReceivedError;
+    private String orderReceivedInvalid;
     private String chdItemOrdered;
 
     private String itemGroupOrdered;
+    private String itemHandlerOutbox;
 
     public void setEmailSend(String emailSend) {
         this.emailSend = emailSend;
@@ -25,6 +27,10 @@ public class KafkaTopics {
         this.orderReceivedError = orderReceivedError;
     }
 
+    public void setOrderReceivedInvalid(String orderReceivedInvalid) {
+        this.orderReceivedInvalid = orderReceivedInvalid;
+    }
+
     public void setChdItemOrdered(String chdItemOrdered) {
         this.chdItemOrdered = chdItemOrdered;
     }
@@ -33,6 +39,10 @@ public class KafkaTopics {
         this.itemGroupOrdered = itemGroupOrdered;
     }
 
+    public void setItemHandlerOutbox(String itemHandlerOutbox) {
+        this.itemHandlerOutbox = itemHandlerOutbox;
+    }
+
     public String getEmailSend() {
         return emailSend;
     }
@@ -49,6 +59,10 @@ public class KafkaTopics {
         return orderReceivedError;
     }
 
+    public String getOrderReceivedInvalid() {
+        return orderReceivedInvalid;
+    }
+
     public String getChdItemOrdered() {
         return chdItemOrdered;
     }
@@ -56,4 +70,8 @@ public class KafkaTopics {
     public String getItemGroupOrdered() {
         return itemGroupOrdered;
     }
-}
+
+    public String getItemHandlerOutbox() {
+        return itemHandlerOutbox;
+    }
+}
\ No newline at end of file
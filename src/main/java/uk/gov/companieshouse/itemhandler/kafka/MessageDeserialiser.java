@@ -1,24 +1,25 @@
 package uk.gov.companieshouse.itemhandler.kafka;
 
 import java.io.IOException;
-import java.util.Arrays;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.reflect.ReflectDatumReader;
+import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
-import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
-import uk.gov.companieshouse.logging.Logger;
 
 /**
- * OrderReceived deserializer based on apache kafka Deserializer interface
+ * OrderReceived deserializer based on apache kafka Deserializer interface.
+ * <p>
+ * Data that cannot be deserialized fails with a {@link SerializationException} describing it only by its length,
+ * never by its content, which may be arbitrarily large. The listener containers wrap this deserializer so that the
+ * failure is handed to the {@link PoisonPillRecoverer} with the raw data, rather than to the listener.
  *
  * @param <T>
  */
 public class MessageDeserialiser<T extends IndexedRecord> implements Deserializer<T> {
-    private static final Logger LOGGER = LoggingUtils.getLogger();
 
     private final Class<T> requiredType;
 
@@ -33,13 +34,12 @@ public class MessageDeserialiser<T extends IndexedRecord> implements Deserialize
             DatumReader<T> reader = new ReflectDatumReader<>(requiredType);
             return reader.read(null, decoder);
         } catch (IOException | AvroRuntimeException e) {
-            String msg = String.format(
-                    "Message data [%s] from topic [%s] cannot be deserialized: %s",
-                    Arrays.toString(data),
+            throw new SerializationException(String.format(
+                    "Message data of %d bytes from topic [%s] cannot be deserialized as %s: %s",
+                    data != null ? data.length : 0,
                     topic,
-                    e.getMessage());
-            LOGGER.error(msg, e);
-            return null;
+                    requiredType.getSimpleName(),
+                    e.getMessage()), e);
         }
     }
-}
\ No newline at end of file
+}
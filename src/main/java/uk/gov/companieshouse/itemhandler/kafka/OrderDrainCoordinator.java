@@ -0,0 +1,88 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.DrainConfig;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Drains the orders in flight before the listener containers are stopped: polling is paused on every container,
+ * and the orders already being handled are given until the drain timeout to finish, so that their offsets are
+ * committed as the containers stop rather than the orders being cut off and handled again on redelivery. Any order
+ * still in flight at the timeout is abandoned, logged and counted.
+ */
+@Component
+public class OrderDrainCoordinator implements SmartLifecycle {
+
+    static final String ABANDONED_COUNTER = "item.handler.drain.abandoned";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final InFlightOrderTracker inFlightOrderTracker;
+    private final DrainConfig config;
+    private final Counter abandoned;
+    private final Logger logger;
+    private volatile boolean running;
+
+    public OrderDrainCoordinator(final KafkaListenerEndpointRegistry registry,
+                                 final InFlightOrderTracker inFlightOrderTracker,
+                                 final DrainConfig config,
+                                 final MeterRegistry meterRegistry,
+                                 final Logger logger) {
+        this.registry = registry;
+        this.inFlightOrderTracker = inFlightOrderTracker;
+        this.config = config;
+        this.abandoned = Counter.builder(ABANDONED_COUNTER)
+                .description("Orders still in flight when the drain on shutdown timed out")
+                .register(meterRegistry);
+        this.logger = logger;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        try {
+            drain();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stopped before the listener containers, which are stopped in the phase
+     * {@link org.springframework.kafka.listener.AbstractMessageListenerContainer#DEFAULT_PHASE}.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    void drain() {
+        registry.getListenerContainers().forEach(MessageListenerContainer::pause);
+        try {
+            if (inFlightOrderTracker.awaitDrained(config.getTimeout())) {
+                logger.info("Orders in flight drained");
+                return;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        final List<InFlightOrderTracker.InFlightOrder> orders = inFlightOrderTracker.getInFlight();
+        orders.forEach(order -> logger.error(String.format("Abandoning order in flight after drain timeout of %s",
+                config.getTimeout()), order.toLogMap()));
+        abandoned.increment(orders.size());
+    }
+}
@@ -22,7 +22,8 @@ public class OrderMessageDefaultConsumer {
     @KafkaListener(id = "#{'${kafka.topics.order-received_group}'}",
             groupId = "#{'${kafka.topics.order-received_group}'}",
             topics = "#{'${kafka.topics.order-received}'}",
-            autoStartup = "#{!${uk.gov.companieshouse.item-handler.error-consumer}}",
+            autoStartup = "#{!${uk.gov.companieshouse.item-handler.error-consumer} && !${order-streams.enabled:false}"
+                    + " && !${replay.enabled:false}}",
             containerFactory = "kafkaListenerContainerFactory")
     public void processOrderReceived(Message<OrderReceived> message) {
         orderReceivedProcessor.handleMessage(message);
@@ -56,7 +56,7 @@ public class OrderMessageErrorConsumer {
     @KafkaListener(id = "#{'${kafka.topics.order-received-error-group}'}",
             groupId = "#{'${kafka.topics.order-received-error-group}'}",
             topics = "#{'${kafka.topics.order-received-error}'}",
-            autoStartup = "#{${uk.gov.companieshouse.item-handler.error-consumer}}",
+            autoStartup = "#{${uk.gov.companieshouse.item-handler.error-consumer} && !${replay.enabled:false}}",
             containerFactory = "kafkaListenerContainerFactoryError")
     public void processOrderReceived(
             Message<OrderReceived> message,
@@ -1,10 +1,14 @@
 package uk.gov.companieshouse.itemhandler.kafka;
 
+import io.opentelemetry.api.trace.SpanKind;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.itemhandler.logging.LazyLogger;
 import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
 import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
 import uk.gov.companieshouse.itemhandler.service.OrderProcessorService;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.orders.OrderReceived;
 
@@ -13,14 +17,20 @@ public class OrderMessageHandler {
 
     private final OrderProcessorService orderProcessorService;
     private final OrderProcessResponseHandler orderProcessResponseHandler;
-    private final Logger logger;
+    private final InFlightOrderTracker inFlightOrderTracker;
+    private final DuplicateOrderFilter duplicateOrderFilter;
+    private final LazyLogger logger;
 
     public OrderMessageHandler(final OrderProcessorService orderProcessorService,
                                final OrderProcessResponseHandler orderProcessResponseHandler,
+                               final InFlightOrderTracker inFlightOrderTracker,
+                               final DuplicateOrderFilter duplicateOrderFilter,
                                final Logger logger) {
         this.orderProcessorService = orderProcessorService;
         this.orderProcessResponseHandler = orderProcessResponseHandler;
-        this.logger = logger;
+        this.inFlightOrderTracker = inFlightOrderTracker;
+        this.duplicateOrderFilter = duplicateOrderFilter;
+        this.logger = new LazyLogger(logger);
     }
 
     /**
@@ -29,11 +39,41 @@ public class OrderMessageHandler {
      * @param message received
      */
     public void handleMessage(Message<OrderReceived> message) {
+        final InFlightOrderTracker.InFlightOrder inFlightOrder = inFlightOrderTracker.begin(message);
+        try {
+            final OrderReceived payload = message.getPayload();
+            OrderTracing.withOrderSampled(
+                    LoggingUtils.isSampledOrder(payload.getOrderUri(), payload.getAttempt() > 0),
+                    () -> OrderTracing.inSpan(OrderTracing.SPAN_CONSUME_ORDER_RECEIVED, SpanKind.CONSUMER, null,
+                            null, () -> handle(message)));
+        } finally {
+            inFlightOrderTracker.complete(inFlightOrder);
+        }
+    }
+
+    private void handle(Message<OrderReceived> message) {
         // Log message
-        logger.info("'order-received' message received", LoggingUtils.getMessageHeadersAsMap(message));
+        final OrderReceived payload = message.getPayload();
+        if (LoggingUtils.isSampledIn(LoggingUtils.SAMPLED_ORDER_RECEIVED)) {
+            logger.info(() -> "'order-received' message received",
+                    logMap -> LoggingUtils.putMessageHeaders(logMap, message));
+        }
+
+        // Skip orders already completed
+        OrderTracing.setOrderUri(payload.getOrderUri());
+        if (duplicateOrderFilter.isDuplicate(payload.getOrderUri())) {
+            logger.info(() -> "Skipping 'order-received' message for an order already completed",
+                    logMap -> LoggingUtils.putMessageHeaders(logMap, message));
+            return;
+        }
 
         // Process message
-        OrderProcessResponse response = orderProcessorService.processOrderReceived(message.getPayload().getOrderUri());
+        OrderProcessResponse response = orderProcessorService.processOrderReceived(
+                message.getPayload().getOrderUri(),
+                OrderPriority.fromHeader(message.getHeaders().get(OrderPriority.ORDER_PRIORITY_HEADER)));
+        if (response.getStatus() == OrderProcessResponse.Status.OK) {
+            duplicateOrderFilter.recordCompleted(payload.getOrderUri());
+        }
 
         // Handle response
         response.getStatus().accept(orderProcessResponseHandler, message);
@@ -22,7 +22,8 @@ public class OrderMessageRetryConsumer {
     @KafkaListener(id = "#{'${kafka.topics.order-received-retry-group}'}",
             groupId = "#{'${kafka.topics.order-received-retry-group}'}",
             topics = "#{'${kafka.topics.order-received-retry}'}",
-            autoStartup = "#{!${uk.gov.companieshouse.item-handler.error-consumer}}",
+            autoStartup = "#{!${uk.gov.companieshouse.item-handler.error-consumer} && !${order-streams.enabled:false}"
+                    + " && !${replay.enabled:false}}",
             containerFactory = "kafkaListenerContainerFactory")
     public void processOrderReceived(Message<OrderReceived> message) {
         orderReceivedProcessor.handleMessage(message);
@@ -0,0 +1,34 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * OrderReceived serializer based on apache kafka Serializer interface, the counterpart of the
+ * {@link OrderReceivedDeserialiser}.
+ */
+public class OrderReceivedSerialiser implements Serializer<OrderReceived> {
+
+    @Override
+    public byte[] serialize(String topic, OrderReceived data) {
+        if (data == null) {
+            return null;
+        }
+        final DatumWriter<OrderReceived> datumWriter = new SpecificDatumWriter<>(data.getSchema());
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+            datumWriter.write(data, encoder);
+            encoder.flush();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Error when serializing OrderReceived to byte[]: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.OFFSET;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.PARTITION;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.TOPIC;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.ConsumerAwareRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer.HeaderNames.HeadersToAdd;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Recovers the <code>order-received</code> records the listeners fail on. A record that could not be deserialised
+ * never reaches a listener: it is published as it was received, raw bytes and key unchanged, to the invalid orders
+ * topic, with headers giving its original topic, partition, offset and timestamp and the exception it failed with,
+ * and is then committed past so that the partition keeps moving. The stack trace is left out of the headers, as it
+ * says no more about a record that is not Avro than the exception message does.
+ * <p>
+ * Any other failure is logged and the record skipped, as the default error handler would.
+ * <p>
+ * The order streams hand over the records they cannot deserialise still in their consumed form, key and value both
+ * bytes, to {@link #deadLetterRaw}, which publishes them to the same topic with the same headers.
+ */
+@Component
+public class PoisonPillRecoverer implements ConsumerAwareRecordRecoverer {
+
+    static final String DEAD_LETTERED_COUNTER = "item.handler.order.dead.lettered";
+
+    private final DeadLetterPublishingRecoverer deadLetterPublisher;
+    private final DeadLetterPublishingRecoverer rawDeadLetterPublisher;
+    private final Counter deadLettered;
+    private final Logger logger;
+
+    public PoisonPillRecoverer(final KafkaOperations<String, byte[]> byteArrayKafkaTemplate,
+                               final KafkaOperations<byte[], byte[]> rawKafkaTemplate,
+                               @Value("${kafka.topics.order-received-invalid}") final String invalidTopic,
+                               final MeterRegistry meterRegistry,
+                               final Logger logger) {
+        this.deadLetterPublisher = deadLetterPublisher(byteArrayKafkaTemplate, invalidTopic);
+        this.rawDeadLetterPublisher = deadLetterPublisher(rawKafkaTemplate, invalidTopic);
+        this.deadLettered = Counter.builder(DEAD_LETTERED_COUNTER)
+                .description("Order records that could not be deserialised, published to the invalid orders topic")
+                .register(meterRegistry);
+        this.logger = logger;
+    }
+
+    @Override
+    public void accept(final ConsumerRecord<?, ?> failed,
+                       @Nullable final Consumer<?, ?> consumer,
+                       final Exception exception) {
+        final Map<String, Object> logMap = logMap(failed);
+        if (isDeserialisationFailure(exception)) {
+            deadLetterPublisher.accept(failed, consumer, exception);
+            deadLettered.increment();
+            logger.error("Record that cannot be deserialised published to the invalid orders topic", logMap);
+        } else {
+            logger.error("Record processing failed, skipping it", exception, logMap);
+        }
+    }
+
+    /**
+     * Publishes a record the order streams could not deserialise, as it was consumed, to the invalid orders topic.
+     * @param failed the record, with its key and value as bytes
+     * @param exception the exception the record could not be deserialised with
+     */
+    public void deadLetterRaw(final ConsumerRecord<?, ?> failed, final Exception exception) {
+        rawDeadLetterPublisher.accept(failed, null, exception);
+        deadLettered.increment();
+        logger.error("Record that cannot be deserialised published to the invalid orders topic", logMap(failed));
+    }
+
+    private static DeadLetterPublishingRecoverer deadLetterPublisher(final KafkaOperations<?, ?> template,
+                                                                     final String invalidTopic) {
+        final DeadLetterPublishingRecoverer publisher = new DeadLetterPublishingRecoverer(template,
+                (failed, exception) -> new TopicPartition(invalidTopic, -1));
+        publisher.excludeHeader(HeadersToAdd.EX_STACKTRACE);
+        return publisher;
+    }
+
+    private static Map<String, Object> logMap(final ConsumerRecord<?, ?> failed) {
+        final Map<String, Object> logMap = createLogMap();
+        logMap.put(TOPIC, failed.topic());
+        logMap.put(PARTITION, failed.partition());
+        logMap.put(OFFSET, failed.offset());
+        return logMap;
+    }
+
+    static boolean isDeserialisationFailure(final Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeserializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
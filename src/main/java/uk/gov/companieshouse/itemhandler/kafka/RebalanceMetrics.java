@@ -0,0 +1,84 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times each rebalance of the listener consumers from the moment partitions are taken from a consumer to the moment
+ * it is given its new assignment, which is how long those partitions go unconsumed. In an eager rebalance every
+ * partition is taken; in an incremental (cooperative) one only those that move are, and a consumer only given
+ * partitions is counted without being timed. The coordinator's own rebalance latency is published alongside these
+ * with the rest of the consumer metrics.
+ */
+@Component
+public class RebalanceMetrics implements ConsumerAwareRebalanceListener {
+
+    static final String REBALANCE_TIMER = "item.handler.consumer.rebalance";
+    static final String ASSIGNMENTS_COUNTER = "item.handler.consumer.rebalance.assignments";
+    static final String REVOKED_PARTITIONS_COUNTER = "item.handler.consumer.rebalance.revoked.partitions";
+
+    /** Callbacks are made on the consumer thread, so a revocation is matched to its assignment per thread. */
+    private final ThreadLocal<Long> revokedAt = new ThreadLocal<>();
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public RebalanceMetrics(final MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    RebalanceMetrics(final MeterRegistry meterRegistry, final LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(final Consumer<?, ?> consumer,
+                                                final Collection<TopicPartition> revoked) {
+        if (!revoked.isEmpty()) {
+            revokedAt.set(nanoTime.getAsLong());
+            Counter.builder(REVOKED_PARTITIONS_COUNTER)
+                    .description("Partitions taken from the consumer group's members in rebalances")
+                    .tag(ConsumerLagMonitor.GROUP_TAG, groupId(consumer))
+                    .register(meterRegistry)
+                    .increment(revoked.size());
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(final Consumer<?, ?> consumer, final Collection<TopicPartition> lost) {
+        onPartitionsRevokedBeforeCommit(consumer, lost);
+    }
+
+    @Override
+    public void onPartitionsAssigned(final Consumer<?, ?> consumer, final Collection<TopicPartition> assigned) {
+        final String groupId = groupId(consumer);
+        Counter.builder(ASSIGNMENTS_COUNTER)
+                .description("Assignments made to the consumer group's members in rebalances")
+                .tag(ConsumerLagMonitor.GROUP_TAG, groupId)
+                .register(meterRegistry)
+                .increment();
+        final Long startedAt = revokedAt.get();
+        if (startedAt != null) {
+            revokedAt.remove();
+            Timer.builder(REBALANCE_TIMER)
+                    .description("Time partitions revoked in a rebalance go unconsumed by the consumer group")
+                    .tag(ConsumerLagMonitor.GROUP_TAG, groupId)
+                    .register(meterRegistry)
+                    .record(nanoTime.getAsLong() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String groupId(final Consumer<?, ?> consumer) {
+        return consumer.groupMetadata().groupId();
+    }
+}
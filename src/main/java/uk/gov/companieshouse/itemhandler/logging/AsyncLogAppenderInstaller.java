@@ -0,0 +1,92 @@
+package uk.gov.companieshouse.itemhandler.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.AsyncLoggingConfig;
+
+/**
+ * Moves the appenders of the root logger behind a logback {@link AsyncAppender}, so that writing log events out is
+ * done on a background thread rather than on the threads processing orders. Installed once the application is ready,
+ * after Spring Boot has finished configuring logging, and stopped (draining its queue) on shutdown.
+ */
+@Component
+public class AsyncLogAppenderInstaller implements DisposableBean {
+
+    static final String ASYNC_APPENDER_NAME = "ASYNC";
+
+    private final AsyncLoggingConfig config;
+
+    private ch.qos.logback.classic.Logger root;
+    private List<Appender<ILoggingEvent>> appenders;
+    private AsyncAppender asyncAppender;
+
+    public AsyncLogAppenderInstaller(final AsyncLoggingConfig config) {
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void install() {
+        final ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!config.isEnabled() || !(loggerFactory instanceof LoggerContext context)) {
+            return;
+        }
+        install(context);
+    }
+
+    synchronized void install(final LoggerContext context) {
+        final ch.qos.logback.classic.Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        if (asyncAppender != null || rootLogger.getAppender(ASYNC_APPENDER_NAME) != null) {
+            return;
+        }
+        final List<Appender<ILoggingEvent>> rootAppenders = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> iterator = rootLogger.iteratorForAppenders(); iterator.hasNext(); ) {
+            rootAppenders.add(iterator.next());
+        }
+        if (rootAppenders.isEmpty()) {
+            return;
+        }
+        final AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName(ASYNC_APPENDER_NAME);
+        async.setQueueSize(config.getQueueSize());
+        // Keep every event, whatever its level, rather than discarding INFO and below when the queue fills.
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(config.isNeverBlock());
+        rootAppenders.forEach(async::addAppender);
+        async.start();
+        rootLogger.addAppender(async);
+        rootAppenders.forEach(rootLogger::detachAppender);
+        root = rootLogger;
+        appenders = rootAppenders;
+        asyncAppender = async;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (asyncAppender == null) {
+            return;
+        }
+        // Drain what is still queued, then log synchronously again for the rest of shutdown. Stopping the async
+        // appender also stops the appenders behind it, so those are restarted once reattached to the root logger.
+        root.detachAppender(asyncAppender);
+        asyncAppender.stop();
+        appenders.forEach(appender -> {
+            if (!appender.isStarted()) {
+                appender.start();
+            }
+            root.addAppender(appender);
+        });
+        asyncAppender = null;
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.itemhandler.logging;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.APPLICATION_NAMESPACE;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Wraps a structured {@link Logger} so that messages and log data on the hot path are only built once the level they
+ * are logged at is known to be enabled. Log data populated through a {@link Consumer} is written into a map reused by
+ * the calling thread, which is safe because the structured logger renders the map before it returns.
+ */
+public class LazyLogger {
+
+    private static final ThreadLocal<Map<String, Object>> CONTEXT = ThreadLocal.withInitial(HashMap::new);
+
+    private final Logger logger;
+    private final org.slf4j.Logger levels;
+
+    public LazyLogger(final Logger logger) {
+        this(logger, org.slf4j.LoggerFactory.getLogger(APPLICATION_NAMESPACE));
+    }
+
+    LazyLogger(final Logger logger, final org.slf4j.Logger levels) {
+        this.logger = logger;
+        this.levels = levels;
+    }
+
+    public boolean isDebugEnabled() {
+        return levels.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return levels.isInfoEnabled();
+    }
+
+    public void debug(final Supplier<String> message, final Consumer<Map<String, Object>> context) {
+        if (isDebugEnabled()) {
+            withContext(context, logMap -> logger.debug(message.get(), logMap));
+        }
+    }
+
+    public void info(final Supplier<String> message, final Consumer<Map<String, Object>> context) {
+        if (isInfoEnabled()) {
+            withContext(context, logMap -> logger.info(message.get(), logMap));
+        }
+    }
+
+    public void info(final Supplier<String> message, final Supplier<Map<String, Object>> logMap) {
+        if (isInfoEnabled()) {
+            logger.info(message.get(), logMap.get());
+        }
+    }
+
+    private static void withContext(final Consumer<Map<String, Object>> context,
+                                    final Consumer<Map<String, Object>> log) {
+        final Map<String, Object> logMap = CONTEXT.get();
+        if (!logMap.isEmpty()) {
+            // Logging from within another lazy log call on this thread; leave the outer context alone.
+            final Map<String, Object> nested = new HashMap<>();
+            context.accept(nested);
+            log.accept(nested);
+            return;
+        }
+        try {
+            context.accept(logMap);
+            log.accept(logMap);
+        } finally {
+            logMap.clear();
+        }
+    }
+}
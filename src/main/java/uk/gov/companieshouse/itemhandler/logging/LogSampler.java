@@ -0,0 +1,116 @@
+package uk.gov.companieshouse.itemhandler.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.LogSamplingConfig;
+
+/**
+ * Decides whether a high volume INFO message logged for every order is written out, so that log volume no longer
+ * grows with throughput. Each message is identified by a key, and those keys with a configured limit are rate
+ * limited by a token bucket. Messages for retries, and for a deterministic sample of orders chosen by hashing the
+ * order URI, are always written, so that the full trail of a sampled order is kept on every instance. Whether an
+ * order is sampled is decided once, when it is received, and carried with it (see
+ * {@link uk.gov.companieshouse.itemhandler.tracing.OrderTracing#withOrderSampled}). Errors are never sampled: only
+ * the messages that ask {@link LoggingUtils#isSampledIn} are subject to sampling.
+ */
+@Component
+public class LogSampler implements InitializingBean, DisposableBean {
+
+    /** Writes every message; in place until sampling is configured. */
+    static final LogSampler UNSAMPLED = new LogSampler(new LogSamplingConfig());
+
+    private static final int SAMPLE_BUCKETS = 10_000;
+
+    private final LogSamplingConfig config;
+    private final LongSupplier nanoTime;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public LogSampler(final LogSamplingConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    LogSampler(final LogSamplingConfig config, final LongSupplier nanoTime) {
+        this.config = config;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        LoggingUtils.setLogSampler(this);
+    }
+
+    @Override
+    public void destroy() {
+        LoggingUtils.setLogSampler(UNSAMPLED);
+    }
+
+    /**
+     * @param messageKey identifies the message to be logged
+     * @param sampledOrder whether the message is about an order all of whose messages are logged
+     * @return whether the message should be logged
+     */
+    boolean sample(final String messageKey, final boolean sampledOrder) {
+        if (!config.isEnabled() || sampledOrder) {
+            return true;
+        }
+        final Integer limit = config.getMessagesPerSecond().get(messageKey);
+        if (limit == null) {
+            return true;
+        }
+        return buckets.computeIfAbsent(messageKey, key -> new TokenBucket(limit, nanoTime.getAsLong()))
+                .tryAcquire(nanoTime.getAsLong());
+    }
+
+    /**
+     * @param orderUri the URI of the order
+     * @param retry whether the order is being retried
+     * @return whether all of the messages about the order are to be logged
+     */
+    boolean isSampledOrder(final String orderUri, final boolean retry) {
+        if (!config.isEnabled() || retry) {
+            return true;
+        }
+        if (orderUri == null) {
+            return false;
+        }
+        // String hash codes are stable across JVMs, so every instance samples the same orders.
+        final int mixed = orderUri.hashCode() * 0x9E3779B9;
+        return Integer.remainderUnsigned(mixed, SAMPLE_BUCKETS) < config.getOrderSampleRate() * SAMPLE_BUCKETS;
+    }
+
+    /**
+     * Allows up to a given number of messages a second, with bursts of up to that many.
+     */
+    private static final class TokenBucket {
+
+        private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private final int capacity;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(final int capacity, final long now) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized boolean tryAcquire(final long now) {
+            final long elapsed = now - refilledAt;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed * capacity / NANOS_PER_SECOND);
+                refilledAt = now;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.companieshouse.itemhandler.logging;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.MessageHeaders;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 import uk.gov.companieshouse.kafka.message.Message;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -31,9 +32,20 @@ public class LoggingUtils {
     public static final String ITEM_ID = "item_id";
     public static final String PAYMENT_REFERENCE = "payment_reference";
     public static final String COMPANY_NUMBER = "company_number";
+    public static final String ORDER_PRIORITY = "order_priority";
+
+    // Keys of the high volume INFO messages logged for every order, subject to sampling.
+    public static final String SAMPLED_ORDER_RECEIVED = "order-received";
+    public static final String SAMPLED_PROCESSING_ORDER = "processing-order";
+    public static final String SAMPLED_SENDING_DIGITAL_ITEM_GROUP = "sending-digital-item-group";
+    public static final String SAMPLED_CREATING_ITEM_GROUP_ORDERED = "creating-item-group-ordered";
+    public static final String SAMPLED_SENDING_ITEM_GROUP = "sending-item-group";
+    public static final String SAMPLED_MESSAGE_SENT = "message-sent";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
 
+    private static volatile LogSampler logSampler = LogSampler.UNSAMPLED;
+
     public static Map<String, Object> createLogMap() {
         return new HashMap<>();
     }
@@ -54,7 +66,18 @@ public class LoggingUtils {
      */
     public static Map<String, Object>
     createLogMapWithAcknowledgedKafkaMessage(final RecordMetadata acknowledgedMessage) {
-        final Map<String, Object> logMap = createLogMap();
+        return putAcknowledgedKafkaMessage(createLogMap(), acknowledgedMessage);
+    }
+
+    /**
+     * Populates the log map provided with the details required to track the production of a message to a Kafka topic.
+     * @param logMap the log map to populate
+     * @param acknowledgedMessage the {@link RecordMetadata} the metadata for a record that has been acknowledged by
+     *                            the server when a message has been produced to a Kafka topic.
+     * @return the log map populated with Kafka message production details
+     */
+    public static Map<String, Object> putAcknowledgedKafkaMessage(final Map<String, Object> logMap,
+                                                                  final RecordMetadata acknowledgedMessage) {
         logIfNotNull(logMap, TOPIC, acknowledgedMessage.topic());
         logIfNotNull(logMap, PARTITION, acknowledgedMessage.partition());
         logIfNotNull(logMap, OFFSET, acknowledgedMessage.offset());
@@ -93,9 +116,38 @@ public class LoggingUtils {
         return LOGGER;
     }
 
+    static void setLogSampler(final LogSampler sampler) {
+        logSampler = sampler;
+    }
+
+    /**
+     * Decides, once per order received, whether every high volume INFO message about the order is to be logged,
+     * see {@link LogSampler}. The decision is carried with the order by {@link OrderTracing#withOrderSampled}.
+     * @param orderUri the URI of the order received
+     * @param retry whether the order is being retried, in which case its messages are always logged
+     * @return whether every high volume INFO message about the order is to be logged
+     */
+    public static boolean isSampledOrder(final String orderUri, final boolean retry) {
+        return logSampler.isSampledOrder(orderUri, retry);
+    }
+
+    /**
+     * Determines whether a high volume INFO message about the current order is to be logged, see {@link LogSampler},
+     * using the sampling decision carried with the order.
+     * @param messageKey identifies the message, one of the <code>SAMPLED_</code> keys
+     * @return whether the message should be logged
+     */
+    public static boolean isSampledIn(final String messageKey) {
+        return logSampler.sample(messageKey, OrderTracing.isOrderSampled());
+    }
+
     public static Map<String, Object> getMessageHeadersAsMap(
             org.springframework.messaging.Message<OrderReceived> message) {
-        Map<String, Object> logMap = LoggingUtils.createLogMap();
+        return putMessageHeaders(createLogMap(), message);
+    }
+
+    public static Map<String, Object> putMessageHeaders(Map<String, Object> logMap,
+            org.springframework.messaging.Message<OrderReceived> message) {
         MessageHeaders messageHeaders = message.getHeaders();
 
         logIfNotNull(logMap, KEY, messageHeaders.get(KafkaHeaders.RECEIVED_KEY));
@@ -0,0 +1,218 @@
+package uk.gov.companieshouse.itemhandler.mapper;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.model.ActionedBy;
+import uk.gov.companieshouse.itemhandler.model.CertificateItemOptions;
+import uk.gov.companieshouse.itemhandler.model.CertifiedCopyItemOptions;
+import uk.gov.companieshouse.itemhandler.model.CompanyStatus;
+import uk.gov.companieshouse.itemhandler.model.CompanyType;
+import uk.gov.companieshouse.itemhandler.model.DeliveryDetails;
+import uk.gov.companieshouse.itemhandler.model.DesignatedMembersDetails;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.ItemCosts;
+import uk.gov.companieshouse.itemhandler.model.ItemLinks;
+import uk.gov.companieshouse.itemhandler.model.ItemOptions;
+import uk.gov.companieshouse.itemhandler.model.MembersDetails;
+import uk.gov.companieshouse.itemhandler.model.MissingImageDeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.model.OrderLinks;
+
+/**
+ * Reads an Orders API order response body straight into {@link OrderData} with a streaming parser, without first
+ * binding it to the SDK's <code>OrdersApi</code> model. The result is the same as that of
+ * {@link OrdersApiToOrderDataMapper#ordersApiToOrderData}: item options are read into the subtype chosen from the
+ * item kind, as {@link OrdersApiToOrderDataMapper#apiToItemOptions} does, and the item URI is taken from the item
+ * self link.
+ */
+@Component
+public class OrderDataStreamingReader {
+
+    private static final String CERTIFICATE_KIND = "item#certificate";
+    private static final String CERTIFIED_COPY_KIND = "item#certified-copy";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader certificateOptionsReader;
+    private final ObjectReader certifiedCopyOptionsReader;
+    private final ObjectReader missingImageDeliveryOptionsReader;
+
+    public OrderDataStreamingReader(ObjectMapper objectMapper, OrdersApiToOrderDataMapper ordersApiToOrderDataMapper) {
+        // A copy, so that the Orders API naming and values below do not leak into the application wide mapper.
+        this.objectMapper = objectMapper.copy()
+                .addMixIn(CertificateItemOptions.class, CertificateItemOptionsMixIn.class)
+                .registerModule(new SimpleModule()
+                        .addDeserializer(CompanyType.class,
+                                new ValueDeserializer<>(ordersApiToOrderDataMapper::mapCompanyType))
+                        .addDeserializer(CompanyStatus.class,
+                                new ValueDeserializer<>(ordersApiToOrderDataMapper::mapCompanyStatus)));
+        this.certificateOptionsReader = this.objectMapper.readerFor(CertificateItemOptions.class);
+        this.certifiedCopyOptionsReader = this.objectMapper.readerFor(CertifiedCopyItemOptions.class);
+        this.missingImageDeliveryOptionsReader = this.objectMapper.readerFor(MissingImageDeliveryItemOptions.class);
+    }
+
+    /**
+     * Reads an order from the response body provided.
+     * @param body the Orders API order response body
+     * @return the order read
+     * @throws IOException if the body cannot be read or is not a valid order
+     */
+    public OrderData read(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readOrder(parser);
+        }
+    }
+
+    private OrderData readOrder(JsonParser parser) throws IOException {
+        final OrderData order = new OrderData();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "payment_reference" -> order.setPaymentReference(parser.getValueAsString());
+                case "etag" -> order.setEtag(parser.getValueAsString());
+                case "delivery_details" -> order.setDeliveryDetails(readValue(parser, DeliveryDetails.class));
+                case "items" -> order.setItems(readItems(parser));
+                case "kind" -> order.setKind(parser.getValueAsString());
+                case "total_order_cost" -> order.setTotalOrderCost(parser.getValueAsString());
+                case "reference" -> order.setReference(parser.getValueAsString());
+                case "ordered_at" -> order.setOrderedAt(readValue(parser, LocalDateTime.class));
+                case "ordered_by" -> order.setOrderedBy(readValue(parser, ActionedBy.class));
+                case "links" -> order.setLinks(readValue(parser, OrderLinks.class));
+                default -> parser.skipChildren();
+            }
+        }
+        return order;
+    }
+
+    private List<Item> readItems(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        final List<Item> items = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+            items.add(readItem(parser));
+        }
+        return items;
+    }
+
+    private Item readItem(JsonParser parser) throws IOException {
+        final Item item = new Item();
+        TokenBuffer bufferedOptions = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> item.setId(parser.getValueAsString());
+                case "company_name" -> item.setCompanyName(parser.getValueAsString());
+                case "company_number" -> item.setCompanyNumber(parser.getValueAsString());
+                case "customer_reference" -> item.setCustomerReference(parser.getValueAsString());
+                case "description" -> item.setDescription(parser.getValueAsString());
+                case "description_identifier" -> item.setDescriptionIdentifier(parser.getValueAsString());
+                case "description_values" -> item.setDescriptionValues(objectMapper.readValue(parser,
+                        objectMapper.getTypeFactory().constructMapType(Map.class, String.class, String.class)));
+                case "item_costs" -> item.setItemCosts(objectMapper.readValue(parser,
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, ItemCosts.class)));
+                case "item_options" -> {
+                    if (item.getKind() != null) {
+                        item.setItemOptions(readItemOptions(item.getKind(), parser));
+                    } else {
+                        // The subtype depends on the kind, which has not been read yet.
+                        bufferedOptions = new TokenBuffer(parser);
+                        bufferedOptions.copyCurrentStructure(parser);
+                    }
+                }
+                case "etag" -> item.setEtag(parser.getValueAsString());
+                case "kind" -> item.setKind(parser.getValueAsString());
+                case "links" -> {
+                    final ItemLinks links = readValue(parser, ItemLinks.class);
+                    item.setLinks(links);
+                    item.setItemUri(links != null ? links.getSelf() : null);
+                }
+                case "postal_delivery" -> item.setPostalDelivery(readValue(parser, Boolean.class));
+                case "quantity" -> item.setQuantity(readValue(parser, Integer.class));
+                case "postage_cost" -> item.setPostageCost(parser.getValueAsString());
+                case "total_item_cost" -> item.setTotalItemCost(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+        if (bufferedOptions != null) {
+            try (JsonParser optionsParser = bufferedOptions.asParser(objectMapper)) {
+                optionsParser.nextToken();
+                item.setItemOptions(readItemOptions(item.getKind(), optionsParser));
+            }
+        }
+        return item;
+    }
+
+    private ItemOptions readItemOptions(String kind, JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (CERTIFICATE_KIND.equals(kind)) {
+            return certificateOptionsReader.readValue(parser);
+        } else if (CERTIFIED_COPY_KIND.equals(kind)) {
+            return certifiedCopyOptionsReader.readValue(parser);
+        } else {
+            return missingImageDeliveryOptionsReader.readValue(parser);
+        }
+    }
+
+    private <T> T readValue(JsonParser parser, Class<T> type) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : objectMapper.readValue(parser, type);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw MismatchedInputException.from(parser, OrderData.class,
+                    String.format("Expected %s but found %s", expected, actual));
+        }
+    }
+
+    /**
+     * Orders API names of the {@link CertificateItemOptions} properties that differ from the model's own.
+     */
+    private abstract static class CertificateItemOptionsMixIn {
+
+        @JsonProperty("designated_member_details")
+        abstract void setDesignatedMembersDetails(DesignatedMembersDetails designatedMembersDetails);
+
+        @JsonProperty("member_details")
+        abstract void setMembersDetails(MembersDetails membersDetails);
+    }
+
+    /**
+     * Reads an enum from its Orders API string value using the same value mapping as the SDK model path.
+     */
+    private static final class ValueDeserializer<T> extends JsonDeserializer<T> {
+
+        private final Function<String, T> mapping;
+
+        private ValueDeserializer(Function<String, T> mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return mapping.apply(parser.getValueAsString());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.email.EmailSend;
+import uk.gov.companieshouse.itemhandler.config.OutboxConfig;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.itemhandler.itemsummary.DeliverableItemGroup;
+import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderFragments;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemPair;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderRoutingEngine;
+import uk.gov.companieshouse.itemhandler.itemsummary.RoutingPlan;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedAvroSerializer;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedFactory;
+import uk.gov.companieshouse.itemhandler.kafka.ItemMessageFactory;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.service.EmailService;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.Routable;
+import uk.gov.companieshouse.kafka.message.Message;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Routes an order by writing every output planned for it to the outbox in a single record, rather than sending each
+ * of them itself. The emails and messages are built exactly as they would be sent, so that a failure to build any of
+ * them fails the order before anything is written, and the {@link OutboxRelay} has only to deliver them. An order is
+ * then either written in full or not at all: it can no longer be replayed with some of its outputs already sent.
+ * <p>
+ * The outbox topic is expected to be compacted, keyed by order reference, so that an order written more than once
+ * before it is relayed is relayed once, and the tombstones written by the relay reclaim the space of entries relayed.
+ */
+@Component
+public class OrderOutbox implements Routable {
+
+    private final OutboxConfig config;
+    private final OrderRoutingEngine orderRoutingEngine;
+    private final EmailService emailService;
+    private final ItemMessageFactory itemMessageFactory;
+    private final ItemGroupOrderedFactory itemGroupOrderedFactory;
+    private final ItemGroupOrderedAvroSerializer itemGroupOrderedSerializer;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String outboxTopic;
+    private final String itemGroupOrderedTopic;
+    private final Logger logger;
+
+    public OrderOutbox(final OutboxConfig config,
+                       final OrderRoutingEngine orderRoutingEngine,
+                       final EmailService emailService,
+                       final ItemMessageFactory itemMessageFactory,
+                       final ItemGroupOrderedFactory itemGroupOrderedFactory,
+                       final ItemGroupOrderedAvroSerializer itemGroupOrderedSerializer,
+                       final KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       final ObjectMapper objectMapper,
+                       @Value("${kafka.topics.item-handler-outbox}") final String outboxTopic,
+                       @Value("${kafka.topics.item-group-ordered}") final String itemGroupOrderedTopic,
+                       final Logger logger) {
+        this.config = config;
+        this.orderRoutingEngine = orderRoutingEngine;
+        this.emailService = emailService;
+        this.itemMessageFactory = itemMessageFactory;
+        this.itemGroupOrderedFactory = itemGroupOrderedFactory;
+        this.itemGroupOrderedSerializer = itemGroupOrderedSerializer;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxTopic = outboxTopic;
+        this.itemGroupOrderedTopic = itemGroupOrderedTopic;
+        this.logger = logger;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Writes every output planned for the order to the outbox, waiting for the write to be acknowledged.
+     * @param order the order to be routed
+     * @return {@link OrderProcessResponse.Status#OK} once the outputs are in the outbox
+     * @throws RetryableException should the outbox not acknowledge the write in time
+     * @throws NonRetryableException should any of the outputs not be built
+     */
+    @Override
+    public OrderProcessResponse.Status route(final OrderData order) {
+        final OutboxEntry entry = createEntry(orderRoutingEngine.plan(order));
+        write(entry);
+        return OrderProcessResponse.Status.OK;
+    }
+
+    OutboxEntry createEntry(final RoutingPlan plan) {
+        final OrderData order = plan.getOrder();
+        final List<OutboxEntry.Email> emails = new ArrayList<>(plan.getEmailGroups().size());
+        for (DeliverableItemGroup group : plan.getEmailGroups()) {
+            emails.add(toEmail(emailService.createOrderConfirmation(group)));
+        }
+        final List<OutboxEntry.KafkaMessage> messages = new ArrayList<>();
+        final OrderFragments orderFragments = plan.getChdItems().getOrderFragments();
+        for (Item item : plan.getChdItems().getItems()) {
+            final Message message = itemMessageFactory.createMessage(new OrderItemPair(order, item, orderFragments));
+            messages.add(new OutboxEntry.KafkaMessage(message.getTopic(), message.getValue()));
+        }
+        for (ItemGroup group : plan.getDigitalGroups()) {
+            messages.add(new OutboxEntry.KafkaMessage(itemGroupOrderedTopic, itemGroupOrderedSerializer
+                    .serialize(itemGroupOrderedTopic, itemGroupOrderedFactory.createMessage(group))));
+        }
+        return new OutboxEntry(order.getReference(), emails, messages);
+    }
+
+    private void write(final OutboxEntry entry) {
+        final byte[] value;
+        try {
+            value = objectMapper.writeValueAsBytes(entry);
+        } catch (JsonProcessingException exception) {
+            throw new NonRetryableException(
+                    String.format("Unable to write outbox entry for order %s", entry.orderReference()), exception);
+        }
+        try {
+            outboxKafkaTemplate.send(outboxTopic, entry.orderReference(), value)
+                    .get(config.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException exception) {
+            final String msg = String.format("Unable to write outbox entry for order %s: %s",
+                    entry.orderReference(), exception.getMessage());
+            logger.error(msg, exception, getLogMap(entry.orderReference()));
+            throw new RetryableException(msg, exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RetryableException(
+                    String.format("Interrupted writing outbox entry for order %s", entry.orderReference()), exception);
+        }
+    }
+
+    private static OutboxEntry.Email toEmail(final EmailSend emailSend) {
+        return new OutboxEntry.Email(string(emailSend.getAppId()), string(emailSend.getMessageId()),
+                string(emailSend.getMessageType()), string(emailSend.getData()), string(emailSend.getEmailAddress()),
+                string(emailSend.getCreatedAt()));
+    }
+
+    private static String string(final CharSequence value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer.HeaderNames.HeadersToAdd;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Gives up on an outbox entry that the {@link OutboxRelay} could not deliver within its retries, or could not read,
+ * so that it no longer holds back the entries after it on its partition. The entry is published as it is to the
+ * outbox error topic, with headers giving its original partition and offset and the exception it failed with, and a
+ * tombstone is written for it so that compaction removes it from the outbox.
+ * <p>
+ * Some of the outputs of an entry given up on may have been delivered. The entry on the error topic is complete, so
+ * that it can be relayed again once the cause of its failure has been fixed.
+ */
+@Component
+public class OutboxDeadLetterRecoverer implements ConsumerAwareRecordRecoverer {
+
+    static final String DEAD_LETTERED_COUNTER = "item.handler.outbox.dead.lettered";
+
+    private final DeadLetterPublishingRecoverer deadLetterPublisher;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final String outboxTopic;
+    private final Counter deadLettered;
+    private final Logger logger;
+
+    public OutboxDeadLetterRecoverer(final KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                                     @Value("${kafka.topics.item-handler-outbox}") final String outboxTopic,
+                                     @Value("${kafka.topics.item-handler-outbox-error}") final String outboxErrorTopic,
+                                     final MeterRegistry meterRegistry,
+                                     final Logger logger) {
+        this.deadLetterPublisher = new DeadLetterPublishingRecoverer(outboxKafkaTemplate,
+                (failed, exception) -> new TopicPartition(outboxErrorTopic, -1));
+        this.deadLetterPublisher.excludeHeader(HeadersToAdd.EX_STACKTRACE);
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.outboxTopic = outboxTopic;
+        this.deadLettered = Counter.builder(DEAD_LETTERED_COUNTER)
+                .description("Outbox entries given up on and published to the outbox error topic")
+                .register(meterRegistry);
+        this.logger = logger;
+    }
+
+    @Override
+    public void accept(final ConsumerRecord<?, ?> entry,
+                       @Nullable final Consumer<?, ?> consumer,
+                       final Exception exception) {
+        final String orderReference = (String) entry.key();
+        deadLetterPublisher.accept(entry, consumer, exception);
+        outboxKafkaTemplate.send(outboxTopic, orderReference, null);
+        deadLettered.increment();
+        logger.error(String.format("Outbox entry for order %s published to the outbox error topic", orderReference),
+                exception, getLogMap(orderReference));
+    }
+}
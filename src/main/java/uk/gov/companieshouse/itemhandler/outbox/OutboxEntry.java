@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import java.util.List;
+
+/**
+ * Every output planned for an order, written to the outbox in one record keyed by the order reference and relayed
+ * from there by the {@link OutboxRelay}.
+ *
+ * @param orderReference the reference of the order
+ * @param emails the order confirmation emails to be sent
+ * @param messages the messages to be produced, already serialised
+ */
+public record OutboxEntry(String orderReference, List<Email> emails, List<KafkaMessage> messages) {
+
+    /**
+     * An order confirmation email, as posted to the CHS Kafka API. The message ID is fixed when the entry is
+     * written, so an email relayed more than once is relayed with the same ID.
+     */
+    public record Email(String appId, String messageId, String messageType, String data, String emailAddress,
+                        String createdAt) {
+    }
+
+    /**
+     * A message to be produced to the topic given.
+     */
+    public record KafkaMessage(String topic, byte[] value) {
+    }
+}
@@ -0,0 +1,146 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.email.EmailSend;
+import uk.gov.companieshouse.itemhandler.client.EmailClient;
+import uk.gov.companieshouse.itemhandler.config.OutboxConfig;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Relays the entries written to the outbox by the {@link OrderOutbox}, independently of the consumption of orders.
+ * The messages of every entry in a poll are sent together, so that they share producer batches, and only then are the
+ * emails of each entry posted, one at a time, as the CHS Kafka API takes one email per request. Once every output of
+ * an entry has been delivered, a tombstone is written for its order so that compaction removes the entry.
+ * <p>
+ * A failure is retried by the error handler of the relay's own container, backing off up to the configured maximum,
+ * from the first entry not delivered. Entries after it in the same poll are relayed again even if they were
+ * delivered, so an email or message may be relayed more than once. An entry still not delivered once the back off is
+ * exhausted, or that cannot be read, is given up to the {@link OutboxDeadLetterRecoverer}, so that it never holds
+ * back the entries after it.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxConfig config;
+    private final EmailClient emailClient;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String outboxTopic;
+    private final Logger logger;
+
+    public OutboxRelay(final OutboxConfig config,
+                       final EmailClient emailClient,
+                       final KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       final ObjectMapper objectMapper,
+                       @Value("${kafka.topics.item-handler-outbox}") final String outboxTopic,
+                       final Logger logger) {
+        this.config = config;
+        this.emailClient = emailClient;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxTopic = outboxTopic;
+        this.logger = logger;
+    }
+
+    /**
+     * Outbox listener/consumer, started only when the outbox is enabled, and not in replay mode.
+     *
+     * @param records the outbox records polled, tombstones included
+     */
+    @KafkaListener(id = "#{'${kafka.topics.item-handler-outbox-group}'}",
+            groupId = "#{'${kafka.topics.item-handler-outbox-group}'}",
+            topics = "#{'${kafka.topics.item-handler-outbox}'}",
+            autoStartup = "#{${outbox.enabled:false} && !${replay.enabled:false}}",
+            containerFactory = "outboxListenerContainerFactory")
+    public void relay(final List<ConsumerRecord<String, byte[]>> records) {
+        final List<Dispatch> dispatches = new ArrayList<>(records.size());
+        BatchListenerFailedException unreadable = null;
+        for (int index = 0; index < records.size() && unreadable == null; index++) {
+            final ConsumerRecord<String, byte[]> outboxRecord = records.get(index);
+            if (outboxRecord.value() == null) {
+                continue;
+            }
+            try {
+                final OutboxEntry entry = objectMapper.readValue(outboxRecord.value(), OutboxEntry.class);
+                dispatches.add(new Dispatch(index, outboxRecord.key(), entry.emails(), sendMessages(entry)));
+            } catch (IOException exception) {
+                unreadable = new BatchListenerFailedException(
+                        "Unable to read outbox entry for order " + outboxRecord.key(),
+                        new NonRetryableException(exception), index);
+            }
+        }
+        final long deadline = System.nanoTime() + config.getDeliveryTimeout().toNanos();
+        for (Dispatch dispatch : dispatches) {
+            sendEmails(dispatch);
+            await(dispatch, deadline);
+            outboxKafkaTemplate.send(outboxTopic, dispatch.key(), null);
+        }
+        if (unreadable != null) {
+            throw unreadable;
+        }
+    }
+
+    private CompletableFuture<Void> sendMessages(final OutboxEntry entry) {
+        final List<CompletableFuture<?>> sent = new ArrayList<>();
+        entry.messages().forEach(message -> sent.add(outboxKafkaTemplate.send(message.topic(), message.value())));
+        return CompletableFuture.allOf(sent.toArray(new CompletableFuture[0]));
+    }
+
+    private void sendEmails(final Dispatch dispatch) {
+        try {
+            dispatch.emails().forEach(email -> emailClient.sendEmail(toEmailSend(email)));
+        } catch (RuntimeException exception) {
+            throw relayFailure(dispatch, exception);
+        }
+    }
+
+    private void await(final Dispatch dispatch, final long deadline) {
+        try {
+            dispatch.messages().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException exception) {
+            throw relayFailure(dispatch, exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new BatchListenerFailedException("Interrupted relaying outbox entry for order " + dispatch.key(),
+                    new RetryableException(exception), dispatch.index());
+        }
+    }
+
+    private BatchListenerFailedException relayFailure(final Dispatch dispatch, final Exception exception) {
+        final String msg = String.format("Unable to relay outbox entry for order %s: %s", dispatch.key(),
+                exception.getMessage());
+        logger.error(msg, exception, getLogMap(dispatch.key()));
+        return new BatchListenerFailedException(msg, new RetryableException(msg, exception), dispatch.index());
+    }
+
+    private static EmailSend toEmailSend(final OutboxEntry.Email email) {
+        final EmailSend emailSend = new EmailSend();
+        emailSend.setAppId(email.appId());
+        emailSend.setMessageId(email.messageId());
+        emailSend.setMessageType(email.messageType());
+        emailSend.setData(email.data());
+        emailSend.setEmailAddress(email.emailAddress());
+        emailSend.setCreatedAt(email.createdAt());
+        return emailSend;
+    }
+
+    private record Dispatch(int index, String key, List<OutboxEntry.Email> emails, CompletableFuture<Void> messages) {
+    }
+}
@@ -0,0 +1,194 @@
+package uk.gov.companieshouse.itemhandler.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import uk.gov.companieshouse.itemhandler.config.ReplayConfig;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessorService;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Replays orders through the {@link OrderProcessorService} as the application starts, when replay is enabled, in
+ * place of hand producing them to the retry topic. The orders are read from a file of order URIs, one to a line, or
+ * from a range of a topic of orders received, and are processed by as many threads as the parallelism, started no
+ * faster than the rate. Each order is processed once, whatever its outcome: an order the service is unavailable for
+ * is reported, not retried. A dry run reads and reports the orders without processing any of them.
+ * <p>
+ * The outcome of each order is written to the report as it completes. The listeners are not started in replay mode,
+ * and the application exits once the replay is complete, with a non-zero status if any order was not processed.
+ */
+@Component
+public class OrderReplayRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    static final String DRY_RUN = "DRY_RUN";
+    static final String FAILED = "FAILED";
+    static final String INVALID = "INVALID";
+
+    private final ReplayConfig config;
+    private final OrderProcessorService orderProcessorService;
+    private final TopicOrderReader topicOrderReader;
+    private final Logger logger;
+    private volatile int exitCode;
+
+    @Autowired
+    public OrderReplayRunner(final ReplayConfig config,
+                             final OrderProcessorService orderProcessorService,
+                             @Value("${spring.kafka.bootstrap-servers}") final String bootstrapServers,
+                             final Logger logger) {
+        this(config, orderProcessorService, new TopicOrderReader(() -> new KafkaConsumer<>(
+                consumerConfigs(bootstrapServers), new StringDeserializer(), new ByteArrayDeserializer())), logger);
+    }
+
+    OrderReplayRunner(final ReplayConfig config,
+                      final OrderProcessorService orderProcessorService,
+                      final TopicOrderReader topicOrderReader,
+                      final Logger logger) {
+        this.config = config;
+        this.orderProcessorService = orderProcessorService;
+        this.topicOrderReader = topicOrderReader;
+        this.logger = logger;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        validate();
+        final long startedAt = System.nanoTime();
+        final long interval = config.getRatePerSecond() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond()) : 0;
+        final AtomicInteger threads = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(config.getParallelism(), runnable -> {
+            final Thread thread = new Thread(runnable, "order-replay-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Semaphore slots = new Semaphore(config.getParallelism());
+        final long[] nextStart = {System.nanoTime()};
+        try (ReplayReport report = new ReplayReport(Path.of(config.getReportFile()))) {
+            final java.util.function.Consumer<ReplayOrder> replay = order -> {
+                if (order.orderUri() != null && !config.isDryRun()) {
+                    nextStart[0] = pace(nextStart[0], interval);
+                }
+                slots.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        replay(order, report);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            };
+            if (StringUtils.hasText(config.getFile())) {
+                readFile(replay);
+            } else {
+                topicOrderReader.read(config, replay);
+            }
+            slots.acquireUninterruptibly(config.getParallelism());
+
+            final Map<String, Long> outcomes = report.getOutcomes();
+            exitCode = outcomes.keySet().stream().allMatch(outcome ->
+                    outcome.equals(OrderProcessResponse.Status.OK.name()) || outcome.equals(DRY_RUN)) ? 0 : 1;
+            final Map<String, Object> logMap = new HashMap<>(outcomes);
+            logMap.put("report_file", config.getReportFile());
+            logMap.put("duration_ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            logger.info("Replay complete", logMap);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private void replay(final ReplayOrder order, final ReplayReport report) {
+        if (order.orderUri() == null) {
+            report.record(order, INVALID, 0, "Not an order received record");
+            return;
+        }
+        if (config.isDryRun()) {
+            report.record(order, DRY_RUN, 0, null);
+            return;
+        }
+        final long startedAt = System.nanoTime();
+        try {
+            final OrderProcessResponse response =
+                    orderProcessorService.processOrderReceived(order.orderUri(), order.priority());
+            report.record(order, response.getStatus().name(), elapsedMillis(startedAt), null);
+        } catch (RuntimeException exception) {
+            report.record(order, FAILED, elapsedMillis(startedAt), exception.getMessage());
+        }
+    }
+
+    private void readFile(final java.util.function.Consumer<ReplayOrder> replay) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(config.getFile()), StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                final String orderUri = line.strip();
+                if (!orderUri.isEmpty() && !orderUri.startsWith("#")) {
+                    replay.accept(new ReplayOrder(orderUri, null, config.getFile() + ":" + lineNumber));
+                }
+            }
+        }
+    }
+
+    private void validate() {
+        if (StringUtils.hasText(config.getFile()) == StringUtils.hasText(config.getTopic())) {
+            throw new IllegalStateException("Replay requires either a file or a topic, but not both");
+        }
+        if ((config.getFromOffset() != null || config.getToOffset() != null)
+                && (config.getFromTime() != null || config.getToTime() != null)) {
+            throw new IllegalStateException("Replay range is either by offset or by time, but not both");
+        }
+        if (config.getParallelism() < 1) {
+            throw new IllegalStateException("Replay parallelism must be at least 1: " + config.getParallelism());
+        }
+    }
+
+    /**
+     * Waits until the next order may be started, and returns the time the order after it may be started.
+     */
+    private static long pace(final long nextStart, final long interval) {
+        for (long wait = nextStart - System.nanoTime(); wait > 0; wait = nextStart - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+        return Math.max(nextStart, System.nanoTime() - interval) + interval;
+    }
+
+    private static long elapsedMillis(final long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private static Map<String, Object> consumerConfigs(final String bootstrapServers) {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, Boolean.toString(false));
+        return props;
+    }
+}
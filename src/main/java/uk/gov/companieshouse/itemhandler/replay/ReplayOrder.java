@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.itemhandler.replay;
+
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
+
+/**
+ * An order to be replayed.
+ *
+ * @param orderUri the URI of the order, or <code>null</code> for a topic record that is not an order received
+ * @param priority the priority of the order if known, or <code>null</code> to classify it
+ * @param origin   where the order was read from: the line of the file, or the partition and offset of the topic
+ */
+record ReplayOrder(String orderUri, OrderPriority priority, String origin) {
+}
@@ -0,0 +1,64 @@
+package uk.gov.companieshouse.itemhandler.replay;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes a line of CSV for each order replayed, as it completes, and counts the orders replayed by their outcome.
+ */
+class ReplayReport implements Closeable {
+
+    static final String HEADER = "order_uri,origin,outcome,duration_ms,error";
+
+    private final BufferedWriter writer;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    ReplayReport(final Path path) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+        writer.flush();
+    }
+
+    synchronized void record(final ReplayOrder order,
+                             final String outcome,
+                             final long durationMillis,
+                             final String error) {
+        outcomes.merge(outcome, 1L, Long::sum);
+        try {
+            writer.write(String.join(",", escape(order.orderUri()), escape(order.origin()), outcome,
+                    Long.toString(durationMillis), escape(error)));
+            writer.newLine();
+            // Flushed line by line, so that a replay stopped part way still leaves the report of what it did.
+            writer.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    synchronized Map<String, Long> getOutcomes() {
+        return new TreeMap<>(outcomes);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private static String escape(final String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.companieshouse.itemhandler.replay;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import uk.gov.companieshouse.itemhandler.config.ReplayConfig;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedDeserialiser;
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Reads the orders received in a range of a topic, without joining a consumer group or committing offsets. The range
+ * is the same in every partition read: from the first offset, or the first record at or after the start time, up to
+ * but excluding the last offset, or the first record at or after the end time. Either end left open is the start or
+ * the end of the partition as it is when the read begins, so records produced during the read are not replayed.
+ */
+class TopicOrderReader {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+    private final OrderReceivedDeserialiser deserialiser = new OrderReceivedDeserialiser();
+
+    TopicOrderReader(final Supplier<Consumer<String, byte[]>> consumerFactory) {
+        this.consumerFactory = consumerFactory;
+    }
+
+    void read(final ReplayConfig config, final java.util.function.Consumer<ReplayOrder> orders) {
+        try (Consumer<String, byte[]> consumer = consumerFactory.get()) {
+            final List<TopicPartition> partitions = new ArrayList<>();
+            consumer.partitionsFor(config.getTopic()).stream()
+                    .filter(info -> config.getPartition() == null || info.partition() == config.getPartition())
+                    .forEach(info -> partitions.add(new TopicPartition(info.topic(), info.partition())));
+            final Map<TopicPartition, Long> startOffsets = offsets(consumer, partitions, config.getFromOffset(),
+                    config.getFromTime(), consumer.beginningOffsets(partitions));
+            final Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            final Map<TopicPartition, Long> remaining = new HashMap<>();
+            offsets(consumer, partitions, config.getToOffset(), config.getToTime(), endOffsets).forEach(
+                    (partition, end) -> {
+                        if (startOffsets.get(partition) < end) {
+                            remaining.put(partition, end);
+                        }
+                    });
+            consumer.assign(remaining.keySet());
+            remaining.keySet().forEach(partition -> consumer.seek(partition, startOffsets.get(partition)));
+
+            while (!remaining.isEmpty()) {
+                for (ConsumerRecord<String, byte[]> orderRecord : consumer.poll(POLL_TIMEOUT)) {
+                    final Long end = remaining.get(new TopicPartition(orderRecord.topic(), orderRecord.partition()));
+                    if (end != null && orderRecord.offset() < end && orderRecord.value() != null) {
+                        orders.accept(toReplayOrder(orderRecord));
+                    }
+                }
+                // Positions rather than the offsets of the records seen, as compaction leaves gaps.
+                remaining.entrySet().removeIf(partition ->
+                        consumer.position(partition.getKey()) >= partition.getValue());
+                consumer.pause(consumer.assignment().stream().filter(partition -> !remaining.containsKey(partition))
+                        .toList());
+            }
+        }
+    }
+
+    private ReplayOrder toReplayOrder(final ConsumerRecord<String, byte[]> orderRecord) {
+        final String origin = orderRecord.topic() + "-" + orderRecord.partition() + "@" + orderRecord.offset();
+        final OrderReceived orderReceived;
+        try {
+            orderReceived = deserialiser.deserialize(orderRecord.topic(), orderRecord.value());
+        } catch (SerializationException exception) {
+            return new ReplayOrder(null, null, origin);
+        }
+        final Header priority = orderRecord.headers().lastHeader(OrderPriority.ORDER_PRIORITY_HEADER);
+        return new ReplayOrder(orderReceived.getOrderUri(), priority != null
+                ? OrderPriority.fromHeader(priority.value()) : null, origin);
+    }
+
+    private static Map<TopicPartition, Long> offsets(final Consumer<String, byte[]> consumer,
+                                                     final List<TopicPartition> partitions,
+                                                     final Long offset,
+                                                     final Instant time,
+                                                     final Map<TopicPartition, Long> bounds) {
+        final Map<TopicPartition, Long> offsets = new HashMap<>(bounds);
+        if (offset != null) {
+            final Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+            final Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            partitions.forEach(partition -> offsets.put(partition,
+                    Math.min(Math.max(offset, beginning.get(partition)), end.get(partition))));
+        } else if (time != null) {
+            final Map<TopicPartition, Long> timestamps = new HashMap<>();
+            partitions.forEach(partition -> timestamps.put(partition, time.toEpochMilli()));
+            final Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            consumer.offsetsForTimes(timestamps).forEach((partition, found) ->
+                    offsets.put(partition, found != null ? found.offset() : end.get(partition)));
+        }
+        return offsets;
+    }
+}
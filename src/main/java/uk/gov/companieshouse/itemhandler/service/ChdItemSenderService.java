@@ -1,11 +1,15 @@
 package uk.gov.companieshouse.itemhandler.service;
 
+import io.opentelemetry.api.trace.SpanKind;
 import java.util.Map;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderFragments;
 import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemPair;
 import uk.gov.companieshouse.itemhandler.kafka.ItemMessageProducer;
 import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 
+import static java.util.Collections.singletonList;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ITEM_ID;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMap;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.logIfNotNull;
@@ -31,9 +35,13 @@ public class ChdItemSenderService {
         final String orderReference = itemGroup.getOrder().getReference();
         logWithOrderReference("Sending items for order to CHD", orderReference);
         final Map<String, Object> logMap = createLogMap();
+        final OrderFragments orderFragments = itemGroup.getOrderFragments();
         itemGroup.getItems().forEach(item -> {
-            logIfNotNull(logMap, ITEM_ID, item.getId());
-            itemMessageProducer.sendMessage(new OrderItemPair(itemGroup.getOrder(), item));
+            final String itemId = item.getId();
+            logIfNotNull(logMap, ITEM_ID, itemId);
+            OrderTracing.inSpan(OrderTracing.SPAN_SEND_CHD_ITEM, SpanKind.PRODUCER, orderReference,
+                    singletonList(itemId), () -> itemMessageProducer.sendMessage(
+                            new OrderItemPair(itemGroup.getOrder(), item, orderFragments)));
         });
     }
 }
@@ -3,9 +3,12 @@ package uk.gov.companieshouse.itemhandler.service;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
 import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedMessageProducer;
+import uk.gov.companieshouse.itemhandler.logging.LazyLogger;
 import uk.gov.companieshouse.logging.Logger;
 
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.SAMPLED_SENDING_DIGITAL_ITEM_GROUP;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.isSampledIn;
 
 /**
  * Service responsible for dispatching a message for each digital item group in an order for digital processing via
@@ -13,19 +16,22 @@ import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
  */
 @Service
 public class DigitalItemGroupSenderService {
-    private final Logger logger;
+    private final LazyLogger logger;
 
     private final ItemGroupOrderedMessageProducer itemGroupOrderedMessageProducer;
 
     public DigitalItemGroupSenderService(Logger logger,
                                          ItemGroupOrderedMessageProducer itemGroupOrderedMessageProducer) {
-        this.logger = logger;
+        this.logger = new LazyLogger(logger);
         this.itemGroupOrderedMessageProducer = itemGroupOrderedMessageProducer;
     }
 
     public void sendItemGroupForDigitalProcessing(final ItemGroup digitalItemGroup) {
-        logger.info("Sending digital item group " + digitalItemGroup + " for digital processing.",
-                getLogMap(digitalItemGroup.getOrder().getReference()));
+        final String orderReference = digitalItemGroup.getOrder().getReference();
+        if (isSampledIn(SAMPLED_SENDING_DIGITAL_ITEM_GROUP)) {
+            logger.info(() -> "Sending digital item group " + digitalItemGroup + " for digital processing.",
+                    () -> getLogMap(orderReference));
+        }
         itemGroupOrderedMessageProducer.sendMessage(digitalItemGroup);
     }
 
@@ -2,6 +2,8 @@ package uk.gov.companieshouse.itemhandler.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.opentelemetry.api.trace.SpanKind;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.email.EmailSend;
 import uk.gov.companieshouse.itemhandler.client.EmailClient;
@@ -11,10 +13,14 @@ import uk.gov.companieshouse.itemhandler.itemsummary.DeliverableItemGroup;
 import uk.gov.companieshouse.itemhandler.itemsummary.EmailMetadata;
 import uk.gov.companieshouse.itemhandler.itemsummary.OrderConfirmationMapper;
 import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 import uk.gov.companieshouse.logging.Logger;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Communicates with <code>chs-email-sender</code> via the <code>send-email</code> Kafka topic to
@@ -36,6 +42,11 @@ public class EmailService {
     private final ConfirmationMapperFactory confirmationMapperFactory;
     private final EmailClient emailClient;
 
+    /**
+     * Writers resolved once per email data class, so that the serializer for each class is looked up only once.
+     */
+    private final Map<Class<?>, ObjectWriter> emailDataWriters = new ConcurrentHashMap<>();
+
     public EmailService(
             final ObjectMapper objectMapper,
             final ConfirmationMapperFactory confirmationMapperFactory,
@@ -51,21 +62,36 @@ public class EmailService {
      * @param itemGroup a {@link DeliverableItemGroup group of deliverable items}.
      */
     public void sendOrderConfirmation(final DeliverableItemGroup itemGroup) {
+        OrderTracing.inSpan(OrderTracing.SPAN_SEND_EMAIL, SpanKind.PRODUCER, itemGroup.getOrder().getReference(),
+                itemGroup.getItems().stream().map(Item::getId).toList(), () -> send(itemGroup));
+    }
+
+    private void send(final DeliverableItemGroup itemGroup) {
+        final EmailSend emailSend = createOrderConfirmation(itemGroup);
+
+        String orderReference = itemGroup.getOrder().getReference();
+        LoggingUtils.logWithOrderReference("Sending confirmation email for order", orderReference);
+
+        emailClient.sendEmail(emailSend);
+    }
+
+    /**
+     * Maps the certificate or certified copy order confirmation email for a group of deliverable items, without
+     * sending it.
+     *
+     * @param itemGroup a {@link DeliverableItemGroup group of deliverable items}.
+     * @return the email to be sent
+     * @throws NonRetryableException should the items be of an unknown kind, or their email data not convert to JSON
+     */
+    public EmailSend createOrderConfirmation(final DeliverableItemGroup itemGroup) {
         try {
-            EmailSend emailSend;
             if (ITEM_KIND_CERTIFIED_COPY.equals(itemGroup.getKind())) {
-                emailSend = mapEmailSend(itemGroup, confirmationMapperFactory.getCertifiedCopyMapper());
+                return mapEmailSend(itemGroup, confirmationMapperFactory.getCertifiedCopyMapper());
             } else if (ITEM_KIND_CERTIFICATE.equals(itemGroup.getKind())) {
-                emailSend = mapEmailSend(itemGroup, confirmationMapperFactory.getCertificateMapper());
+                return mapEmailSend(itemGroup, confirmationMapperFactory.getCertificateMapper());
             } else {
                 throw new NonRetryableException(String.format("Unknown item kind: [%s]", itemGroup.getKind()));
             }
-
-            String orderReference = itemGroup.getOrder().getReference();
-            LoggingUtils.logWithOrderReference("Sending confirmation email for order", orderReference);
-
-            emailClient.sendEmail(emailSend);
-
         } catch (JsonProcessingException exception) {
             String msg = String.format("Error converting order (%s) confirmation to JSON", itemGroup.getOrder().getReference());
             LOGGER.error(msg, exception);
@@ -79,11 +105,16 @@ public class EmailService {
         EmailSend emailSend = new EmailSend();
         emailSend.setAppId(emailMetadata.getAppId());
         emailSend.setMessageType(emailMetadata.getMessageType());
-        emailSend.setData(objectMapper.writeValueAsString(emailMetadata.getEmailData()));
+        emailSend.setData(writeEmailData(emailMetadata.getEmailData()));
         emailSend.setEmailAddress(TOKEN_EMAIL_ADDRESS);
         emailSend.setMessageId(UUID.randomUUID().toString());
         emailSend.setCreatedAt(LocalDateTime.now().toString());
 
         return emailSend;
     }
+
+    private String writeEmailData(Object emailData) throws JsonProcessingException {
+        return emailDataWriters.computeIfAbsent(emailData.getClass(), objectMapper::writerFor)
+                .writeValueAsString(emailData);
+    }
 }
\ No newline at end of file
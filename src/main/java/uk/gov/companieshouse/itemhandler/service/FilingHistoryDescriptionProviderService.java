@@ -1,39 +1,156 @@
 package uk.gov.companieshouse.itemhandler.service;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.stereotype.Service;
 import org.yaml.snakeyaml.Yaml;
 import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
 import uk.gov.companieshouse.itemhandler.util.DateConstants;
+import uk.gov.companieshouse.itemhandler.util.LruCache;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.DESCRIPTION_LOG_KEY;
 
 @Service
-public class FilingHistoryDescriptionProviderService {
+public class FilingHistoryDescriptionProviderService implements MeterBinder {
 
     private static final String FILING_HISTORY_DESCRIPTIONS_FILEPATH = "api-enumerations/filing_history_descriptions.yml";
     private static final String FILING_HISTORY_DESCRIPTION_KEY = "description";
     private static final String LOG_MESSAGE_FILE_KEY = "file";
 
-    private final Map<String, String> filingHistoryDescriptions;
+    public static final String CACHE_HITS = "item.handler.filing.history.cache.hits";
+    public static final String CACHE_MISSES = "item.handler.filing.history.cache.misses";
+    public static final String CACHE_SIZE = "item.handler.filing.history.cache.size";
+    public static final String CACHE_TAG = "cache";
+
+    private static final int RENDERED_DESCRIPTIONS_CACHE_SIZE = 10_000;
+    private static final int ACTION_DATES_CACHE_SIZE = 4_096;
+
+    /**
+     * Action dates recur across many filings, so their display form is shared by every provider.
+     */
+    private static final LruCache<String, String> ACTION_DATES = new LruCache<>(ACTION_DATES_CACHE_SIZE);
+
+    private final LruCache<RenderKey, String> renderedDescriptions = new LruCache<>(RENDERED_DESCRIPTIONS_CACHE_SIZE);
+
+    private final File filingHistoryDescriptionsFile;
+
+    /**
+     * Replaced as a whole (copy-on-write) on reload and never modified, so that each lookup sees a complete set.
+     */
+    private volatile Map<String, FilingHistoryDescriptionTemplate> filingHistoryDescriptions;
 
     public FilingHistoryDescriptionProviderService() {
-        final File filingHistoryDescriptionsFile = new File(FILING_HISTORY_DESCRIPTIONS_FILEPATH);
-        filingHistoryDescriptions = loadFilingHistoryDescriptionsFromFile(filingHistoryDescriptionsFile);
+        this(new File(FILING_HISTORY_DESCRIPTIONS_FILEPATH));
     }
 
     public FilingHistoryDescriptionProviderService(final File filingHistoryDescriptionsFile) {
-        filingHistoryDescriptions = loadFilingHistoryDescriptionsFromFile(filingHistoryDescriptionsFile);
+        this.filingHistoryDescriptionsFile = filingHistoryDescriptionsFile;
+        filingHistoryDescriptions = compile(loadFilingHistoryDescriptions(filingHistoryDescriptionsFile));
+    }
+
+    public File getFilingHistoryDescriptionsFile() {
+        return filingHistoryDescriptionsFile;
+    }
+
+    /**
+     * Loads and compiles the descriptions file again, then swaps the new descriptions in. The descriptions in use
+     * are kept should the file be missing or invalid.
+     * @return whether the new descriptions were swapped in
+     */
+    public boolean reload() {
+        final Map<String, FilingHistoryDescriptionTemplate> reloaded =
+                compile(loadFilingHistoryDescriptions(filingHistoryDescriptionsFile));
+        if (reloaded == null) {
+            return false;
+        }
+        filingHistoryDescriptions = reloaded;
+        // Only frees the entries: keyed by template, they could not be hit once the new templates are swapped in.
+        renderedDescriptions.clear();
+        return true;
+    }
+
+    /**
+     * Empties the rendered description and action date caches and zeroes their hit and miss counts, so that the
+     * lookups made for the warm-up orders are neither kept nor reported.
+     */
+    public void resetCaches() {
+        renderedDescriptions.reset();
+        ACTION_DATES.reset();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        bindCache(registry, "description", renderedDescriptions);
+        bindCache(registry, "action_date", ACTION_DATES);
+    }
+
+    private static void bindCache(final MeterRegistry registry, final String name, final LruCache<?, ?> cache) {
+        FunctionCounter.builder(CACHE_HITS, cache, LruCache::hitCount)
+                .description("Filing history cache lookups served from the cache")
+                .tag(CACHE_TAG, name)
+                .register(registry);
+        FunctionCounter.builder(CACHE_MISSES, cache, LruCache::missCount)
+                .description("Filing history cache lookups that had to be computed")
+                .tag(CACHE_TAG, name)
+                .register(registry);
+        Gauge.builder(CACHE_SIZE, cache, LruCache::size)
+                .tag(CACHE_TAG, name)
+                .register(registry);
     }
 
-    private Map<String, String> loadFilingHistoryDescriptionsFromFile(final File filingHistoryDescriptionsFile) {
+    /**
+     * Loads the descriptions from the build-time {@link FilingHistoryDescriptionSnapshot snapshot} of the YAML file
+     * if there is a current one, and from the YAML file itself otherwise.
+     */
+    private static Map<String, String> loadFilingHistoryDescriptions(final File filingHistoryDescriptionsFile) {
+        final Map<String, String> snapshot = FilingHistoryDescriptionSnapshot.read(filingHistoryDescriptionsFile);
+        return snapshot != null ? snapshot : loadFilingHistoryDescriptionsFromFile(filingHistoryDescriptionsFile);
+    }
+
+    private static Map<String, FilingHistoryDescriptionTemplate> compile(final Map<String, String> descriptions) {
+        if (descriptions == null) {
+            return null;
+        }
+        final Map<String, FilingHistoryDescriptionTemplate> templates = new HashMap<>(descriptions.size() * 4 / 3 + 1);
+        descriptions.forEach((key, description) -> templates.put(key, FilingHistoryDescriptionTemplate.compile(description)));
+        return Collections.unmodifiableMap(templates);
+    }
+
+    /**
+     * Normalises the descriptions as parsed from the YAML file, so that the file and its
+     * {@link FilingHistoryDescriptionSnapshot snapshot} always give the same set. An entry without a description, or
+     * with one that is not a scalar, is logged and left out rather than failing the whole set; other scalars
+     * (numbers, booleans) are taken as their text.
+     * @param descriptions the descriptions as parsed
+     * @return the descriptions as text
+     */
+    static Map<String, String> normaliseDescriptions(final Map<?, ?> descriptions) {
+        final Map<String, String> normalised = new HashMap<>(descriptions.size() * 4 / 3 + 1);
+        descriptions.forEach((key, description) -> {
+            if (description == null || description instanceof Map || description instanceof Collection) {
+                final Map<String, Object> logMap = new HashMap<>();
+                logMap.put(DESCRIPTION_LOG_KEY, String.valueOf(key));
+                LoggingUtils.getLogger().error("Filing history description is not text, skipping it", logMap);
+            } else {
+                normalised.put(String.valueOf(key), description.toString());
+            }
+        });
+        return normalised;
+    }
+
+    static Map<String, String> loadFilingHistoryDescriptionsFromFile(final File filingHistoryDescriptionsFile) {
         if (!filingHistoryDescriptionsFile.exists()) {
             Map<String, Object> logMap = new HashMap<>();
             logMap.put(LOG_MESSAGE_FILE_KEY, filingHistoryDescriptionsFile.getAbsolutePath());
@@ -44,14 +161,14 @@ public class FilingHistoryDescriptionProviderService {
         try(final InputStream inputStream = new FileInputStream(filingHistoryDescriptionsFile)) {
             final Yaml yaml = new Yaml();
             final Map<String, Object> filingHistoryDescriptionsRoot = yaml.load(inputStream);
-            filingHistoryDescriptionsLocal =
-                    (Map<String, String>) filingHistoryDescriptionsRoot.get(FILING_HISTORY_DESCRIPTION_KEY);
-            if (filingHistoryDescriptionsLocal == null) {
+            if (!(filingHistoryDescriptionsRoot.get(FILING_HISTORY_DESCRIPTION_KEY)
+                    instanceof Map<?, ?> filingHistoryDescriptionsParsed)) {
                 Map<String, Object> logMap = new HashMap<>();
                 logMap.put(DESCRIPTION_LOG_KEY, FILING_HISTORY_DESCRIPTION_KEY);
                 LoggingUtils.getLogger().error("Filing History descriptions file not found", logMap);
                 return null;
             }
+            filingHistoryDescriptionsLocal = normaliseDescriptions(filingHistoryDescriptionsParsed);
         } catch (IOException ioe) {
             // This is very unlikely to happen here given File.exists() check above,
             // and that it is not likely to encounter an error closing the stream either.
@@ -60,8 +177,13 @@ public class FilingHistoryDescriptionProviderService {
         return filingHistoryDescriptionsLocal;
     }
 
-    private String getFilingHistoryDescriptionWithKey(String descriptionKey) {
-        return filingHistoryDescriptions.getOrDefault(descriptionKey, descriptionKey);
+    private static FilingHistoryDescriptionTemplate getFilingHistoryDescriptionWithKey(
+            Map<String, FilingHistoryDescriptionTemplate> descriptions, String descriptionKey) {
+        final FilingHistoryDescriptionTemplate template = descriptions.get(descriptionKey);
+        if (template != null || descriptionKey == null) {
+            return template;
+        }
+        return FilingHistoryDescriptionTemplate.compile(descriptionKey);
     }
 
     /**
@@ -75,25 +197,43 @@ public class FilingHistoryDescriptionProviderService {
      * @return the formatted filing history description
      */
     public String mapFilingHistoryDescription(String descriptionKey, Map<String, Object> filingHistoryDescriptionValues) {
-        if(filingHistoryDescriptions == null) {
+        final Map<String, FilingHistoryDescriptionTemplate> descriptions = filingHistoryDescriptions;
+        if(descriptions == null) {
             return null;
         }
-        String description = getFilingHistoryDescriptionWithKey(descriptionKey);
+        FilingHistoryDescriptionTemplate description = getFilingHistoryDescriptionWithKey(descriptions, descriptionKey);
         if(filingHistoryDescriptionValues == null){
-            return description == null ? null : description.replace("*", "");
+            return description == null ? null : description.getText();
         } else if(filingHistoryDescriptionValues.containsKey(FILING_HISTORY_DESCRIPTION_KEY)) {
             return (String) filingHistoryDescriptionValues.get(FILING_HISTORY_DESCRIPTION_KEY);
         } else {
-            final StringBuilder sb = new StringBuilder(description);
-            replaceAll(sb, "*", "");
-            filingHistoryDescriptionValues.forEach((k,v)-> {
-                if(v instanceof String) {
-                    String value = k.contains("date") ? reformatActionDate((String) v) : (String) v;
-                    replaceAll(sb, "{" + k + "}", value);
-                }
-            });
-            return sb.toString();
+            return description == null ? null : render(descriptions, descriptionKey, description,
+                    filingHistoryDescriptionValues);
+        }
+    }
+
+    /**
+     * Renders a loaded template through the render cache. The cache is keyed by the template instance, so that a
+     * description rendered from a set since reloaded can never be served, even if it is cached after the reload.
+     * The values are only copied to be cached on a miss. Templates compiled from an unknown key are rendered
+     * directly, as the cache could never be hit for them.
+     */
+    private String render(final Map<String, FilingHistoryDescriptionTemplate> descriptions,
+                          final String descriptionKey,
+                          final FilingHistoryDescriptionTemplate description,
+                          final Map<String, Object> values) {
+        if (descriptions.get(descriptionKey) != description) {
+            return description.render(values);
+        }
+        final String cached = renderedDescriptions.get(new RenderKey(description, values));
+        if (cached != null) {
+            return cached;
+        }
+        final String rendered = description.render(values);
+        if (rendered != null) {
+            renderedDescriptions.put(new RenderKey(description, new HashMap<>(values)), rendered);
         }
+        return rendered;
     }
 
     /**
@@ -102,8 +242,8 @@ public class FilingHistoryDescriptionProviderService {
      * @return the same date rendered for display purposes
      */
     public static String reformatActionDate(final String actionDate) {
-        final LocalDate parsedDate = LocalDate.parse(actionDate);
-        return parsedDate.format(DateConstants.FILING_HISTORY_DATE_DESCRIPTION_FORMATTER);
+        return ACTION_DATES.computeIfAbsent(actionDate, date ->
+                LocalDate.parse(date).format(DateConstants.FILING_HISTORY_DATE_DESCRIPTION_FORMATTER));
     }
 
     /**
@@ -121,4 +261,10 @@ public class FilingHistoryDescriptionProviderService {
         }
     }
 
+    /**
+     * Templates have identity equality, so a key only ever matches the template it was rendered from. The values
+     * of a cached key are a copy, so that the key cannot change once cached.
+     */
+    private record RenderKey(FilingHistoryDescriptionTemplate template, Map<String, Object> values) {
+    }
 }
@@ -0,0 +1,89 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.FilingHistoryReloadConfig;
+import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
+
+/**
+ * Watches the filing history descriptions file and, when it changes, has the
+ * {@link FilingHistoryDescriptionProviderService} load and compile the new descriptions in the background and swap
+ * them in, so that updated enumerations are picked up without a restart.
+ */
+@Component
+public class FilingHistoryDescriptionReloader implements InitializingBean, DisposableBean {
+
+    private static final String LOG_MESSAGE_FILE_KEY = "file";
+
+    private final FilingHistoryDescriptionProviderService provider;
+    private final FilingHistoryReloadConfig config;
+
+    private ScheduledExecutorService watcher;
+    private long lastModified;
+    private long length;
+
+    public FilingHistoryDescriptionReloader(final FilingHistoryDescriptionProviderService provider,
+                                            final FilingHistoryReloadConfig config) {
+        this.provider = provider;
+        this.config = config;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        final File file = provider.getFilingHistoryDescriptionsFile();
+        lastModified = file.lastModified();
+        length = file.length();
+        final long intervalMillis = config.getInterval().toMillis();
+        watcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("filing-history-reload-"));
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the descriptions if the file has been modified since it was last loaded.
+     * @return whether new descriptions were swapped in
+     */
+    boolean reloadIfChanged() {
+        final File file = provider.getFilingHistoryDescriptionsFile();
+        final long currentLastModified = file.lastModified();
+        final long currentLength = file.length();
+        if (currentLastModified == lastModified && currentLength == length) {
+            return false;
+        }
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(LOG_MESSAGE_FILE_KEY, file.getAbsolutePath());
+        try {
+            if (!provider.reload()) {
+                LoggingUtils.getLogger().error("Filing history descriptions not reloaded, keeping current set", logMap);
+                return false;
+            }
+        } catch (RuntimeException exception) {
+            LoggingUtils.getLogger().error("Filing history descriptions not reloaded, keeping current set",
+                    exception, logMap);
+            return false;
+        } finally {
+            // Retried only once the file changes again, rather than on every poll.
+            lastModified = currentLastModified;
+            length = currentLength;
+        }
+        LoggingUtils.getLogger().info("Filing history descriptions reloaded", logMap);
+        return true;
+    }
+}
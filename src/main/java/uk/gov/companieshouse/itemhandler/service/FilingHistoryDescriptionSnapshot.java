@@ -0,0 +1,149 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import uk.gov.companieshouse.itemhandler.logging.LoggingUtils;
+
+/**
+ * A compact binary copy of the filing history descriptions, written at build time so that the service can memory
+ * map it at startup rather than parse the (large) YAML enumerations file. The snapshot records the CRC32 of the YAML
+ * it was compiled from and is ignored if that no longer matches, so a stale snapshot can never be served.
+ * <p>
+ * Layout: magic, version, YAML CRC32, entry count, then for each entry the UTF-8 key and description, each preceded
+ * by its length in bytes.
+ */
+public final class FilingHistoryDescriptionSnapshot {
+
+    static final int MAGIC = 0x46484453; // "FHDS"
+    static final int VERSION = 1;
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final String LOG_MESSAGE_FILE_KEY = "file";
+
+    private FilingHistoryDescriptionSnapshot() {
+    }
+
+    /**
+     * Compiles a snapshot of the YAML enumerations file at build time.
+     * @param args the path of the YAML enumerations file and the path of the snapshot to write
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: FilingHistoryDescriptionSnapshot <yaml file> <snapshot file>");
+        }
+        final File yamlFile = new File(args[0]);
+        // Loaded, and so normalised, exactly as the service loads the YAML, so the snapshot gives the same set.
+        final Map<String, String> descriptions =
+                FilingHistoryDescriptionProviderService.loadFilingHistoryDescriptionsFromFile(yamlFile);
+        if (descriptions == null) {
+            // Reported by the loader; the service will parse the YAML at startup instead.
+            return;
+        }
+        final File snapshotFile = new File(args[1]);
+        final File snapshotDirectory = snapshotFile.getAbsoluteFile().getParentFile();
+        if (snapshotDirectory != null) {
+            Files.createDirectories(snapshotDirectory.toPath());
+        }
+        write(descriptions, checksum(yamlFile), snapshotFile);
+    }
+
+    /**
+     * @param yamlFile the YAML enumerations file
+     * @return the file the snapshot of the YAML file provided is expected in, alongside it
+     */
+    public static File snapshotFileFor(final File yamlFile) {
+        final String name = yamlFile.getName();
+        final int extension = name.lastIndexOf('.');
+        final String baseName = extension == -1 ? name : name.substring(0, extension);
+        return new File(yamlFile.getAbsoluteFile().getParentFile(), baseName + SNAPSHOT_EXTENSION);
+    }
+
+    static void write(final Map<String, String> descriptions, final long yamlChecksum, final File snapshotFile)
+            throws IOException {
+        try (OutputStream fileStream = Files.newOutputStream(snapshotFile.toPath());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(yamlChecksum);
+            out.writeInt(descriptions.size());
+            for (Map.Entry<String, String> entry : descriptions.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads the snapshot of the YAML enumerations file provided, if there is a current one.
+     * @param yamlFile the YAML enumerations file the snapshot must have been compiled from
+     * @return the filing history descriptions, or <code>null</code> if the snapshot is missing, stale or unreadable
+     */
+    public static Map<String, String> read(final File yamlFile) {
+        final File snapshotFile = snapshotFileFor(yamlFile);
+        if (!snapshotFile.exists() || !yamlFile.exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logIgnored(snapshotFile, "Filing history descriptions snapshot format not recognised");
+                return null;
+            }
+            if (buffer.getLong() != checksum(yamlFile)) {
+                logIgnored(snapshotFile, "Filing history descriptions snapshot is stale");
+                return null;
+            }
+            final int count = buffer.getInt();
+            final Map<String, String> descriptions = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                descriptions.put(readString(buffer), readString(buffer));
+            }
+            return descriptions;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException exception) {
+            logIgnored(snapshotFile, "Filing history descriptions snapshot could not be read: " + exception);
+            return null;
+        }
+    }
+
+    static long checksum(final File yamlFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(yamlFile.toPath(), StandardOpenOption.READ)) {
+            final CRC32 crc = new CRC32();
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return crc.getValue();
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final MappedByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void logIgnored(final File snapshotFile, final String message) {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(LOG_MESSAGE_FILE_KEY, snapshotFile.getAbsolutePath());
+        LoggingUtils.getLogger().info(message + ", falling back to YAML", logMap);
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A filing history description parsed once into its literal segments and its <code>{key}</code> placeholder slots,
+ * with asterisks already removed, so that it can be rendered in a single linear pass.
+ */
+public final class FilingHistoryDescriptionTemplate {
+
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    private final String text;
+    private final String[] literals;
+    private final String[] keys;
+    private final boolean[] dateSlots;
+    private final int estimatedLength;
+
+    private FilingHistoryDescriptionTemplate(final String text, final List<String> literals, final List<String> keys) {
+        this.text = text;
+        this.literals = literals.toArray(new String[0]);
+        this.keys = keys.toArray(new String[0]);
+        this.dateSlots = new boolean[this.keys.length];
+        for (int i = 0; i < this.keys.length; i++) {
+            dateSlots[i] = this.keys[i].contains("date");
+        }
+        this.estimatedLength = text.length() + this.keys.length * ESTIMATED_VALUE_LENGTH;
+    }
+
+    /**
+     * Parses the description provided.
+     * @param description the description as it appears in the filing history enumerations
+     * @return the compiled template
+     */
+    public static FilingHistoryDescriptionTemplate compile(final String description) {
+        final String text = description.replace("*", "");
+        final List<String> literals = new ArrayList<>();
+        final List<String> keys = new ArrayList<>();
+        int literalStart = 0;
+        int open = text.indexOf('{');
+        while (open != -1) {
+            final int close = text.indexOf('}', open + 1);
+            if (close == -1) {
+                break;
+            }
+            // A placeholder is the innermost braces, so "{a {b}" holds literal "{a " and placeholder "b".
+            open = text.lastIndexOf('{', close);
+            literals.add(text.substring(literalStart, open));
+            keys.add(text.substring(open + 1, close));
+            literalStart = close + 1;
+            open = text.indexOf('{', literalStart);
+        }
+        literals.add(text.substring(literalStart));
+        return new FilingHistoryDescriptionTemplate(text, literals, keys);
+    }
+
+    /**
+     * @return the description with asterisks removed and its placeholders left in place
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Renders the description, replacing each placeholder with the String value of the same key. Values of keys
+     * containing "date" are reformatted for display. Placeholders with no String value are left in place.
+     * @param values the filing history description values
+     * @return the rendered description
+     */
+    public String render(final Map<String, Object> values) {
+        if (keys.length == 0) {
+            return text;
+        }
+        final StringBuilder sb = new StringBuilder(estimatedLength);
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(literals[i]);
+            final Object value = values.get(keys[i]);
+            if (value instanceof String stringValue) {
+                sb.append(dateSlots[i]
+                        ? FilingHistoryDescriptionProviderService.reformatActionDate(stringValue) : stringValue);
+            } else {
+                sb.append('{').append(keys[i]).append('}');
+            }
+        }
+        return sb.append(literals[keys.length]).toString();
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.DispatchSloConfig;
+
+/**
+ * Records the time taken to dispatch each order against the latency service level objective of its
+ * {@link OrderPriority}, so that same day (express) orders delayed behind standard ones show up as breaches.
+ * <p>
+ * Orders are dispatched in the order they are consumed, whatever their priority: express orders have no consumption
+ * path of their own, so reserving dispatch threads for them would not let them overtake the standard orders ahead of
+ * them in a partition.
+ */
+@Component
+public class OrderDispatchMetrics {
+
+    static final String DISPATCH_TIMER = "item.handler.order.dispatch";
+    static final String SLO_BREACH_COUNTER = "item.handler.order.dispatch.slo.breaches";
+    static final String PRIORITY_TAG = "priority";
+
+    private final Map<OrderPriority, PriorityMeters> meters = new EnumMap<>(OrderPriority.class);
+
+    public OrderDispatchMetrics(final DispatchSloConfig config, final MeterRegistry meterRegistry) {
+        meters.put(OrderPriority.EXPRESS,
+                new PriorityMeters(OrderPriority.EXPRESS, config.getExpressLatency(), meterRegistry));
+        meters.put(OrderPriority.STANDARD,
+                new PriorityMeters(OrderPriority.STANDARD, config.getStandardLatency(), meterRegistry));
+    }
+
+    /**
+     * Records the time taken to dispatch an order.
+     * @param priority the priority of the order dispatched
+     * @param elapsedNanos the time taken, in nanoseconds
+     */
+    public void record(final OrderPriority priority, final long elapsedNanos) {
+        meters.get(priority).record(elapsedNanos);
+    }
+
+    private static final class PriorityMeters {
+        private final Timer dispatchTimer;
+        private final Counter sloBreaches;
+        private final long sloNanos;
+
+        private PriorityMeters(final OrderPriority priority, final Duration slo, final MeterRegistry meterRegistry) {
+            final String priorityName = priority.name().toLowerCase();
+            this.sloNanos = slo.toNanos();
+            this.dispatchTimer = Timer.builder(DISPATCH_TIMER)
+                    .description("Time taken to dispatch an order")
+                    .tag(PRIORITY_TAG, priorityName)
+                    .serviceLevelObjectives(slo)
+                    .register(meterRegistry);
+            this.sloBreaches = Counter.builder(SLO_BREACH_COUNTER)
+                    .description("Orders dispatched slower than the latency SLO of their priority")
+                    .tag(PRIORITY_TAG, priorityName)
+                    .register(meterRegistry);
+        }
+
+        private void record(final long elapsedNanos) {
+            dispatchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (elapsedNanos > sloNanos) {
+                sloBreaches.increment();
+            }
+        }
+    }
+}
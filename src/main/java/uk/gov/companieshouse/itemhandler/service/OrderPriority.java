@@ -0,0 +1,37 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The priority of an order, which sets the dispatch latency objective it is measured against. Orders containing
+ * same day items are {@link #EXPRESS}, everything else is {@link #STANDARD}.
+ */
+public enum OrderPriority {
+    EXPRESS,
+    STANDARD;
+
+    /** Optional <code>order-received</code> message header carrying the priority of the order. */
+    public static final String ORDER_PRIORITY_HEADER = "order-priority";
+
+    /**
+     * Resolves the priority carried in the {@link #ORDER_PRIORITY_HEADER} header, if any.
+     * @param headerValue the raw header value, which Kafka delivers as a <code>byte[]</code>
+     * @return the priority named by the header, or <code>null</code> if absent or unrecognised
+     */
+    public static OrderPriority fromHeader(final Object headerValue) {
+        final String value;
+        if (headerValue instanceof byte[] bytes) {
+            value = new String(bytes, StandardCharsets.UTF_8);
+        } else if (headerValue instanceof String string) {
+            value = string;
+        } else {
+            return null;
+        }
+        for (OrderPriority priority : values()) {
+            if (priority.name().equalsIgnoreCase(value.trim())) {
+                return priority;
+            }
+        }
+        return null;
+    }
+}
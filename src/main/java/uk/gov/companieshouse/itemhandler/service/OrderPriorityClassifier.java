@@ -0,0 +1,25 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.model.DeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.DeliveryTimescale;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+
+/**
+ * Classifies a fetched order as {@link OrderPriority#EXPRESS} when any of its items is to be delivered
+ * {@link DeliveryTimescale#SAME_DAY}.
+ */
+@Component
+public class OrderPriorityClassifier {
+
+    public OrderPriority classify(final OrderData order) {
+        for (Item item : order.getItems()) {
+            if (item.getItemOptions() instanceof DeliveryItemOptions options
+                    && options.getDeliveryTimescale() == DeliveryTimescale.SAME_DAY) {
+                return OrderPriority.EXPRESS;
+            }
+        }
+        return OrderPriority.STANDARD;
+    }
+}
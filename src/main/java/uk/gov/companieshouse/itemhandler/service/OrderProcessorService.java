@@ -1,18 +1,22 @@
 package uk.gov.companieshouse.itemhandler.service;
 
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_PRIORITY;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_REFERENCE_NUMBER;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_URI;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.SAMPLED_PROCESSING_ORDER;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMap;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.isSampledIn;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.logIfNotNull;
 
 import java.util.Map;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
 import uk.gov.companieshouse.itemhandler.exception.RetryableException;
-import uk.gov.companieshouse.itemhandler.itemsummary.DigitalOrderItemRouter;
-import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemRouter;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderRoutingEngine;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.outbox.OrderOutbox;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 
 /**
  * This service does the following:
@@ -22,20 +26,28 @@ import uk.gov.companieshouse.itemhandler.model.OrderData;
  *     <li>sends a certificate or certified copy order confirmation via the CHS Email Sender OR</li>
  *     <li>sends a MID item message to the CHD Order Consumer</li>
  * </ol>
+ * The time taken to route the order is recorded by {@link OrderDispatchMetrics} against its {@link OrderPriority}.
+ * When the {@link OrderOutbox} is enabled the outputs of the order are written to the outbox rather than sent.
  */
 @Service
 public class OrderProcessorService {
 
     private final OrdersApiClientService ordersApi;
-    private final OrderItemRouter orderItemRouter;
-    private final DigitalOrderItemRouter digitalOrderItemRouter;
+    private final OrderRoutingEngine orderRoutingEngine;
+    private final OrderPriorityClassifier orderPriorityClassifier;
+    private final OrderDispatchMetrics orderDispatchMetrics;
+    private final OrderOutbox orderOutbox;
 
     public OrderProcessorService(final OrdersApiClientService ordersApi,
-                                 final OrderItemRouter orderItemRouter,
-                                 final DigitalOrderItemRouter digitalOrderItemRouter) {
+                                 final OrderRoutingEngine orderRoutingEngine,
+                                 final OrderPriorityClassifier orderPriorityClassifier,
+                                 final OrderDispatchMetrics orderDispatchMetrics,
+                                 final OrderOutbox orderOutbox) {
         this.ordersApi = ordersApi;
-        this.orderItemRouter = orderItemRouter;
-        this.digitalOrderItemRouter = digitalOrderItemRouter;
+        this.orderRoutingEngine = orderRoutingEngine;
+        this.orderPriorityClassifier = orderPriorityClassifier;
+        this.orderDispatchMetrics = orderDispatchMetrics;
+        this.orderOutbox = orderOutbox;
     }
 
     /**
@@ -45,6 +57,18 @@ public class OrderProcessorService {
      * @return OrderProcessStatus of this operation
      */
     public OrderProcessResponse processOrderReceived(final String orderUri) {
+        return processOrderReceived(orderUri, null);
+    }
+
+    /**
+     * Process the notification of an order received.
+     *
+     * @param orderUri the URI representing the order received
+     * @param priority the priority of the order if already known, or <code>null</code> to classify the order
+     *                 once it has been fetched
+     * @return OrderProcessStatus of this operation
+     */
+    public OrderProcessResponse processOrderReceived(final String orderUri, final OrderPriority priority) {
         OrderProcessResponse.Builder responseBuilder = OrderProcessResponse.newBuilder();
         responseBuilder.withOrderUri(orderUri);
 
@@ -52,12 +76,22 @@ public class OrderProcessorService {
         logIfNotNull(logMap, ORDER_URI, orderUri);
         try {
             final OrderData order = ordersApi.getOrderData(orderUri);
+            OrderTracing.setOrderReference(order.getReference());
+
+            final OrderPriority orderPriority = priority != null ? priority : orderPriorityClassifier.classify(order);
 
             logIfNotNull(logMap, ORDER_REFERENCE_NUMBER, order.getReference());
-            getLogger().info("Processing order received", logMap);
-            orderItemRouter.route(order);
-            digitalOrderItemRouter.route(order);
-            responseBuilder.withStatus(OrderProcessResponse.Status.OK);
+            logIfNotNull(logMap, ORDER_PRIORITY, orderPriority);
+            if (isSampledIn(SAMPLED_PROCESSING_ORDER)) {
+                getLogger().info("Processing order received", logMap);
+            }
+            final Routable router = orderOutbox.isEnabled() ? orderOutbox : orderRoutingEngine;
+            final long start = System.nanoTime();
+            try {
+                responseBuilder.withStatus(router.route(order));
+            } finally {
+                orderDispatchMetrics.record(orderPriority, System.nanoTime() - start);
+            }
         } catch (RetryableException exception) {
             String msg = String.format("Service unavailable %s", exception.getMessage());
             getLogger().info(msg, logMap);
@@ -3,6 +3,7 @@ package uk.gov.companieshouse.itemhandler.service;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.APPLICATION_NAMESPACE;
 
 import com.google.api.client.http.HttpStatusCodes;
+import io.opentelemetry.api.trace.SpanKind;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
@@ -10,10 +11,12 @@ import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.handler.order.PrivateOrderResourceHandler;
 import uk.gov.companieshouse.api.model.order.OrdersApi;
 import uk.gov.companieshouse.itemhandler.client.ApiClient;
+import uk.gov.companieshouse.itemhandler.client.OrdersApiStreamingClient;
 import uk.gov.companieshouse.itemhandler.exception.ApiException;
 import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
 import uk.gov.companieshouse.itemhandler.mapper.OrdersApiToOrderDataMapper;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -26,9 +29,13 @@ public class OrdersApiClientService {
 
     private final ApiClient apiClient;
 
-    public OrdersApiClientService(OrdersApiToOrderDataMapper mapper, ApiClient apiClient) {
+    private final OrdersApiStreamingClient ordersApiStreamingClient;
+
+    public OrdersApiClientService(OrdersApiToOrderDataMapper mapper, ApiClient apiClient,
+                                  OrdersApiStreamingClient ordersApiStreamingClient) {
         this.ordersApiToOrderDataMapper = mapper;
         this.apiClient = apiClient;
+        this.ordersApiStreamingClient = ordersApiStreamingClient;
     }
 
     /**
@@ -39,7 +46,19 @@ public class OrdersApiClientService {
      * @throws ApiException if the service is unavailable
      */
     public OrderData getOrderData(String orderUri) {
+        return OrderTracing.inSpan(OrderTracing.SPAN_FETCH_ORDER, SpanKind.CLIENT, null, null, () -> {
+            OrderTracing.setOrderUri(orderUri);
+            final OrderData orderData = fetchOrderData(orderUri);
+            OrderTracing.setOrderReference(orderData != null ? orderData.getReference() : null);
+            return orderData;
+        });
+    }
+
+    private OrderData fetchOrderData(String orderUri) {
         LOGGER.debug(String.format("Order URI %s", orderUri));
+        if (ordersApiStreamingClient.isEnabled()) {
+            return ordersApiStreamingClient.getOrderData(orderUri);
+        }
         InternalApiClient internalApiClient = apiClient.getInternalApiClient();
         PrivateOrderResourceHandler privateOrderResourceHandler = internalApiClient.privateOrderResourceHandler();
 
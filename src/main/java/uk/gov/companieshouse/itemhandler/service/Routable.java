@@ -3,5 +3,5 @@ package uk.gov.companieshouse.itemhandler.service;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
 
 public interface Routable {
-    void route(OrderData order);
+    OrderProcessResponse.Status route(OrderData order);
 }
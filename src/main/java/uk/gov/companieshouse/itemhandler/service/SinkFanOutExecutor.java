@@ -0,0 +1,193 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.getLogMap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Fans the independent sink work for an order (emails, CHD messages and digital item group messages) out across the
+ * routing sink pool, waits for it up to the per-order deadline and combines the outcomes into a single
+ * {@link OrderProcessResponse.Status}:
+ * <ul>
+ *     <li>any {@link NonRetryableException} makes the order a {@link OrderProcessResponse.Status#SERVICE_ERROR}</li>
+ *     <li>otherwise any {@link RetryableException}, or sink still running at the deadline, makes the order a
+ *     {@link OrderProcessResponse.Status#SERVICE_UNAVAILABLE}</li>
+ *     <li>otherwise the order is {@link OrderProcessResponse.Status#OK}</li>
+ * </ul>
+ * Any other exception is rethrown once every sink has settled, as it would have propagated before.
+ * <p>
+ * Sinks still running at the deadline are interrupted, and are waited for up to the sink stop timeout before the
+ * order is reported, so that a sink does not go on sending for an order that is already being retried. Sinks not
+ * yet started are never run.
+ */
+@Component
+public class SinkFanOutExecutor {
+
+    private final Executor routingSinkExecutor;
+    private final Duration orderDeadline;
+    private final Duration sinkStopTimeout;
+    private final Logger logger;
+
+    public SinkFanOutExecutor(@Qualifier("routingSinkExecutor") Executor routingSinkExecutor,
+                              @Value("${routing.orderDeadline:2m}") Duration orderDeadline,
+                              @Value("${routing.sinkStopTimeout:10s}") Duration sinkStopTimeout,
+                              Logger logger) {
+        this.routingSinkExecutor = routingSinkExecutor;
+        this.orderDeadline = orderDeadline;
+        this.sinkStopTimeout = sinkStopTimeout;
+        this.logger = logger;
+    }
+
+    /**
+     * Runs the sinks provided concurrently, blocking until they have all completed, or until the deadline has
+     * passed and those still running have stopped.
+     * @param orderReference the reference of the order the sinks belong to
+     * @param sinks the independent sink work for the order
+     * @return the combined status of the sinks
+     */
+    public OrderProcessResponse.Status fanOut(final String orderReference, final List<Runnable> sinks) {
+        final List<SinkTask> tasks = new ArrayList<>(sinks.size());
+        sinks.forEach(sink -> {
+            final SinkTask task = new SinkTask(sink);
+            tasks.add(task);
+            routingSinkExecutor.execute(task);
+        });
+        try {
+            awaitAll(tasks, orderDeadline);
+        } catch (TimeoutException exception) {
+            logger.error(String.format("Order %s exceeded its routing deadline of %s", orderReference, orderDeadline),
+                    getLogMap(orderReference));
+            stop(orderReference, tasks);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            logger.error(String.format("Interrupted routing order %s", orderReference), getLogMap(orderReference));
+            tasks.forEach(task -> task.cancel(true));
+        }
+        return combine(orderReference, tasks);
+    }
+
+    private static void awaitAll(final List<SinkTask> tasks, final Duration timeout)
+            throws TimeoutException, InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        for (SinkTask task : tasks) {
+            try {
+                task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException exception) {
+                // Individual sink failures are combined once every sink has settled.
+            }
+        }
+    }
+
+    private void stop(final String orderReference, final List<SinkTask> tasks) {
+        tasks.forEach(task -> task.cancel(true));
+        final long deadline = System.nanoTime() + sinkStopTimeout.toNanos();
+        try {
+            for (SinkTask task : tasks) {
+                if (!task.awaitStopped(deadline - System.nanoTime())) {
+                    logger.error(String.format("Sink for order %s still running %s after being interrupted",
+                            orderReference, sinkStopTimeout), getLogMap(orderReference));
+                    return;
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderProcessResponse.Status combine(final String orderReference, final List<SinkTask> tasks) {
+        OrderProcessResponse.Status combined = OrderProcessResponse.Status.OK;
+        RuntimeException unclassified = null;
+        for (SinkTask task : tasks) {
+            if (!task.isDone() || task.isCancelled()) {
+                combined = mostSevere(combined, OrderProcessResponse.Status.SERVICE_UNAVAILABLE);
+                continue;
+            }
+            final Throwable cause = causeOf(task);
+            if (cause == null) {
+                continue;
+            }
+            if (cause instanceof NonRetryableException) {
+                logger.info(String.format("Service error %s", cause.getMessage()), getLogMap(orderReference));
+                combined = mostSevere(combined, OrderProcessResponse.Status.SERVICE_ERROR);
+            } else if (cause instanceof RetryableException) {
+                logger.info(String.format("Service unavailable %s", cause.getMessage()), getLogMap(orderReference));
+                combined = mostSevere(combined, OrderProcessResponse.Status.SERVICE_UNAVAILABLE);
+            } else if (cause instanceof Error error) {
+                throw error;
+            } else if (unclassified == null) {
+                unclassified = cause instanceof RuntimeException runtimeException
+                        ? runtimeException : new CompletionException(cause);
+            }
+        }
+        if (unclassified != null) {
+            throw unclassified;
+        }
+        return combined;
+    }
+
+    private static Throwable causeOf(final SinkTask task) {
+        try {
+            task.get();
+            return null;
+        } catch (ExecutionException exception) {
+            return exception.getCause();
+        } catch (InterruptedException exception) {
+            // Not thrown by a task that is done.
+            Thread.currentThread().interrupt();
+            return exception;
+        }
+    }
+
+    /**
+     * Statuses are declared in increasing order of severity.
+     */
+    private static OrderProcessResponse.Status mostSevere(final OrderProcessResponse.Status first,
+                                                          final OrderProcessResponse.Status second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    /**
+     * A sink that can be interrupted by cancelling it, and whose thread can be waited for once it has been. A
+     * cancelled {@link FutureTask} reports itself done at once, whether or not its sink is still running.
+     */
+    private static final class SinkTask extends FutureTask<Void> {
+
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile boolean started;
+
+        private SinkTask(final Runnable sink) {
+            super(sink, null);
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            try {
+                super.run();
+            } finally {
+                stopped.countDown();
+            }
+        }
+
+        private boolean awaitStopped(final long timeoutNanos) throws InterruptedException {
+            // A sink cancelled before it started never runs, so there is nothing to wait for.
+            return !started || stopped.await(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package uk.gov.companieshouse.itemhandler.streams;
+
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_URI;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.RETRY_ATTEMPT;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.createLogMap;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.isSampledOrder;
+import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.logIfNotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import uk.gov.companieshouse.itemhandler.config.ResponseHandlerConfig;
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessorService;
+import uk.gov.companieshouse.itemhandler.tracing.OrderTracing;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Processes each order received, keyed by its URI, through the {@link OrderProcessorService}, as the listeners do,
+ * recording the time each order is completed in the order progress store. An order already in the store, because it
+ * was published again after it was completed, is skipped. An order the service is unavailable for is forwarded, with
+ * its next attempt, to be published to the retry topic, or once its retries are exhausted with its attempt reset, to
+ * the error topic. Completed orders are removed from the store once the retention has passed.
+ * <p>
+ * The store entry is committed with the offset of the record, so an order interrupted before its transaction commits
+ * is not in the store and is processed again in full, its emails and messages included, as it would be by the
+ * listeners.
+ */
+class OrderStreamsProcessor implements Processor<String, OrderReceived, String, OrderReceived> {
+
+    private final OrderProcessorService orderProcessorService;
+    private final ResponseHandlerConfig responseHandlerConfig;
+    private final Duration completedOrderRetention;
+    private final Logger logger;
+    private ProcessorContext<String, OrderReceived> context;
+    private KeyValueStore<String, Long> orderProgress;
+
+    OrderStreamsProcessor(final OrderProcessorService orderProcessorService,
+                          final ResponseHandlerConfig responseHandlerConfig,
+                          final Duration completedOrderRetention,
+                          final Logger logger) {
+        this.orderProcessorService = orderProcessorService;
+        this.responseHandlerConfig = responseHandlerConfig;
+        this.completedOrderRetention = completedOrderRetention;
+        this.logger = logger;
+    }
+
+    @Override
+    public void init(final ProcessorContext<String, OrderReceived> context) {
+        this.context = context;
+        this.orderProgress = context.getStateStore(OrderStreamsTopology.ORDER_PROGRESS_STORE);
+        context.schedule(completedOrderRetention.dividedBy(24), PunctuationType.WALL_CLOCK_TIME,
+                this::purgeCompletedOrders);
+    }
+
+    @Override
+    public void process(final Record<String, OrderReceived> orderRecord) {
+        final OrderReceived payload = orderRecord.value();
+        if (payload == null) {
+            // A tombstone; a record that cannot be deserialised is dead-lettered before it reaches the processor.
+            return;
+        }
+        final String orderUri = payload.getOrderUri();
+        final Map<String, Object> logMap = createLogMap();
+        logIfNotNull(logMap, ORDER_URI, orderUri);
+        logIfNotNull(logMap, RETRY_ATTEMPT, payload.getAttempt());
+        if (orderProgress.get(orderUri) != null) {
+            logger.info("Skipping 'order-received' record for an order already completed", logMap);
+            return;
+        }
+
+        final Header priority = orderRecord.headers().lastHeader(OrderPriority.ORDER_PRIORITY_HEADER);
+        final OrderProcessResponse response = OrderTracing.withOrderSampled(
+                isSampledOrder(orderUri, payload.getAttempt() > 0),
+                () -> orderProcessorService.processOrderReceived(orderUri,
+                        OrderPriority.fromHeader(priority != null ? priority.value() : null)));
+
+        switch (response.getStatus()) {
+            case OK -> orderProgress.put(orderUri, context.currentSystemTimeMs());
+            case SERVICE_UNAVAILABLE -> forwardForRetry(orderRecord, payload, logMap);
+            case SERVICE_ERROR -> logger.error(
+                    "order-received record processing failed with a non-recoverable exception", logMap);
+        }
+    }
+
+    private void forwardForRetry(final Record<String, OrderReceived> orderRecord,
+                                 final OrderReceived payload,
+                                 final Map<String, Object> logMap) {
+        if (payload.getAttempt() < responseHandlerConfig.getMaximumRetryAttempts()) {
+            payload.setAttempt(payload.getAttempt() + 1);
+            logger.info("publish order received to retry topic", logMap);
+            context.forward(orderRecord);
+        } else {
+            payload.setAttempt(0);
+            logger.info("publish order received to error topic", logMap);
+            context.forward(orderRecord);
+        }
+    }
+
+    private void purgeCompletedOrders(final long now) {
+        final long cutOff = now - completedOrderRetention.toMillis();
+        final List<String> expired = new ArrayList<>();
+        try (KeyValueIterator<String, Long> orders = orderProgress.all()) {
+            while (orders.hasNext()) {
+                final KeyValue<String, Long> order = orders.next();
+                if (order.value < cutOff) {
+                    expired.add(order.key);
+                }
+            }
+        }
+        expired.forEach(orderProgress::delete);
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.companieshouse.itemhandler.streams;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.kafka.KafkaStreamsMetrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.StreamsUncaughtExceptionHandler.StreamThreadExceptionResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.streams.RecoveringDeserializationExceptionHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import uk.gov.companieshouse.itemhandler.config.OrderStreamsConfig;
+import uk.gov.companieshouse.itemhandler.config.ReplayConfig;
+import uk.gov.companieshouse.itemhandler.kafka.PoisonPillRecoverer;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Runs the {@link OrderStreamsTopology} as an alternative to the order listeners, which are not started when it is
+ * enabled. It is not started in replay mode. Processing is exactly once (v2) for what Kafka Streams itself writes: the
+ * offsets consumed, the order progress store and the records forwarded to the retry and error topics are committed in
+ * a single transaction. The emails sent and messages produced while routing an order are not part of that
+ * transaction. They are sent at least once, as by the listeners: an order interrupted before its transaction commits
+ * is routed again. The store only keeps an order completed and committed from being routed again should it be
+ * published again.
+ * <p>
+ * An order may block its stream thread for as long as the routing deadline, so the transaction timeout and the
+ * maximum poll interval are set well above it, lest a slow order fence the producer or have the task migrated and the
+ * order routed again. The store is kept on standby replicas so that a failed instance's partitions are taken over
+ * without replaying their changelog.
+ */
+@Component
+public class OrderStreamsRuntime implements SmartLifecycle {
+
+    private static final Duration BLOCKING_MARGIN = Duration.ofSeconds(30);
+
+    private final OrderStreamsConfig config;
+    private final ReplayConfig replayConfig;
+    private final OrderStreamsTopology topology;
+    private final PoisonPillRecoverer poisonPillRecoverer;
+    private final MeterRegistry meterRegistry;
+    private final String bootstrapServers;
+    private final Duration orderDeadline;
+    private final Logger logger;
+    private KafkaStreams kafkaStreams;
+    private KafkaStreamsMetrics kafkaStreamsMetrics;
+    private volatile boolean running;
+
+    public OrderStreamsRuntime(final OrderStreamsConfig config,
+                               final ReplayConfig replayConfig,
+                               final OrderStreamsTopology topology,
+                               final PoisonPillRecoverer poisonPillRecoverer,
+                               final MeterRegistry meterRegistry,
+                               @Value("${spring.kafka.bootstrap-servers}") final String bootstrapServers,
+                               @Value("${routing.orderDeadline:2m}") final Duration orderDeadline,
+                               final Logger logger) {
+        this.config = config;
+        this.replayConfig = replayConfig;
+        this.topology = topology;
+        this.poisonPillRecoverer = poisonPillRecoverer;
+        this.meterRegistry = meterRegistry;
+        this.bootstrapServers = bootstrapServers;
+        this.orderDeadline = orderDeadline;
+        this.logger = logger;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (config.isEnabled() && !replayConfig.isEnabled()) {
+            kafkaStreams = new KafkaStreams(topology.build(), streamsProperties());
+            kafkaStreams.setStateListener((newState, oldState) -> {
+                final Map<String, Object> logMap = new HashMap<>();
+                logMap.put("old_state", oldState.name());
+                logMap.put("new_state", newState.name());
+                logger.info("Order streams state changed", logMap);
+            });
+            kafkaStreams.setUncaughtExceptionHandler(exception -> {
+                logger.error("Order streams thread failed, replacing it", exception instanceof Exception e ? e
+                        : new IllegalStateException(exception));
+                return StreamThreadExceptionResponse.REPLACE_THREAD;
+            });
+            kafkaStreamsMetrics = new KafkaStreamsMetrics(kafkaStreams);
+            kafkaStreamsMetrics.bindTo(meterRegistry);
+            kafkaStreams.start();
+        }
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        try {
+            if (kafkaStreams != null) {
+                kafkaStreams.close(config.getCloseTimeout());
+                kafkaStreamsMetrics.close();
+                kafkaStreams = null;
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started and stopped alongside the listener containers, so after the warm-up and after the drain.
+     */
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+
+    Properties streamsProperties() {
+        final Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, config.getApplicationId());
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        properties.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, config.getNumStreamThreads());
+        properties.put(StreamsConfig.NUM_STANDBY_REPLICAS_CONFIG, config.getNumStandbyReplicas());
+        // The Streams default is the earliest offset, which would route every order still on the topics again.
+        properties.put(StreamsConfig.consumerPrefix(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG), "latest");
+        // Streams polls again once half the poll interval has passed, so an order started just before then must
+        // still complete within it. The transaction spans at most that order and the commit that follows it.
+        final int blockingTimeout = (int) orderDeadline.multipliedBy(2).plus(BLOCKING_MARGIN).toMillis();
+        properties.put(StreamsConfig.consumerPrefix(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG), blockingTimeout);
+        properties.put(StreamsConfig.producerPrefix(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG), blockingTimeout);
+        // A record that cannot be deserialised is dead-lettered, as by the listeners, rather than stopping its thread.
+        properties.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+                RecoveringDeserializationExceptionHandler.class);
+        properties.put(RecoveringDeserializationExceptionHandler.KSTREAM_DESERIALIZATION_RECOVERER,
+                (ConsumerRecordRecoverer) poisonPillRecoverer::deadLetterRaw);
+        if (StringUtils.hasText(config.getStateDir())) {
+            properties.put(StreamsConfig.STATE_DIR_CONFIG, config.getStateDir());
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,85 @@
+package uk.gov.companieshouse.itemhandler.streams;
+
+import java.util.List;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.kstream.Branched;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Named;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.state.Stores;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.itemhandler.config.OrderStreamsConfig;
+import uk.gov.companieshouse.itemhandler.config.ResponseHandlerConfig;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedDeserialiser;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedSerialiser;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessorService;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * The topology of the Kafka Streams runtime: orders are received from both the <code>order-received</code> and the
+ * <code>order-received-retry</code> topics, re-keyed by order URI and repartitioned, processed by the
+ * {@link OrderStreamsProcessor} against the order progress store, and forwarded to the retry or error topic should the
+ * service be unavailable.
+ * <p>
+ * The orders received are not keyed by order URI, so an order published more than once may be on any partition of
+ * either topic. Repartitioning by order URI brings every record of an order to the same task, and so to the same
+ * order progress store.
+ */
+@Component
+public class OrderStreamsTopology {
+
+    static final String ORDER_PROGRESS_STORE = "order-progress";
+    static final String SOURCE = "order-received-source";
+    static final String BY_ORDER_URI = "order-received-by-order-uri";
+    static final String PROCESSOR = "order-processor";
+    static final String RETRY_SINK = "order-received-retry-sink";
+    static final String ERROR_SINK = "order-received-error-sink";
+
+    private final OrderProcessorService orderProcessorService;
+    private final ResponseHandlerConfig responseHandlerConfig;
+    private final OrderStreamsConfig config;
+    private final String orderReceivedTopic;
+    private final Logger logger;
+
+    public OrderStreamsTopology(final OrderProcessorService orderProcessorService,
+                                final ResponseHandlerConfig responseHandlerConfig,
+                                final OrderStreamsConfig config,
+                                @Value("${kafka.topics.order-received}") final String orderReceivedTopic,
+                                final Logger logger) {
+        this.orderProcessorService = orderProcessorService;
+        this.responseHandlerConfig = responseHandlerConfig;
+        this.config = config;
+        this.orderReceivedTopic = orderReceivedTopic;
+        this.logger = logger;
+    }
+
+    public Topology build() {
+        final Serde<OrderReceived> orderReceivedSerde =
+                Serdes.serdeFrom(new OrderReceivedSerialiser(), new OrderReceivedDeserialiser());
+        final StreamsBuilder builder = new StreamsBuilder();
+        // Changelogged, so that a standby replica can take over the store without restoring it.
+        builder.addStateStore(Stores.keyValueStoreBuilder(Stores.persistentKeyValueStore(ORDER_PROGRESS_STORE),
+                Serdes.String(), Serdes.Long()));
+        builder.stream(List.of(orderReceivedTopic, responseHandlerConfig.getRetryTopic()),
+                        Consumed.with(Serdes.String(), orderReceivedSerde).withName(SOURCE))
+                .filter((key, order) -> order != null && order.getOrderUri() != null)
+                .selectKey((key, order) -> order.getOrderUri())
+                .repartition(Repartitioned.with(Serdes.String(), orderReceivedSerde).withName(BY_ORDER_URI))
+                .process(() -> new OrderStreamsProcessor(orderProcessorService, responseHandlerConfig,
+                        config.getCompletedOrderRetention(), logger), Named.as(PROCESSOR), ORDER_PROGRESS_STORE)
+                // The processor forwards only the orders to be retried, with their next attempt, or given up on.
+                .split()
+                .branch((orderUri, order) -> order.getAttempt() > 0, Branched.withConsumer(retries -> retries.to(
+                        responseHandlerConfig.getRetryTopic(),
+                        Produced.with(Serdes.String(), orderReceivedSerde).withName(RETRY_SINK))))
+                .defaultBranch(Branched.withConsumer(errors -> errors.to(responseHandlerConfig.getErrorTopic(),
+                        Produced.with(Serdes.String(), orderReceivedSerde).withName(ERROR_SINK))));
+        return builder.build();
+    }
+}
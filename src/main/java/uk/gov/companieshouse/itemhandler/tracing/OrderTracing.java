@@ -0,0 +1,197 @@
+package uk.gov.companieshouse.itemhandler.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Traces the stages an order passes through (consume, order fetch, routing, each email, each CHD item message and
+ * each item group message) as spans carrying the order reference and item IDs, and propagates the trace context of
+ * the current span to the services the order is passed on to. Until {@link OrderTracingInstaller} installs the
+ * application's {@link OpenTelemetry}, spans are not recorded and nothing is propagated, but the traced work is
+ * still run.
+ * <p>
+ * The context also carries whether the order is one whose high volume log messages are all written, decided once
+ * when the order is received, so that every stage (and every sink thread the context is passed to) agrees.
+ */
+public final class OrderTracing {
+
+    public static final String INSTRUMENTATION_SCOPE = "uk.gov.companieshouse.item-handler";
+
+    public static final String SPAN_CONSUME_ORDER_RECEIVED = "order-received process";
+    public static final String SPAN_FETCH_ORDER = "orders-api get order";
+    public static final String SPAN_ROUTE_ORDER = "route order";
+    public static final String SPAN_SEND_EMAIL = "send confirmation email";
+    public static final String SPAN_SEND_CHD_ITEM = "chd-item-ordered send";
+    public static final String SPAN_SEND_ITEM_GROUP = "item-group-ordered send";
+
+    public static final AttributeKey<String> ORDER_URI = AttributeKey.stringKey("order.uri");
+    public static final AttributeKey<String> ORDER_REFERENCE = AttributeKey.stringKey("order.reference");
+    public static final AttributeKey<List<String>> ITEM_IDS = AttributeKey.stringArrayKey("order.item_ids");
+
+    static final String TRACE_PARENT = "traceparent";
+
+    private static final ContextKey<Boolean> ORDER_SAMPLED = ContextKey.named("item-handler-order-sampled");
+
+    private static final TextMapSetter<Headers> KAFKA_HEADERS = (headers, key, value) -> {
+        if (headers != null) {
+            // The Kafka client instrumentation may already have added the same header.
+            headers.remove(key);
+            headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    private static final TextMapSetter<Map<String, String>> MAP = (map, key, value) -> {
+        if (map != null) {
+            map.put(key, value);
+        }
+    };
+
+    private static volatile Tracer tracer = OpenTelemetry.noop().getTracer(INSTRUMENTATION_SCOPE);
+    private static volatile TextMapPropagator propagator = TextMapPropagator.noop();
+
+    private OrderTracing() {
+    }
+
+    static void install(final OpenTelemetry openTelemetry) {
+        tracer = openTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+        propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    static void reset() {
+        install(OpenTelemetry.noop());
+    }
+
+    /**
+     * Runs the work provided within a new span, a child of the current span, ending the span once it completes.
+     * Any exception thrown by the work is recorded on the span, marking it as failed, and rethrown.
+     * @param name the span name
+     * @param kind the span kind
+     * @param orderReference the reference of the order the work is for, if known
+     * @param itemIds the IDs of the items the work is for, if any
+     * @param work the work to be traced
+     * @return the result of the work
+     */
+    public static <T> T inSpan(final String name,
+                               final SpanKind kind,
+                               final String orderReference,
+                               final List<String> itemIds,
+                               final Supplier<T> work) {
+        final SpanBuilder builder = tracer.spanBuilder(name).setSpanKind(kind);
+        if (orderReference != null) {
+            builder.setAttribute(ORDER_REFERENCE, orderReference);
+        }
+        if (itemIds != null && !itemIds.isEmpty()) {
+            builder.setAttribute(ITEM_IDS, itemIds.stream().filter(Objects::nonNull).toList());
+        }
+        final Span span = builder.startSpan();
+        try (Scope scope = span.makeCurrent()) {
+            return work.get();
+        } catch (RuntimeException | Error exception) {
+            span.recordException(exception);
+            span.setStatus(StatusCode.ERROR, exception.getMessage() != null ? exception.getMessage() : "");
+            throw exception;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Runs the work provided within a new span, as {@link #inSpan(String, SpanKind, String, List, Supplier)} does.
+     */
+    public static void inSpan(final String name,
+                              final SpanKind kind,
+                              final String orderReference,
+                              final List<String> itemIds,
+                              final Runnable work) {
+        inSpan(name, kind, orderReference, itemIds, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work provided with the sampling decision for the order it is for made current.
+     * @param sampled whether every high volume log message about the order is to be written
+     * @param work the work for the order
+     * @return the result of the work
+     */
+    public static <T> T withOrderSampled(final boolean sampled, final Supplier<T> work) {
+        try (Scope scope = Context.current().with(ORDER_SAMPLED, sampled).makeCurrent()) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Runs the work provided with the sampling decision for the order it is for made current, as
+     * {@link #withOrderSampled(boolean, Supplier)} does.
+     */
+    public static void withOrderSampled(final boolean sampled, final Runnable work) {
+        withOrderSampled(sampled, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return whether every high volume log message about the current order is to be written, <code>false</code>
+     * where no decision has been made for it
+     */
+    public static boolean isOrderSampled() {
+        return Boolean.TRUE.equals(Context.current().get(ORDER_SAMPLED));
+    }
+
+    /**
+     * Records the URI of the order being processed on the current span.
+     * @param orderUri the order URI
+     */
+    public static void setOrderUri(final String orderUri) {
+        if (orderUri != null) {
+            Span.current().setAttribute(ORDER_URI, orderUri);
+        }
+    }
+
+    /**
+     * Records the reference of the order being processed on the current span, once it is known.
+     * @param orderReference the order reference
+     */
+    public static void setOrderReference(final String orderReference) {
+        if (orderReference != null) {
+            Span.current().setAttribute(ORDER_REFERENCE, orderReference);
+        }
+    }
+
+    /**
+     * Propagates the trace context of the current span into the outbound Kafka record headers provided.
+     * @param headers the headers of the record to be produced
+     */
+    public static void inject(final Headers headers) {
+        propagator.inject(Context.current(), headers, KAFKA_HEADERS);
+    }
+
+    /**
+     * @return the W3C <code>traceparent</code> of the current span, or <code>null</code> where there is no span
+     * being recorded to propagate
+     */
+    public static String traceParent() {
+        final Map<String, String> carrier = new HashMap<>(4);
+        propagator.inject(Context.current(), carrier, MAP);
+        return carrier.get(TRACE_PARENT);
+    }
+}
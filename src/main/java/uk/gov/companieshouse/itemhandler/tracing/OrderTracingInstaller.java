@@ -0,0 +1,31 @@
+package uk.gov.companieshouse.itemhandler.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs the {@link OpenTelemetry} configured by the OpenTelemetry Spring Boot starter into {@link OrderTracing},
+ * so that order spans are exported and trace context propagated as that configuration dictates.
+ */
+@Component
+public class OrderTracingInstaller implements InitializingBean, DisposableBean {
+
+    private final ObjectProvider<OpenTelemetry> openTelemetry;
+
+    public OrderTracingInstaller(final ObjectProvider<OpenTelemetry> openTelemetry) {
+        this.openTelemetry = openTelemetry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        openTelemetry.ifAvailable(OrderTracing::install);
+    }
+
+    @Override
+    public void destroy() {
+        OrderTracing.reset();
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.itemhandler.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe Bloom filter of strings, sized for an expected number of insertions at a target false positive rate.
+ * A string never put is reported as possibly contained at no more than that rate; a string put is always reported as
+ * possibly contained. Nothing can be removed, so a filter is replaced rather than cleared once it is full.
+ */
+public class BloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        final long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        this.words = new AtomicLongArray(Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN_2));
+    }
+
+    public void put(final String value) {
+        final long hash = hash(value);
+        final long first = hash >>> 32;
+        final long second = hash & 0xFFFFFFFFL;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(first + i * second, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                // Another bit of the same word was set concurrently; try again.
+            }
+        }
+    }
+
+    /**
+     * @param value the string
+     * @return <code>false</code> if the string has certainly never been put, <code>true</code> if it may have been
+     */
+    public boolean mightContain(final String value) {
+        final long hash = hash(value);
+        final long first = hash >>> 32;
+        final long second = hash & 0xFFFFFFFFL;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(first + i * second, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    /** 64 bit FNV-1a over the UTF-8 bytes of the value, finalised with the MurmurHash3 mix to spread both halves. */
+    private static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
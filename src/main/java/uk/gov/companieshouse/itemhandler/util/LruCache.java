@@ -0,0 +1,106 @@
+package uk.gov.companieshouse.itemhandler.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache holding at most a fixed number of entries, evicting the least recently used entry to make room
+ * for a new one. Hits and misses are counted so that the effectiveness of the cache can be reported.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LruCache(final int maximumSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for the key provided, loading and caching it on a miss. The value is loaded outside
+     * of the cache lock, so concurrent misses for the same key may each load it.
+     * @param key the key, which must not be modified once cached
+     * @param loader loads the value for the key on a miss
+     * @return the cached or loaded value
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> loader) {
+        synchronized (entries) {
+            final V cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        final V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (entries) {
+                entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @param key the key
+     * @return the value cached for the key provided, or <code>null</code> on a miss
+     */
+    public V get(final K key) {
+        final V cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    public void put(final K key, final V value) {
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Empties the cache and zeroes its hit and miss counts, so that lookups made before it was put to real use are
+     * not reported.
+     */
+    public void reset() {
+        synchronized (entries) {
+            entries.clear();
+            hits.reset();
+            misses.reset();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,192 @@
+package uk.gov.companieshouse.itemhandler.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.model.order.OrdersApi;
+import uk.gov.companieshouse.email.EmailSend;
+import uk.gov.companieshouse.itemhandler.config.WarmUpConfig;
+import uk.gov.companieshouse.itemhandler.itemsummary.DeliverableItemGroup;
+import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemPair;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderRoutingEngine;
+import uk.gov.companieshouse.itemhandler.itemsummary.RoutingPlan;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedAvroSerializer;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedFactory;
+import uk.gov.companieshouse.itemhandler.kafka.ItemMessageFactory;
+import uk.gov.companieshouse.itemhandler.kafka.MessageSerialiserFactory;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedDeserialiser;
+import uk.gov.companieshouse.itemhandler.mapper.OrdersApiToOrderDataMapper;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.service.EmailService;
+import uk.gov.companieshouse.itemhandler.service.FilingHistoryDescriptionProviderService;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Warms up the handling of orders before the listener containers start, so that the first orders consumed after a
+ * deploy are not handled by interpreted code. The {@link WarmUpOrders} are repeatedly mapped from their Orders API
+ * form, classified by the routing engine, mapped to their confirmation emails and serialised into each of the
+ * messages the application produces and consumes. Nothing is sent: the sinks of the routing plan are never invoked.
+ * The filing history caches the warm-up orders pass through are emptied, and their statistics zeroed, once the
+ * warm-up is over, so that they only ever hold and report real orders.
+ * <p>
+ * The warm-up runs as this lifecycle starts, before the listener containers and before the application is ready, so
+ * that readiness is only reported once it is complete. It stops at its iterations or its timeout, whichever comes
+ * first, and a failure abandons the warm-up rather than the start of the application.
+ */
+@Component
+public class OrderWarmUp implements SmartLifecycle {
+
+    static final String WARM_UP_TIMER = "item.handler.warm.up";
+
+    private static final String WARM_UP_TOPIC = "warm-up";
+
+    private final WarmUpConfig config;
+    private final OrdersApiToOrderDataMapper ordersApiToOrderDataMapper;
+    private final OrderRoutingEngine orderRoutingEngine;
+    private final EmailService emailService;
+    private final ItemMessageFactory itemMessageFactory;
+    private final ItemGroupOrderedFactory itemGroupOrderedFactory;
+    private final ItemGroupOrderedAvroSerializer itemGroupOrderedSerializer;
+    private final MessageSerialiserFactory<EmailSend> emailSendSerialiserFactory;
+    private final MessageSerialiserFactory<OrderReceived> orderReceivedSerialiserFactory;
+    private final FilingHistoryDescriptionProviderService filingHistoryDescriptions;
+    private final OrderReceivedDeserialiser orderReceivedDeserialiser = new OrderReceivedDeserialiser();
+    private final MeterRegistry meterRegistry;
+    private final Logger logger;
+    private final LongSupplier nanoTime;
+    private volatile boolean running;
+
+    @Autowired
+    public OrderWarmUp(final WarmUpConfig config,
+                       final OrdersApiToOrderDataMapper ordersApiToOrderDataMapper,
+                       final OrderRoutingEngine orderRoutingEngine,
+                       final EmailService emailService,
+                       final ItemMessageFactory itemMessageFactory,
+                       final ItemGroupOrderedFactory itemGroupOrderedFactory,
+                       final ItemGroupOrderedAvroSerializer itemGroupOrderedSerializer,
+                       final MessageSerialiserFactory<EmailSend> emailSendSerialiserFactory,
+                       final MessageSerialiserFactory<OrderReceived> orderReceivedSerialiserFactory,
+                       final FilingHistoryDescriptionProviderService filingHistoryDescriptions,
+                       final MeterRegistry meterRegistry,
+                       final Logger logger) {
+        this(config, ordersApiToOrderDataMapper, orderRoutingEngine, emailService, itemMessageFactory,
+                itemGroupOrderedFactory, itemGroupOrderedSerializer, emailSendSerialiserFactory,
+                orderReceivedSerialiserFactory, filingHistoryDescriptions, meterRegistry, logger, System::nanoTime);
+    }
+
+    OrderWarmUp(final WarmUpConfig config,
+                final OrdersApiToOrderDataMapper ordersApiToOrderDataMapper,
+                final OrderRoutingEngine orderRoutingEngine,
+                final EmailService emailService,
+                final ItemMessageFactory itemMessageFactory,
+                final ItemGroupOrderedFactory itemGroupOrderedFactory,
+                final ItemGroupOrderedAvroSerializer itemGroupOrderedSerializer,
+                final MessageSerialiserFactory<EmailSend> emailSendSerialiserFactory,
+                final MessageSerialiserFactory<OrderReceived> orderReceivedSerialiserFactory,
+                final FilingHistoryDescriptionProviderService filingHistoryDescriptions,
+                final MeterRegistry meterRegistry,
+                final Logger logger,
+                final LongSupplier nanoTime) {
+        this.config = config;
+        this.ordersApiToOrderDataMapper = ordersApiToOrderDataMapper;
+        this.orderRoutingEngine = orderRoutingEngine;
+        this.emailService = emailService;
+        this.itemMessageFactory = itemMessageFactory;
+        this.itemGroupOrderedFactory = itemGroupOrderedFactory;
+        this.itemGroupOrderedSerializer = itemGroupOrderedSerializer;
+        this.emailSendSerialiserFactory = emailSendSerialiserFactory;
+        this.orderReceivedSerialiserFactory = orderReceivedSerialiserFactory;
+        this.filingHistoryDescriptions = filingHistoryDescriptions;
+        this.meterRegistry = meterRegistry;
+        this.logger = logger;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (config.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started before the listener containers, which are started in the phase
+     * {@link AbstractMessageListenerContainer#DEFAULT_PHASE}.
+     */
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 1;
+    }
+
+    void warmUp() {
+        final List<OrdersApi> orders = WarmUpOrders.create();
+        final long startedAt = nanoTime.getAsLong();
+        final long deadline = startedAt + config.getTimeout().toNanos();
+        int iterations = 0;
+        try {
+            while (iterations < config.getIterations() && nanoTime.getAsLong() - deadline < 0) {
+                orders.forEach(this::handle);
+                iterations++;
+            }
+            logger.info("Warm-up complete", logMap(iterations, startedAt));
+        } catch (RuntimeException exception) {
+            logger.error("Warm-up abandoned", exception, logMap(iterations, startedAt));
+        } finally {
+            filingHistoryDescriptions.resetCaches();
+            itemMessageFactory.clearFilingHistoryOptions();
+            itemGroupOrderedFactory.clearFilingHistoryOptions();
+            Timer.builder(WARM_UP_TIMER)
+                    .description("Time taken to warm up the handling of orders before the listeners start")
+                    .register(meterRegistry)
+                    .record(nanoTime.getAsLong() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void handle(final OrdersApi ordersApi) {
+        final OrderData order = ordersApiToOrderDataMapper.ordersApiToOrderData(ordersApi);
+        final RoutingPlan plan = orderRoutingEngine.classify(order);
+        for (DeliverableItemGroup group : plan.getEmailGroups()) {
+            emailSendSerialiserFactory.createMessage(emailService.createOrderConfirmation(group), WARM_UP_TOPIC);
+        }
+        for (Item item : plan.getChdItems().getItems()) {
+            itemMessageFactory.createMessage(new OrderItemPair(order, item, plan.getChdItems().getOrderFragments()));
+        }
+        for (ItemGroup group : plan.getDigitalGroups()) {
+            itemGroupOrderedSerializer.serialize(WARM_UP_TOPIC, itemGroupOrderedFactory.createMessage(group));
+        }
+        final OrderReceived orderReceived = new OrderReceived();
+        orderReceived.setOrderUri(order.getLinks().getSelf());
+        orderReceived.setAttempt(0);
+        orderReceivedDeserialiser.deserialize(WARM_UP_TOPIC,
+                orderReceivedSerialiserFactory.createMessage(orderReceived, WARM_UP_TOPIC).getValue());
+    }
+
+    private Map<String, Object> logMap(final int iterations, final long startedAt) {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put("iterations", iterations);
+        logMap.put("duration_ms", TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - startedAt));
+        return logMap;
+    }
+}
@@ -0,0 +1,169 @@
+package uk.gov.companieshouse.itemhandler.warmup;
+
+import static java.util.Collections.singletonList;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import uk.gov.companieshouse.api.model.order.ActionedByApi;
+import uk.gov.companieshouse.api.model.order.DeliveryDetailsApi;
+import uk.gov.companieshouse.api.model.order.OrdersApi;
+import uk.gov.companieshouse.api.model.order.item.BaseItemApi;
+import uk.gov.companieshouse.api.model.order.item.CertificateApi;
+import uk.gov.companieshouse.api.model.order.item.CertificateItemOptionsApi;
+import uk.gov.companieshouse.api.model.order.item.CertificateTypeApi;
+import uk.gov.companieshouse.api.model.order.item.CertifiedCopyApi;
+import uk.gov.companieshouse.api.model.order.item.CertifiedCopyItemOptionsApi;
+import uk.gov.companieshouse.api.model.order.item.DeliveryMethodApi;
+import uk.gov.companieshouse.api.model.order.item.DeliveryTimescaleApi;
+import uk.gov.companieshouse.api.model.order.item.FilingHistoryDocumentApi;
+import uk.gov.companieshouse.api.model.order.item.ItemCostsApi;
+import uk.gov.companieshouse.api.model.order.item.LinksApi;
+import uk.gov.companieshouse.api.model.order.item.MissingImageDeliveryApi;
+import uk.gov.companieshouse.api.model.order.item.MissingImageDeliveryItemOptionsApi;
+import uk.gov.companieshouse.api.model.order.item.ProductTypeApi;
+
+/**
+ * The synthetic orders handled by the {@link OrderWarmUp}, as the Orders API would return them. Between them their
+ * items reach every sink: postal certificates and certified copies on both delivery timescales are confirmed by
+ * email, missing image deliveries are sent to CHD and digital certificates and certified copies are sent for digital
+ * processing.
+ */
+final class WarmUpOrders {
+
+    static final String ORDER_REFERENCE = "ORD-000000-000000";
+
+    private static final String COMPANY_NUMBER = "00000000";
+    private static final String COMPANY_NAME = "WARM UP LIMITED";
+    private static final String KIND_CERTIFICATE = "item#certificate";
+    private static final String KIND_CERTIFIED_COPY = "item#certified-copy";
+    private static final String KIND_MISSING_IMAGE_DELIVERY = "item#missing-image-delivery";
+
+    private WarmUpOrders() {
+    }
+
+    static List<OrdersApi> create() {
+        final OrdersApi order = new OrdersApi();
+        order.setEtag("warm-up");
+        order.setKind("order");
+        order.setReference(ORDER_REFERENCE);
+        order.setPaymentReference("WARM-UP");
+        order.setTotalOrderCost("150");
+        order.setOrderedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        order.setOrderedBy(orderedBy());
+        order.setDeliveryDetails(deliveryDetails());
+        order.setLinks(links("/orders/" + ORDER_REFERENCE));
+        order.setItems(List.of(
+                certificate("CRT-000000-000001", true, DeliveryTimescaleApi.STANDARD),
+                certificate("CRT-000000-000002", true, DeliveryTimescaleApi.SAME_DAY),
+                certificate("CRT-000000-000003", false, DeliveryTimescaleApi.STANDARD),
+                certifiedCopy("CCD-000000-000001", true, DeliveryTimescaleApi.STANDARD),
+                certifiedCopy("CCD-000000-000002", true, DeliveryTimescaleApi.SAME_DAY),
+                certifiedCopy("CCD-000000-000003", false, DeliveryTimescaleApi.STANDARD),
+                missingImageDelivery("MID-000000-000001")));
+        return singletonList(order);
+    }
+
+    private static BaseItemApi certificate(final String id, final boolean postalDelivery,
+                                           final DeliveryTimescaleApi timescale) {
+        final CertificateItemOptionsApi options = new CertificateItemOptionsApi();
+        options.setCertificateType(CertificateTypeApi.INCORPORATION_WITH_ALL_NAME_CHANGES);
+        options.setDeliveryMethod(DeliveryMethodApi.POSTAL);
+        options.setDeliveryTimescale(timescale);
+        options.setForename("Warm");
+        options.setSurname("Up");
+        final CertificateApi item = new CertificateApi();
+        item.setKind(KIND_CERTIFICATE);
+        item.setDescriptionIdentifier("certificate");
+        item.setItemOptions(options);
+        return populate(item, id, "/orderable/certificates/" + id, postalDelivery, ProductTypeApi.CERTIFICATE);
+    }
+
+    private static BaseItemApi certifiedCopy(final String id, final boolean postalDelivery,
+                                             final DeliveryTimescaleApi timescale) {
+        final CertifiedCopyItemOptionsApi options = new CertifiedCopyItemOptionsApi();
+        options.setDeliveryMethod(DeliveryMethodApi.POSTAL);
+        options.setDeliveryTimescale(timescale);
+        options.setFilingHistoryDocuments(singletonList(new FilingHistoryDocumentApi(
+                "2024-01-01",
+                "change-registered-office-address-company-with-date-old-address-new-address",
+                Map.of("change_date", "2024-01-01",
+                        "old_address", "1 Old Street, Cardiff, CF14 3UZ",
+                        "new_address", "1 New Street, Cardiff, CF14 3UZ"),
+                "MDAwMDAwMDAwMGFkaXF6a2N4",
+                "AD01",
+                "£15")));
+        options.setForename("Warm");
+        options.setSurname("Up");
+        final CertifiedCopyApi item = new CertifiedCopyApi();
+        item.setKind(KIND_CERTIFIED_COPY);
+        item.setDescriptionIdentifier("certified-copy");
+        item.setItemOptions(options);
+        return populate(item, id, "/orderable/certified-copies/" + id, postalDelivery,
+                ProductTypeApi.CERTIFIED_COPY_INCORPORATION_SAME_DAY);
+    }
+
+    private static BaseItemApi missingImageDelivery(final String id) {
+        final MissingImageDeliveryItemOptionsApi options = new MissingImageDeliveryItemOptionsApi();
+        options.setFilingHistoryDate("1993-08-21");
+        options.setFilingHistoryDescription("legacy");
+        options.setFilingHistoryDescriptionValues(Map.of("description", "Annual accounts"));
+        options.setFilingHistoryId("MDAwMDAwMDAwMWFkaXF6a2N4");
+        options.setFilingHistoryType("AA");
+        options.setFilingHistoryCategory("accounts");
+        options.setFilingHistoryBarcode("00000000");
+        final MissingImageDeliveryApi item = new MissingImageDeliveryApi();
+        item.setKind(KIND_MISSING_IMAGE_DELIVERY);
+        item.setDescriptionIdentifier("missing-image-delivery");
+        item.setItemOptions(options);
+        return populate(item, id, "/orderable/missing-image-deliveries/" + id, false,
+                ProductTypeApi.MISSING_IMAGE_DELIVERY_ACCOUNTS);
+    }
+
+    private static BaseItemApi populate(final BaseItemApi item, final String id, final String self,
+                                        final boolean postalDelivery, final ProductTypeApi productType) {
+        final ItemCostsApi costs = new ItemCostsApi();
+        costs.setDiscountApplied("0");
+        costs.setItemCost("15");
+        costs.setCalculatedCost("15");
+        costs.setProductType(productType);
+        item.setId(id);
+        item.setEtag("warm-up");
+        item.setCompanyName(COMPANY_NAME);
+        item.setCompanyNumber(COMPANY_NUMBER);
+        item.setCustomerReference("warm-up");
+        item.setDescription(item.getDescriptionIdentifier() + " for company " + COMPANY_NUMBER);
+        item.setDescriptionValues(Map.of("company_number", COMPANY_NUMBER));
+        item.setItemCosts(singletonList(costs));
+        item.setLinks(links(self));
+        item.setPostalDelivery(postalDelivery);
+        item.setPostageCost("0");
+        item.setQuantity(1);
+        item.setTotalItemCost("15");
+        return item;
+    }
+
+    private static ActionedByApi orderedBy() {
+        final ActionedByApi orderedBy = new ActionedByApi();
+        orderedBy.setId("warm-up");
+        orderedBy.setEmail("warm-up@localhost");
+        return orderedBy;
+    }
+
+    private static DeliveryDetailsApi deliveryDetails() {
+        final DeliveryDetailsApi deliveryDetails = new DeliveryDetailsApi();
+        deliveryDetails.setForename("Warm");
+        deliveryDetails.setSurname("Up");
+        deliveryDetails.setAddressLine1("1 New Street");
+        deliveryDetails.setLocality("Cardiff");
+        deliveryDetails.setPostalCode("CF14 3UZ");
+        deliveryDetails.setCountry("Wales");
+        return deliveryDetails;
+    }
+
+    private static LinksApi links(final String self) {
+        final LinksApi links = new LinksApi();
+        links.setSelf(self);
+        return links;
+    }
+}
@@ -19,6 +19,7 @@ public class KafkaTopicInitialiser implements InitializingBean {
         broker.addTopics(new NewTopic(kafkaTopics.getOrderReceived(), 1, (short) 1));
         broker.addTopics(new NewTopic(kafkaTopics.getOrderReceivedRetry(), 1, (short) 1));
         broker.addTopics(new NewTopic(kafkaTopics.getOrderReceivedError(), 1, (short) 1));
+        broker.addTopics(new NewTopic(kafkaTopics.getOrderReceivedInvalid(), 1, (short) 1));
         broker.addTopics(new NewTopic(kafkaTopics.getChdItemOrdered(), 1, (short) 1));
         broker.addTopics(new NewTopic(kafkaTopics.getItemGroupOrdered(), 1, (short) 1));
     }
@@ -0,0 +1,293 @@
+package uk.gov.companieshouse.itemhandler.itemsummary;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.itemhandler.util.TestConstants.KIND_CERTIFICATE;
+import static uk.gov.companieshouse.itemhandler.util.TestConstants.KIND_CERTIFIED_COPY;
+import static uk.gov.companieshouse.itemhandler.util.TestConstants.KIND_MISSING_IMAGE_DELIVERY;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.itemhandler.model.DeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.DeliveryTimescale;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.MissingImageDeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.service.ChdItemSenderService;
+import uk.gov.companieshouse.itemhandler.service.DigitalItemGroupSenderService;
+import uk.gov.companieshouse.itemhandler.service.EmailService;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.SinkFanOutExecutor;
+import uk.gov.companieshouse.logging.Logger;
+
+/** Unit tests the {@link OrderRoutingEngine} class. */
+@ExtendWith(MockitoExtension.class)
+class OrderRoutingEngineTest {
+
+    private OrderRoutingEngine engineUnderTest;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ChdItemSenderService chdItemSenderService;
+
+    @Mock
+    private DigitalItemGroupSenderService digitalItemGroupSenderService;
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private OrderData order;
+
+    @Captor
+    private ArgumentCaptor<DeliverableItemGroup> deliverableItemGroupCaptor;
+
+    @Captor
+    private ArgumentCaptor<ItemGroup> itemGroupCaptor;
+
+    @BeforeEach
+    void setUp() {
+        engineUnderTest = new OrderRoutingEngine(emailService, chdItemSenderService, digitalItemGroupSenderService,
+                new SinkFanOutExecutor(Runnable::run, Duration.ofMinutes(1), Duration.ofSeconds(10), logger), logger);
+    }
+
+    @Test
+    @DisplayName("Engine should route deliverable items to email service and missing image deliveries to chd item sender service")
+    void testRouteToAllRequiredServices() {
+        // given
+        Item cert = getExpectedItem(KIND_CERTIFICATE, DeliveryTimescale.STANDARD);
+        Item certSameDay = getExpectedItem(KIND_CERTIFICATE, DeliveryTimescale.SAME_DAY);
+        Item copy = getExpectedItem(KIND_CERTIFIED_COPY, DeliveryTimescale.STANDARD);
+        Item copySameDay = getExpectedItem(KIND_CERTIFIED_COPY, DeliveryTimescale.SAME_DAY);
+        Item missingImageDelivery = getMissingImageDelivery();
+        List<Item> items = Arrays.asList(cert, cert, copySameDay, copySameDay, certSameDay, certSameDay, copy, copy, missingImageDelivery, missingImageDelivery);
+        Collections.shuffle(items);
+        when(order.getItems()).thenReturn(items);
+
+        // when
+        engineUnderTest.route(order);
+
+        // then
+        verify(emailService, times(4)).sendOrderConfirmation(deliverableItemGroupCaptor.capture());
+        verify(chdItemSenderService).sendItemsToChd(itemGroupCaptor.capture());
+        verifyNoInteractions(digitalItemGroupSenderService);
+        List<DeliverableItemGroup> capturedValues = deliverableItemGroupCaptor.getAllValues();
+        assertTrue(capturedValues.contains(new DeliverableItemGroup(order, KIND_CERTIFICATE, DeliveryTimescale.STANDARD, new ArrayList<>(Arrays.asList(cert, cert)))));
+        assertTrue(capturedValues.contains(new DeliverableItemGroup(order, KIND_CERTIFICATE, DeliveryTimescale.SAME_DAY, new ArrayList<>(Arrays.asList(certSameDay, certSameDay)))));
+        assertTrue(capturedValues.contains(new DeliverableItemGroup(order, KIND_CERTIFIED_COPY, DeliveryTimescale.STANDARD, new ArrayList<>(Arrays.asList(copy, copy)))));
+        assertTrue(capturedValues.contains(new DeliverableItemGroup(order, KIND_CERTIFIED_COPY, DeliveryTimescale.SAME_DAY, new ArrayList<>(Arrays.asList(copySameDay, copySameDay)))));
+        assertEquals(new ItemGroup(order, KIND_MISSING_IMAGE_DELIVERY, new ArrayList<>(Arrays.asList(missingImageDelivery, missingImageDelivery))), itemGroupCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("Engine should not send items to chd when there are no missing image delivery items")
+    void testOrderContainsNoMissingImageDeliveryItems() {
+        // given
+        Item cert = getExpectedItem(KIND_CERTIFICATE, DeliveryTimescale.STANDARD);
+        when(order.getItems()).thenReturn(Collections.singletonList(cert));
+
+        // when
+        engineUnderTest.route(order);
+
+        // then
+        verify(emailService, times(1)).sendOrderConfirmation(deliverableItemGroupCaptor.capture());
+        verifyNoInteractions(chdItemSenderService);
+        assertEquals(new DeliverableItemGroup(order, KIND_CERTIFICATE, DeliveryTimescale.STANDARD, new ArrayList<>(Collections.singletonList(cert))), deliverableItemGroupCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("Engine ignores the postal delivery flag on MID items")
+    void testOrderContainsPostalMID() {
+        // given
+        final Item missingImageDelivery = getMissingImageDelivery();
+        missingImageDelivery.setPostalDelivery(true);
+        when(order.getItems()).thenReturn(Collections.singletonList(missingImageDelivery));
+
+        // when
+        engineUnderTest.route(order);
+
+        // then
+        verify(chdItemSenderService).sendItemsToChd(itemGroupCaptor.capture());
+        verifyNoInteractions(emailService);
+        verifyNoInteractions(digitalItemGroupSenderService);
+        assertEquals(new ItemGroup(order, KIND_MISSING_IMAGE_DELIVERY, new ArrayList<>(Collections.singletonList(missingImageDelivery))), itemGroupCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("Engine should only send digital items for digital processing")
+    void testOrderContainsOnlyDigitalItems() {
+        // given
+        final Item digitalCertificate = getExpectedItem(KIND_CERTIFICATE, DeliveryTimescale.STANDARD);
+        digitalCertificate.setPostalDelivery(false);
+        final Item digitalCopy = getExpectedItem(KIND_CERTIFIED_COPY, DeliveryTimescale.STANDARD);
+        digitalCopy.setPostalDelivery(false);
+        when(order.getItems()).thenReturn(Arrays.asList(digitalCertificate, digitalCopy));
+
+        // when
+        engineUnderTest.route(order);
+
+        // then
+        verifyNoInteractions(emailService);
+        verifyNoInteractions(chdItemSenderService);
+        verify(digitalItemGroupSenderService, times(2)).sendItemGroupForDigitalProcessing(itemGroupCaptor.capture());
+        assertEquals(new ItemGroup(order, KIND_CERTIFICATE, Collections.singletonList(digitalCertificate)), itemGroupCaptor.getAllValues().get(0));
+        assertEquals(new ItemGroup(order, KIND_CERTIFIED_COPY, Collections.singletonList(digitalCopy)), itemGroupCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Engine should throw a non retryable exception when delivery timescale is null")
+    void testOrderWithNullDeliveryTimescale() {
+        // given
+        Item cert = getExpectedItem(KIND_CERTIFICATE, null);
+        cert.setId("CRT-123123-123123");
+        when(order.getItems()).thenReturn(Collections.singletonList(cert));
+
+        // when
+        Executable actual = () -> engineUnderTest.route(order);
+
+        // then
+        NonRetryableException exception = assertThrows(NonRetryableException.class, actual);
+        assertEquals("Item [CRT-123123-123123] is missing a delivery timescale", exception.getMessage());
+        verifyNoInteractions(emailService);
+        verifyNoInteractions(chdItemSenderService);
+        verifyNoInteractions(digitalItemGroupSenderService);
+    }
+
+    @Test
+    @DisplayName("Mixed order is classified correctly in a single pass")
+    void planMixedOrder() {
+        // given
+        final OrderData mixedOrder = new OrderData();
+        mixedOrder.setItems(asList(
+                createItem("CRT-1", KIND_CERTIFICATE, true),
+                createItem("CRT-2", KIND_CERTIFICATE, true),
+                createItem("CRT-3", KIND_CERTIFICATE, false),
+                createItem("CC-1", KIND_CERTIFIED_COPY, true),
+                createItem("CC-2", KIND_CERTIFIED_COPY, false),
+                createItem("CC-3", KIND_CERTIFIED_COPY, false),
+                createItem("MID-1", KIND_MISSING_IMAGE_DELIVERY, true),
+                createItem("MID-2", KIND_MISSING_IMAGE_DELIVERY, false)));
+
+        // when
+        final RoutingPlan plan = engineUnderTest.plan(mixedOrder);
+
+        // then
+        final List<ItemGroup> groups = plan.getDigitalGroups();
+        assertThat(groups.size(), is(3));
+        assertThat(groups.get(0).getKind(), is(KIND_CERTIFICATE));
+        assertThat(groups.get(0).getItems().getFirst().getId(), is("CRT-1"));
+        assertThat(groups.get(1).getKind(), is(KIND_CERTIFICATE));
+        assertThat(groups.get(1).getItems().getFirst().getId(), is("CRT-2"));
+        assertThat(groups.get(2).getKind(), is(KIND_CERTIFIED_COPY));
+        assertThat(groups.get(2).getItems().getFirst().getId(), is("CC-1"));
+    }
+
+    @Test
+    @DisplayName("Classifying an order plans its item groups without logging or sending them")
+    void classifyPlansWithoutLoggingOrSending() {
+        // given
+        final Item digitalCopy = getExpectedItem(KIND_CERTIFIED_COPY, DeliveryTimescale.STANDARD);
+        digitalCopy.setPostalDelivery(false);
+        final OrderData mixedOrder = new OrderData();
+        mixedOrder.setItems(asList(
+                getExpectedItem(KIND_CERTIFICATE, DeliveryTimescale.STANDARD), getMissingImageDelivery(), digitalCopy));
+
+        // when
+        final RoutingPlan plan = engineUnderTest.classify(mixedOrder);
+
+        // then
+        assertThat(plan.getEmailGroups().size(), is(1));
+        assertThat(plan.getChdItems().getItems().size(), is(1));
+        assertThat(plan.getDigitalGroups().size(), is(1));
+        verifyNoInteractions(logger, emailService, chdItemSenderService, digitalItemGroupSenderService);
+    }
+
+    @Test
+    @DisplayName("The item groups of a plan share the order fragments extracted once for it")
+    void itemGroupsShareOrderFragments() {
+        // given
+        final Item digitalCopy = getExpectedItem(KIND_CERTIFIED_COPY, DeliveryTimescale.STANDARD);
+        digitalCopy.setPostalDelivery(false);
+        final OrderData mixedOrder = new OrderData();
+        mixedOrder.setItems(asList(getMissingImageDelivery(), digitalCopy));
+
+        // when
+        final RoutingPlan plan = engineUnderTest.classify(mixedOrder);
+
+        // then
+        assertThat(plan.getDigitalGroups().getFirst().getOrderFragments(),
+                is(sameInstance(plan.getChdItems().getOrderFragments())));
+    }
+
+    @Test
+    @DisplayName("Every sink is run and a sink failure is reflected in the status of the order")
+    void sinkFailureIsReflectedInStatus() {
+        // given
+        final Item cert = getExpectedItem(KIND_CERTIFICATE, DeliveryTimescale.STANDARD);
+        final Item digitalCopy = getExpectedItem(KIND_CERTIFIED_COPY, DeliveryTimescale.STANDARD);
+        digitalCopy.setPostalDelivery(false);
+        when(order.getItems()).thenReturn(Arrays.asList(cert, getMissingImageDelivery(), digitalCopy));
+        doThrow(new RetryableException("Test message!")).when(emailService).sendOrderConfirmation(any());
+
+        // when
+        final OrderProcessResponse.Status actual = engineUnderTest.route(order);
+
+        // then
+        assertThat(actual, is(OrderProcessResponse.Status.SERVICE_UNAVAILABLE));
+        verify(chdItemSenderService).sendItemsToChd(any());
+        verify(digitalItemGroupSenderService).sendItemGroupForDigitalProcessing(any());
+    }
+
+    private Item getMissingImageDelivery() {
+        Item item = new Item();
+        item.setKind(KIND_MISSING_IMAGE_DELIVERY);
+        item.setItemOptions(new MissingImageDeliveryItemOptions());
+        item.setPostalDelivery(false);
+        return item;
+    }
+
+    private Item getExpectedItem(String kind, DeliveryTimescale timescale) {
+        Item item = new Item();
+        item.setKind(kind);
+        DeliveryItemOptions itemOptions = new DeliveryItemOptions();
+        itemOptions.setDeliveryTimescale(timescale);
+        item.setItemOptions(itemOptions);
+        item.setPostalDelivery(true);
+        return item;
+    }
+
+    private Item createItem(final String id, final String kind, final boolean isDigital) {
+        final Item item = new Item();
+        item.setId(id);
+        item.setKind(kind);
+        item.setPostalDelivery(!isDigital);
+        return item;
+    }
+}
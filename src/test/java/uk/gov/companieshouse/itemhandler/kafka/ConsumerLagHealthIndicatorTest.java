@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import uk.gov.companieshouse.itemhandler.config.ConsumerLagConfig;
+
+/**
+ * Unit tests {@link ConsumerLagHealthIndicator}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConsumerLagHealthIndicatorTest {
+
+    @Mock
+    private ConsumerLagMonitor consumerLagMonitor;
+
+    private ConsumerLagHealthIndicator indicatorUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final ConsumerLagConfig config = new ConsumerLagConfig();
+        config.setMaxLag(100);
+        config.setMaxOldestUnprocessedAge(Duration.ofSeconds(30));
+        indicatorUnderTest = new ConsumerLagHealthIndicator(consumerLagMonitor, config);
+    }
+
+    @Test
+    @DisplayName("Consumers within their SLOs are up")
+    void withinSlosIsUp() {
+        when(consumerLagMonitor.getMaxLag()).thenReturn(100L);
+        when(consumerLagMonitor.getMaxOldestUnprocessedAgeMillis()).thenReturn(30_000L);
+
+        assertThat(indicatorUnderTest.health().getStatus(), is(Status.UP));
+    }
+
+    @Test
+    @DisplayName("Consumers lagging beyond their SLO are degraded")
+    void lagBeyondSloIsDegraded() {
+        when(consumerLagMonitor.getMaxLag()).thenReturn(101L);
+
+        assertThat(indicatorUnderTest.health().getStatus(), is(ConsumerLagHealthIndicator.DEGRADED));
+    }
+
+    @Test
+    @DisplayName("Consumers with records unprocessed beyond their SLO are degraded")
+    void oldestUnprocessedAgeBeyondSloIsDegraded() {
+        when(consumerLagMonitor.getMaxLag()).thenReturn(0L);
+        when(consumerLagMonitor.getMaxOldestUnprocessedAgeMillis()).thenReturn(30_001L);
+
+        assertThat(indicatorUnderTest.health().getStatus(), is(ConsumerLagHealthIndicator.DEGRADED));
+    }
+}
@@ -0,0 +1,135 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link ConsumerLagMonitor}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ConsumerLagMonitorTest {
+
+    private static final String GROUP_ID = "item-handler-order-received";
+    private static final String TOPIC = "order-received";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final long NOW = 1_000_000L;
+
+    @Mock
+    private Consumer<String, OrderReceived> consumer;
+
+    private final AtomicLong currentTimeMillis = new AtomicLong(NOW);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsumerLagMonitor monitorUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitorUnderTest = new ConsumerLagMonitor(meterRegistry, currentTimeMillis::get);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(GROUP_ID));
+    }
+
+    @Test
+    @DisplayName("Lag counts the records of the partition after the record processed")
+    void lagCountsRecordsAfterRecordProcessed() {
+        // Given the consumer has fetched up to offset 20 of a partition ending at offset 120
+        when(consumer.position(PARTITION)).thenReturn(20L);
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(100L));
+        final ConsumerRecord<String, OrderReceived> record = record(9, NOW - 5_000);
+
+        // When
+        monitorUnderTest.intercept(record, consumer);
+        monitorUnderTest.afterRecord(record, consumer);
+
+        // Then
+        assertThat(monitorUnderTest.getMaxLag(), is(110L));
+        assertThat(meterRegistry.get(ConsumerLagMonitor.LAG_GAUGE)
+                .tag(ConsumerLagMonitor.GROUP_TAG, GROUP_ID).tag("partition", "0").gauge().value(), is(110.0));
+        assertThat(meterRegistry.get(ConsumerLagMonitor.RECORDS_COUNTER)
+                .tag(ConsumerLagMonitor.GROUP_TAG, GROUP_ID).counter().count(), is(1.0));
+        assertThat(meterRegistry.get(ConsumerLagMonitor.PROCESSING_TIMER)
+                .tag(ConsumerLagMonitor.GROUP_TAG, GROUP_ID).timer().count(), is(1L));
+    }
+
+    @Test
+    @DisplayName("A record being processed is the oldest unprocessed record of its partition")
+    void recordInFlightIsOldestUnprocessed() {
+        monitorUnderTest.intercept(record(0, NOW - 7_000), consumer);
+
+        assertThat(monitorUnderTest.getMaxOldestUnprocessedAgeMillis(), is(7_000L));
+        assertThat(meterRegistry.get(ConsumerLagMonitor.OLDEST_UNPROCESSED_AGE_GAUGE)
+                .tag(ConsumerLagMonitor.GROUP_TAG, GROUP_ID).gauge().value(), is(7.0));
+    }
+
+    @Test
+    @DisplayName("A partition that has caught up has no unprocessed records")
+    void caughtUpPartitionHasNoUnprocessedRecords() {
+        when(consumer.position(PARTITION)).thenReturn(1L);
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(0L));
+        final ConsumerRecord<String, OrderReceived> record = record(0, NOW - 7_000);
+
+        monitorUnderTest.intercept(record, consumer);
+        monitorUnderTest.afterRecord(record, consumer);
+
+        assertThat(monitorUnderTest.getMaxLag(), is(0L));
+        assertThat(monitorUnderTest.getMaxOldestUnprocessedAgeMillis(), is(0L));
+    }
+
+    @Test
+    @DisplayName("A lagging partition reports the age of its last record processed as it falls further behind")
+    void laggingPartitionAgesFromLastRecordProcessed() {
+        when(consumer.position(PARTITION)).thenReturn(1L);
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(3L));
+        final ConsumerRecord<String, OrderReceived> record = record(0, NOW - 7_000);
+        monitorUnderTest.intercept(record, consumer);
+        monitorUnderTest.afterRecord(record, consumer);
+
+        currentTimeMillis.addAndGet(60_000);
+
+        assertThat(monitorUnderTest.getMaxOldestUnprocessedAgeMillis(), is(67_000L));
+    }
+
+    @Test
+    @DisplayName("Revoked partitions no longer count towards lag")
+    void revokedPartitionsNoLongerCount() {
+        when(consumer.position(PARTITION)).thenReturn(1L);
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(500L));
+        final ConsumerRecord<String, OrderReceived> record = record(0, NOW - 7_000);
+        monitorUnderTest.intercept(record, consumer);
+        monitorUnderTest.afterRecord(record, consumer);
+
+        monitorUnderTest.onPartitionsRevokedAfterCommit(consumer, List.of(PARTITION));
+
+        assertThat(monitorUnderTest.getMaxLag(), is(0L));
+        assertThat(monitorUnderTest.getMaxOldestUnprocessedAgeMillis(), is(0L));
+        assertThat(meterRegistry.get(ConsumerLagMonitor.LAG_GAUGE).gauge().value(), is(0.0));
+    }
+
+    private static ConsumerRecord<String, OrderReceived> record(final long offset, final long timestamp) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, timestamp, TimestampType.CREATE_TIME, 0, 0, null,
+                new OrderReceived(), new RecordHeaders(), Optional.empty());
+    }
+}
@@ -0,0 +1,100 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.config.DuplicateFilterConfig;
+
+/**
+ * Unit tests {@link DuplicateOrderFilter}.
+ */
+class DuplicateOrderFilterTest {
+
+    private static final String ORDER_URI = "/orders/ORD-123456-123456";
+    private static final String OTHER_ORDER_URI = "/orders/ORD-654321-654321";
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private DuplicateFilterConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        config = new DuplicateFilterConfig();
+        config.setEnabled(true);
+        config.setWindow(Duration.ofMinutes(10));
+        config.setExpectedOrders(100);
+        config.setMaxCompletedOrders(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("An order completed within the window is a duplicate and is counted as skipped")
+    void orderCompletedWithinWindowIsDuplicate() {
+        final DuplicateOrderFilter filter = filter();
+        filter.recordCompleted(ORDER_URI);
+        nanoTime.addAndGet(Duration.ofMinutes(9).toNanos());
+
+        assertThat(filter.isDuplicate(ORDER_URI), is(true));
+        assertThat(filter.isDuplicate(OTHER_ORDER_URI), is(false));
+        assertThat(skipped(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("An order completed before the window is not a duplicate")
+    void orderCompletedBeforeWindowIsNotDuplicate() {
+        final DuplicateOrderFilter filter = filter();
+        filter.recordCompleted(ORDER_URI);
+        nanoTime.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        assertThat(filter.isDuplicate(ORDER_URI), is(false));
+        assertThat(skipped(), is(0.0));
+    }
+
+    @Test
+    @DisplayName("An order completed just before the filter is replaced is still a duplicate afterwards")
+    void orderSurvivesRotation() {
+        final DuplicateOrderFilter filter = filter();
+        nanoTime.addAndGet(Duration.ofMinutes(9).toNanos());
+        filter.recordCompleted(ORDER_URI);
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(filter.isDuplicate(ORDER_URI), is(true));
+    }
+
+    @Test
+    @DisplayName("An order no longer in the exact store is not a duplicate, whatever the Bloom filter reports")
+    void orderEvictedFromExactStoreIsNotDuplicate() {
+        final DuplicateOrderFilter filter = filter();
+        filter.recordCompleted(ORDER_URI);
+        filter.recordCompleted(OTHER_ORDER_URI);
+        filter.recordCompleted("/orders/ORD-111111-111111");
+
+        assertThat(filter.isDuplicate(ORDER_URI), is(false));
+        assertThat(filter.isDuplicate(OTHER_ORDER_URI), is(true));
+    }
+
+    @Test
+    @DisplayName("Nothing is a duplicate unless the filter is enabled")
+    void nothingIsDuplicateWhenDisabled() {
+        config.setEnabled(false);
+        final DuplicateOrderFilter filter = filter();
+        filter.recordCompleted(ORDER_URI);
+
+        assertThat(filter.isDuplicate(ORDER_URI), is(false));
+    }
+
+    private DuplicateOrderFilter filter() {
+        return new DuplicateOrderFilter(config, meterRegistry, nanoTime::get);
+    }
+
+    private double skipped() {
+        return meterRegistry.get(DuplicateOrderFilter.SKIPPED_DUPLICATE_COUNTER).counter().count();
+    }
+}
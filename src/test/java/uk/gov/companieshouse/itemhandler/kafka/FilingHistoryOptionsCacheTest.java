@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests the {@link FilingHistoryOptionsCache} class. */
+class FilingHistoryOptionsCacheTest {
+
+    private static final String FILING_HISTORY_ID = "MzAwOTM2MDg5OWFkaXF6a2N4";
+    private static final List<String> FIELDS = Arrays.asList("SH01", "capital-allotment-shares", null);
+
+    private final AtomicInteger builds = new AtomicInteger();
+    private final FilingHistoryOptionsCache cacheUnderTest = new FilingHistoryOptionsCache(new ObjectMapper());
+
+    @Test
+    @DisplayName("Options of a filing ordered again are served from the cache")
+    void optionsAreBuiltOnce() throws JsonProcessingException {
+        final Map<String, String> first = get(FILING_HISTORY_ID, FIELDS, values("2021-01-01"));
+        final Map<String, String> second = get(FILING_HISTORY_ID, FIELDS, values("2021-01-01"));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(second.get("values"), is("{\"date\":\"2021-01-01\"}"));
+        assertThat(builds.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("Options are rebuilt when the description values of the filing differ")
+    void changedDescriptionValuesAreNotServedFromTheCache() throws JsonProcessingException {
+        final Map<String, String> first = get(FILING_HISTORY_ID, FIELDS, values("2021-01-01"));
+        final Map<String, String> second = get(FILING_HISTORY_ID, FIELDS, values("2022-02-02"));
+
+        assertThat(second, is(not(first)));
+        assertThat(second.get("values"), is("{\"date\":\"2022-02-02\"}"));
+        assertThat(builds.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Options are rebuilt when the other options of the filing differ")
+    void changedFieldsAreNotServedFromTheCache() throws JsonProcessingException {
+        get(FILING_HISTORY_ID, FIELDS, values("2021-01-01"));
+        get(FILING_HISTORY_ID, Arrays.asList("SH02", "capital-allotment-shares", null), values("2021-01-01"));
+
+        assertThat(builds.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Options of a filing without an ID are not cached")
+    void optionsWithoutIdAreNotCached() throws JsonProcessingException {
+        get(null, FIELDS, values("2021-01-01"));
+        get(null, FIELDS, values("2021-01-01"));
+
+        assertThat(builds.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Cached options cannot be modified")
+    void optionsAreUnmodifiable() throws JsonProcessingException {
+        final Map<String, String> options = get(FILING_HISTORY_ID, FIELDS, values("2021-01-01"));
+
+        assertThrows(UnsupportedOperationException.class, () -> options.put("values", "{}"));
+    }
+
+    private Map<String, String> get(final String filingHistoryId,
+                                    final List<String> fields,
+                                    final Map<String, Object> descriptionValues) throws JsonProcessingException {
+        return cacheUnderTest.get(filingHistoryId, fields, descriptionValues, serialised -> {
+            builds.incrementAndGet();
+            final Map<String, String> options = new HashMap<>();
+            options.put("id", filingHistoryId);
+            options.put("values", serialised);
+            return options;
+        });
+    }
+
+    private static Map<String, Object> values(final String date) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("date", date);
+        return values;
+    }
+}
@@ -0,0 +1,77 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link FirstMessageTimer}.
+ */
+@ExtendWith(MockitoExtension.class)
+class FirstMessageTimerTest {
+
+    private static final long JVM_START_TIME = 1_000_000L;
+
+    @Mock
+    private Consumer<String, OrderReceived> consumer;
+
+    private final AtomicLong currentTimeMillis = new AtomicLong(JVM_START_TIME);
+
+    private SimpleMeterRegistry meterRegistry;
+    private FirstMessageTimer timerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timerUnderTest = new FirstMessageTimer(meterRegistry, currentTimeMillis::get, JVM_START_TIME);
+    }
+
+    @Test
+    @DisplayName("Nothing is recorded until the first record is consumed")
+    void nothingRecordedBeforeFirstRecord() {
+        assertThat(meterRegistry.find(FirstMessageTimer.TIME_TO_FIRST_MESSAGE_GAUGE).timeGauge(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("The time from the start of the JVM to the first record consumed is recorded")
+    void timeToFirstRecordIsRecorded() {
+        final ConsumerRecord<String, OrderReceived> consumerRecord = record();
+        currentTimeMillis.addAndGet(4_500);
+
+        assertThat(timerUnderTest.intercept(consumerRecord, consumer), is(sameInstance(consumerRecord)));
+
+        assertThat(meterRegistry.get(FirstMessageTimer.TIME_TO_FIRST_MESSAGE_GAUGE).timeGauge()
+                .value(TimeUnit.MILLISECONDS), is(4_500.0));
+    }
+
+    @Test
+    @DisplayName("Later records do not change the time recorded")
+    void laterRecordsAreIgnored() {
+        currentTimeMillis.addAndGet(4_500);
+        timerUnderTest.intercept(record(), consumer);
+        currentTimeMillis.addAndGet(60_000);
+
+        timerUnderTest.intercept(record(), consumer);
+
+        assertThat(meterRegistry.get(FirstMessageTimer.TIME_TO_FIRST_MESSAGE_GAUGE).timeGauge()
+                .value(TimeUnit.MILLISECONDS), is(4_500.0));
+    }
+
+    private static ConsumerRecord<String, OrderReceived> record() {
+        return new ConsumerRecord<>("order-received", 0, 0L, null, new OrderReceived());
+    }
+}
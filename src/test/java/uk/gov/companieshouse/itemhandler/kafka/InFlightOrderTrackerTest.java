@@ -0,0 +1,83 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link InFlightOrderTracker}.
+ */
+class InFlightOrderTrackerTest {
+
+    private static final String ORDER_URI = "/orders/ORD-123456-123456";
+    private static final TopicPartition PARTITION = new TopicPartition("order-received", 3);
+
+    private InFlightOrderTracker trackerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        trackerUnderTest = new InFlightOrderTracker();
+    }
+
+    @Test
+    @DisplayName("An order is in flight from when it is begun until it is complete")
+    void orderInFlightUntilComplete() {
+        final InFlightOrderTracker.InFlightOrder order = trackerUnderTest.begin(message(41L));
+
+        assertThat(trackerUnderTest.getInFlight(),
+                contains(new InFlightOrderTracker.InFlightOrder(ORDER_URI, PARTITION, 41L)));
+
+        trackerUnderTest.complete(order);
+
+        assertThat(trackerUnderTest.getInFlight(), is(empty()));
+    }
+
+    @Test
+    @DisplayName("awaitDrained() returns once the orders in flight are complete")
+    void awaitDrainedReturnsOnceOrdersComplete() throws Exception {
+        final InFlightOrderTracker.InFlightOrder order = trackerUnderTest.begin(message(41L));
+
+        final CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(() -> {
+            try {
+                return trackerUnderTest.awaitDrained(Duration.ofSeconds(10));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        trackerUnderTest.complete(order);
+
+        assertThat(drained.get(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    @DisplayName("awaitDrained() gives up at its timeout")
+    void awaitDrainedTimesOut() throws InterruptedException {
+        trackerUnderTest.begin(message(41L));
+
+        assertThat(trackerUnderTest.awaitDrained(Duration.ofMillis(10)), is(false));
+    }
+
+    private static Message<OrderReceived> message(final long offset) {
+        final OrderReceived orderReceived = new OrderReceived();
+        orderReceived.setOrderUri(ORDER_URI);
+        return MessageBuilder.withPayload(orderReceived)
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, PARTITION.topic())
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, PARTITION.partition())
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .build();
+    }
+}
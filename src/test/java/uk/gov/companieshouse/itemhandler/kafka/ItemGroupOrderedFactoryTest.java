@@ -14,7 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.itemhandler.exception.KafkaMessagingException;
 import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
-import uk.gov.companieshouse.itemhandler.model.ActionedBy;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderFragments;
 import uk.gov.companieshouse.itemhandler.model.Item;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
 import uk.gov.companieshouse.logging.Logger;
@@ -42,9 +42,6 @@ class ItemGroupOrderedFactoryTest {
     @Mock
     private Item digitalItem;
 
-    @Mock
-    private ActionedBy customer;
-
     @Test
     @DisplayName("createMessage() propagates error as expected KafkaMessagingException")
     void testCreateMessagePropagatesException() {
@@ -55,8 +52,8 @@ class ItemGroupOrderedFactoryTest {
         when(digitalItemGroup.getItems()).thenReturn(Collections.singletonList(digitalItem));
         when(order.getReference()).thenReturn("ORD-123123-123123");
         when(digitalItem.getId()).thenReturn("CRT-123123-123123");
-        when(order.getOrderedAt()).thenReturn(now());
-        when(order.getOrderedBy()).thenReturn(customer);
+        when(digitalItemGroup.getOrderFragments()).thenReturn(
+                new OrderFragments(now().toString(), "demo@ch.gov.uk", "4Y2VkZWVlMzhlZWFjY2M4MzQ3MT", null));
 
         // When and then
         final KafkaMessagingException exception = assertThrows(KafkaMessagingException.class,
@@ -1,9 +1,12 @@
 package uk.gov.companieshouse.itemhandler.kafka;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -55,6 +58,9 @@ class ItemGroupOrderedMessageProducerTest {
     @Captor
     private ArgumentCaptor<CompletableFuture<SendResult<String, ItemGroupOrdered>>> callbackCaptor;
 
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, ItemGroupOrdered>> recordCaptor;
+
     @Test
     @DisplayName("sendMessage() logs failure exception without further error")
     void testSendMessageLogsFailureExceptionOK() throws ExecutionException, InterruptedException    {
@@ -77,13 +83,15 @@ class ItemGroupOrderedMessageProducerTest {
         CompletableFuture<SendResult<String, ItemGroupOrdered>> failedFuture = new CompletableFuture<>();
         failedFuture.completeExceptionally(throwable);
 
-        when(kafkaTemplate.send(any(), any())).thenReturn(failedFuture);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(failedFuture);
 
         // When
         producer.sendMessage(digitalItemGroup);
 
         // Then and When
-        verify(kafkaTemplate).send("item-group-ordered", message);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        assertThat(recordCaptor.getValue().topic(), is("item-group-ordered"));
+        assertThat(recordCaptor.getValue().value(), is(message));
         verify(factory).createMessage(digitalItemGroup);
     }
 
@@ -8,8 +8,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.itemhandler.exception.KafkaMessagingException;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderFragments;
 import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemPair;
-import uk.gov.companieshouse.itemhandler.model.ActionedBy;
 import uk.gov.companieshouse.itemhandler.model.Item;
 import uk.gov.companieshouse.itemhandler.model.ItemLinks;
 import uk.gov.companieshouse.itemhandler.model.MissingImageDeliveryItemOptions;
@@ -64,9 +64,6 @@ class ItemMessageFactoryTest {
     @Mock
     private ItemLinks itemLinks;
 
-    @Mock
-    private ActionedBy actionedBy;
-
     @Mock
     private AvroSerializer<ChdItemOrdered> serializer;
 
@@ -78,8 +75,8 @@ class ItemMessageFactoryTest {
     void createMessageCreatesMessageFromOrder() throws Exception {
 
         // Given
-        when(order.getOrderedAt()).thenReturn(LocalDateTime.now());
-        when(order.getOrderedBy()).thenReturn(actionedBy);
+        when(orderItemPair.getOrderFragments()).thenReturn(
+                new OrderFragments(LocalDateTime.now().toString(), null, null, null));
         when(item.getItemOptions()).thenReturn(options);
         when(options.getFilingHistoryDescriptionValues()).thenReturn(new HashMap<>());
         when(item.getLinks()).thenReturn(itemLinks);
@@ -112,8 +109,8 @@ class ItemMessageFactoryTest {
     void createMessageThrowsNonRetryableExceptionIfFieldIsNull() {
 
         // Given
-        when(order.getOrderedAt()).thenReturn(LocalDateTime.now());
-        when(order.getOrderedBy()).thenReturn(actionedBy);
+        when(orderItemPair.getOrderFragments()).thenReturn(
+                new OrderFragments(LocalDateTime.now().toString(), null, null, null));
         when(order.getReference()).thenReturn(ORDER_REFERENCE);
         when(item.getItemOptions()).thenReturn(options);
         when(item.getId()).thenReturn(MISSING_IMAGE_DELIVERY_ITEM_ID);
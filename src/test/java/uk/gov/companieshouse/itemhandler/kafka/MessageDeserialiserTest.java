@@ -1,10 +1,13 @@
 package uk.gov.companieshouse.itemhandler.kafka;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import email.email_send;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -15,9 +18,16 @@ import uk.gov.companieshouse.kafka.serialization.SerializerFactory;
 @ExtendWith(MockitoExtension.class)
 class MessageDeserialiserTest {
     @Test
-    void deserializeReturnsNullIfMessageCannotBeDeserialised() {
-        assertNull(new MessageDeserialiser<>(email_send.class).deserialize("email-send",
-                "Test data".getBytes()));
+    void deserializeThrowsIfMessageCannotBeDeserialised() {
+        final MessageDeserialiser<email_send> deserialiser = new MessageDeserialiser<>(email_send.class);
+        final byte[] data = "Test data".getBytes();
+
+        final org.apache.kafka.common.errors.SerializationException exception = assertThrows(
+                org.apache.kafka.common.errors.SerializationException.class,
+                () -> deserialiser.deserialize("email-send", data));
+
+        assertThat(exception.getMessage(), containsString("9 bytes from topic [email-send]"));
+        assertThat(exception.getMessage(), not(containsString(Arrays.toString(data))));
     }
 
     @Test
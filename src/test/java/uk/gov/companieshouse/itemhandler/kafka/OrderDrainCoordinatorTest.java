@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.messaging.support.MessageBuilder;
+import uk.gov.companieshouse.itemhandler.config.DrainConfig;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link OrderDrainCoordinator}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderDrainCoordinatorTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Mock
+    private Logger logger;
+
+    private InFlightOrderTracker inFlightOrderTracker;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderDrainCoordinator coordinatorUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final DrainConfig config = new DrainConfig();
+        config.setTimeout(Duration.ofMillis(10));
+        inFlightOrderTracker = new InFlightOrderTracker();
+        meterRegistry = new SimpleMeterRegistry();
+        coordinatorUnderTest = new OrderDrainCoordinator(registry, inFlightOrderTracker, config, meterRegistry,
+                logger);
+    }
+
+    @Test
+    @DisplayName("Stopping pauses the listener containers and drains the orders in flight")
+    void stopPausesContainersAndDrains() {
+        when(registry.getListenerContainers()).thenReturn(List.of(container));
+        coordinatorUnderTest.start();
+
+        coordinatorUnderTest.stop();
+
+        verify(container).pause();
+        verify(logger, never()).error(anyString(), anyMap());
+        assertThat(coordinatorUnderTest.isRunning(), is(false));
+        assertThat(meterRegistry.get(OrderDrainCoordinator.ABANDONED_COUNTER).counter().count(), is(0.0));
+    }
+
+    @Test
+    @DisplayName("Orders still in flight at the drain timeout are logged and counted as abandoned")
+    void ordersInFlightAtTimeoutAreAbandoned() {
+        when(registry.getListenerContainers()).thenReturn(List.of(container));
+        final OrderReceived orderReceived = new OrderReceived();
+        orderReceived.setOrderUri("/orders/ORD-123456-123456");
+        inFlightOrderTracker.begin(MessageBuilder.withPayload(orderReceived).build());
+
+        coordinatorUnderTest.stop();
+
+        verify(logger).error(anyString(), anyMap());
+        assertThat(meterRegistry.get(OrderDrainCoordinator.ABANDONED_COUNTER).counter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("The coordinator stops before the listener containers")
+    void stopsBeforeListenerContainers() {
+        assertThat(coordinatorUnderTest.getPhase() > AbstractMessageListenerContainer.DEFAULT_PHASE, is(true));
+    }
+}
@@ -15,8 +15,11 @@ import uk.gov.companieshouse.orders.OrderReceived;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +33,10 @@ class OrderMessageConsumerTest {
     @Mock
     private OrderProcessResponseHandler orderProcessResponseHandler;
     @Mock
+    private InFlightOrderTracker inFlightOrderTracker;
+    @Mock
+    private DuplicateOrderFilter duplicateOrderFilter;
+    @Mock
     private Logger logger;
     @InjectMocks
     private OrderMessageHandler orderMessageHandler;
@@ -58,7 +65,7 @@ class OrderMessageConsumerTest {
     @Test
     void responseHandlerServiceUnavailableCalledWhenOrderServiceReturnsOk() {
         // Given
-        when(orderProcessorService.processOrderReceived(any())).thenReturn(
+        when(orderProcessorService.processOrderReceived(any(), any())).thenReturn(
                 OrderProcessResponse.newBuilder()
                 .withStatus(OrderProcessResponse.Status.OK)
                 .build());
@@ -68,12 +75,13 @@ class OrderMessageConsumerTest {
 
         // Then
         verify(orderProcessResponseHandler).serviceOk(any());
+        verify(duplicateOrderFilter).recordCompleted(ORDER_RECEIVED_URI);
     }
 
     @Test
     void responseHandlerServiceUnavailableCalledWhenOrderServiceReturnsUnavailable() {
         // Given
-        when(orderProcessorService.processOrderReceived(any())).thenReturn(
+        when(orderProcessorService.processOrderReceived(any(), any())).thenReturn(
                 OrderProcessResponse.newBuilder()
                 .withStatus(OrderProcessResponse.Status.SERVICE_UNAVAILABLE)
                 .build());
@@ -83,12 +91,13 @@ class OrderMessageConsumerTest {
 
         // Then
         verify(orderProcessResponseHandler).serviceUnavailable(any());
+        verify(duplicateOrderFilter, never()).recordCompleted(any());
     }
 
     @Test
     void responseHandlerServiceUnavailableCalledWhenOrderServiceReturnsError() {
         // Given
-        when(orderProcessorService.processOrderReceived(any())).thenReturn(
+        when(orderProcessorService.processOrderReceived(any(), any())).thenReturn(
                 OrderProcessResponse.newBuilder()
                 .withStatus(OrderProcessResponse.Status.SERVICE_ERROR)
                 .build());
@@ -99,4 +108,33 @@ class OrderMessageConsumerTest {
         // Then
         verify(orderProcessResponseHandler).serviceError(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void duplicateOrderSkippedWithoutProcessing() {
+        // Given
+        when(duplicateOrderFilter.isDuplicate(ORDER_RECEIVED_URI)).thenReturn(true);
+
+        // When
+        orderMessageHandler.handleMessage(createTestMessage());
+
+        // Then
+        verifyNoInteractions(orderProcessorService, orderProcessResponseHandler);
+        verify(inFlightOrderTracker).complete(any());
+    }
+
+    @Test
+    void orderInFlightUntilHandledEvenWhenProcessingFails() {
+        // Given
+        final org.springframework.messaging.Message<OrderReceived> message = createTestMessage();
+        final InFlightOrderTracker.InFlightOrder inFlightOrder =
+                new InFlightOrderTracker.InFlightOrder(ORDER_RECEIVED_URI, null, null);
+        when(inFlightOrderTracker.begin(message)).thenReturn(inFlightOrder);
+        when(orderProcessorService.processOrderReceived(any(), any())).thenThrow(new IllegalStateException("test"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> orderMessageHandler.handleMessage(message));
+
+        // Then
+        verify(inFlightOrderTracker).complete(inFlightOrder);
+    }
+}
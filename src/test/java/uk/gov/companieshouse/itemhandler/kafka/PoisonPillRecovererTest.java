@@ -0,0 +1,143 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link PoisonPillRecoverer}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PoisonPillRecovererTest {
+
+    private static final String ORDER_RECEIVED_TOPIC = "order-received";
+    private static final String INVALID_TOPIC = "order-received-invalid";
+    private static final String KEY = "ORD-123456-123456";
+    private static final byte[] POISON_PILL = "Not an order".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private KafkaOperations<String, byte[]> template;
+
+    @Mock
+    private KafkaOperations<byte[], byte[]> rawTemplate;
+
+    @Mock
+    private SendResult<String, byte[]> sendResult;
+
+    @Mock
+    private SendResult<byte[], byte[]> rawSendResult;
+
+    @Mock
+    private Logger logger;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> published;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<byte[], byte[]>> rawPublished;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PoisonPillRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recoverer = new PoisonPillRecoverer(template, rawTemplate, INVALID_TOPIC, meterRegistry, logger);
+    }
+
+    @Test
+    @DisplayName("A record that cannot be deserialised is published as received, with diagnostic headers")
+    void poisonPillIsPublishedToInvalidTopic() {
+        when(template.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(sendResult));
+        final RecordHeaders headers = new RecordHeaders();
+        final OrderReceived value = new ErrorHandlingDeserializer<>(new OrderReceivedDeserialiser())
+                .deserialize(ORDER_RECEIVED_TOPIC, headers, POISON_PILL);
+        final ConsumerRecord<String, OrderReceived> poisonPill = new ConsumerRecord<>(ORDER_RECEIVED_TOPIC, 2, 42L,
+                0L, TimestampType.CREATE_TIME, POISON_PILL.length, POISON_PILL.length, KEY, value, headers,
+                Optional.empty());
+
+        recoverer.accept(poisonPill, null, new DeserializationException("failed", POISON_PILL, false,
+                new IllegalStateException("not Avro")));
+
+        verify(template).send(published.capture());
+        final ProducerRecord<String, byte[]> deadLetter = published.getValue();
+        assertThat(deadLetter.topic(), is(INVALID_TOPIC));
+        assertThat(deadLetter.key(), is(KEY));
+        assertThat(deadLetter.value(), is(POISON_PILL));
+        assertThat(new String(deadLetter.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value(),
+                StandardCharsets.UTF_8), is(ORDER_RECEIVED_TOPIC));
+        assertThat(deadLetter.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET), is(notNullValue()));
+        assertThat(deadLetter.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN), is(notNullValue()));
+        assertThat(deadLetter.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_STACKTRACE), is(nullValue()));
+        assertThat(meterRegistry.counter(PoisonPillRecoverer.DEAD_LETTERED_COUNTER).count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("A record the order streams cannot deserialise is published as consumed, with diagnostic headers")
+    void rawPoisonPillIsPublishedToInvalidTopic() {
+        when(rawTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(rawSendResult));
+        final byte[] key = KEY.getBytes(StandardCharsets.UTF_8);
+        final ConsumerRecord<byte[], byte[]> poisonPill =
+                new ConsumerRecord<>(ORDER_RECEIVED_TOPIC, 2, 42L, key, POISON_PILL);
+
+        recoverer.deadLetterRaw(poisonPill, new SerializationException("not Avro"));
+
+        verify(rawTemplate).send(rawPublished.capture());
+        verify(template, never()).send(any(ProducerRecord.class));
+        final ProducerRecord<byte[], byte[]> deadLetter = rawPublished.getValue();
+        assertThat(deadLetter.topic(), is(INVALID_TOPIC));
+        assertThat(deadLetter.key(), is(key));
+        assertThat(deadLetter.value(), is(POISON_PILL));
+        assertThat(new String(deadLetter.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value(),
+                StandardCharsets.UTF_8), is(ORDER_RECEIVED_TOPIC));
+        assertThat(deadLetter.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_STACKTRACE), is(nullValue()));
+        assertThat(meterRegistry.counter(PoisonPillRecoverer.DEAD_LETTERED_COUNTER).count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Any other failure is logged and the record skipped without being published")
+    void otherFailureIsLoggedOnly() {
+        final ConsumerRecord<String, OrderReceived> failed =
+                new ConsumerRecord<>(ORDER_RECEIVED_TOPIC, 0, 7L, KEY, new OrderReceived());
+        final RuntimeException exception = new IllegalStateException("listener failed");
+
+        recoverer.accept(failed, null, exception);
+
+        verify(template, never()).send(any(ProducerRecord.class));
+        verify(logger).error(anyString(), eq(exception), anyMap());
+        assertThat(meterRegistry.counter(PoisonPillRecoverer.DEAD_LETTERED_COUNTER).count(), is(0.0));
+    }
+}
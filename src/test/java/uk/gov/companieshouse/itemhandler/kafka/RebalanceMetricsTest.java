@@ -0,0 +1,72 @@
+package uk.gov.companieshouse.itemhandler.kafka;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link RebalanceMetrics}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RebalanceMetricsTest {
+
+    private static final String GROUP_ID = "item-handler-order-received";
+    private static final List<TopicPartition> PARTITIONS =
+            List.of(new TopicPartition("order-received", 0), new TopicPartition("order-received", 1));
+
+    @Mock
+    private Consumer<String, OrderReceived> consumer;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RebalanceMetrics metricsUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsUnderTest = new RebalanceMetrics(meterRegistry, nanoTime::get);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(GROUP_ID));
+    }
+
+    @Test
+    @DisplayName("A rebalance is timed from revocation to assignment")
+    void rebalanceTimedFromRevocationToAssignment() {
+        metricsUnderTest.onPartitionsRevokedBeforeCommit(consumer, PARTITIONS);
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        metricsUnderTest.onPartitionsAssigned(consumer, PARTITIONS);
+
+        final Timer timer = meterRegistry.get(RebalanceMetrics.REBALANCE_TIMER)
+                .tag(ConsumerLagMonitor.GROUP_TAG, GROUP_ID).timer();
+        assertThat(timer.count(), is(1L));
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS), is(250.0));
+        assertThat(meterRegistry.get(RebalanceMetrics.REVOKED_PARTITIONS_COUNTER).counter().count(), is(2.0));
+        assertThat(meterRegistry.get(RebalanceMetrics.ASSIGNMENTS_COUNTER).counter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("An incremental assignment without revocation is counted but not timed")
+    void incrementalAssignmentCountedNotTimed() {
+        metricsUnderTest.onPartitionsRevokedBeforeCommit(consumer, List.of());
+        metricsUnderTest.onPartitionsAssigned(consumer, PARTITIONS);
+
+        assertThat(meterRegistry.find(RebalanceMetrics.REBALANCE_TIMER).timer() == null, is(true));
+        assertThat(meterRegistry.get(RebalanceMetrics.ASSIGNMENTS_COUNTER).counter().count(), is(1.0));
+    }
+}
@@ -0,0 +1,63 @@
+package uk.gov.companieshouse.itemhandler.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.config.AsyncLoggingConfig;
+
+class AsyncLogAppenderInstallerTest {
+
+    private LoggerContext context;
+    private Logger root;
+    private ListAppender<ILoggingEvent> appender;
+    private AsyncLogAppenderInstaller installerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.setName("LIST");
+        appender.start();
+        root.addAppender(appender);
+        final AsyncLoggingConfig config = new AsyncLoggingConfig();
+        config.setEnabled(true);
+        installerUnderTest = new AsyncLogAppenderInstaller(config);
+    }
+
+    @Test
+    @DisplayName("Root appenders are moved behind the async appender and restored on shutdown")
+    void appendersAreMovedBehindAsyncAppender() {
+        installerUnderTest.install(context);
+
+        assertThat(root.getAppender(AsyncLogAppenderInstaller.ASYNC_APPENDER_NAME), is(notNullValue()));
+        assertThat(root.getAppender("LIST"), is(nullValue()));
+
+        root.info("processed order");
+        installerUnderTest.destroy();
+
+        assertThat(appender.list.size(), is(1));
+        assertThat(root.getAppender(AsyncLogAppenderInstaller.ASYNC_APPENDER_NAME), is(nullValue()));
+        assertThat(root.getAppender("LIST"), is(notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Installing twice does not nest async appenders")
+    void installIsIdempotent() {
+        installerUnderTest.install(context);
+        installerUnderTest.install(context);
+
+        assertThat(root.getAppender(AsyncLogAppenderInstaller.ASYNC_APPENDER_NAME), is(notNullValue()));
+        installerUnderTest.destroy();
+    }
+}
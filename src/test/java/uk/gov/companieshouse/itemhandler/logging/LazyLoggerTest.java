@@ -0,0 +1,73 @@
+package uk.gov.companieshouse.itemhandler.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class LazyLoggerTest {
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private org.slf4j.Logger levels;
+
+    private LazyLogger loggerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        loggerUnderTest = new LazyLogger(logger, levels);
+    }
+
+    @Test
+    @DisplayName("Nothing is built when the level is disabled")
+    void disabledLevelBuildsNothing() {
+        final AtomicBoolean built = new AtomicBoolean();
+
+        loggerUnderTest.info(() -> {
+            built.set(true);
+            return "message";
+        }, logMap -> built.set(true));
+        loggerUnderTest.debug(() -> "message", logMap -> built.set(true));
+
+        assertThat(built.get(), is(false));
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    @DisplayName("Context is logged when the level is enabled and the reused map is cleared afterwards")
+    void enabledLevelLogsContext() {
+        when(levels.isInfoEnabled()).thenReturn(true);
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("order_reference_number", "ORD-1");
+        final Map<String, Object> logged = new HashMap<>();
+        doAnswer(invocation -> {
+            // Copied as logged, since the map is reused once the call returns.
+            logged.putIfAbsent(invocation.getArgument(0), new HashMap<>(invocation.<Map<String, Object>>getArgument(1)));
+            return null;
+        }).when(logger).info(anyString(), anyMap());
+        final AtomicBoolean clearedForNextCall = new AtomicBoolean();
+
+        loggerUnderTest.info(() -> "first", logMap -> logMap.put("order_reference_number", "ORD-1"));
+        loggerUnderTest.info(() -> "second", logMap -> clearedForNextCall.set(logMap.isEmpty()));
+
+        assertThat(logged.get("first"), is(expected));
+        assertThat(clearedForNextCall.get(), is(true));
+    }
+}
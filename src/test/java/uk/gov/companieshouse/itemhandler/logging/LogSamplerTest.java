@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.itemhandler.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.config.LogSamplingConfig;
+
+class LogSamplerTest {
+
+    private static final String KEY = LoggingUtils.SAMPLED_ORDER_RECEIVED;
+
+    private final AtomicLong now = new AtomicLong();
+    private LogSamplingConfig config;
+    private LogSampler samplerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        config = new LogSamplingConfig();
+        config.setEnabled(true);
+        config.setOrderSampleRate(0);
+        config.setMessagesPerSecond(Map.of(KEY, 2));
+        samplerUnderTest = new LogSampler(config, now::get);
+    }
+
+    @Test
+    @DisplayName("Messages beyond the limit for their key are dropped until tokens are refilled")
+    void messagesAreRateLimited() {
+        assertThat(samplerUnderTest.sample(KEY, false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(false));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(samplerUnderTest.sample(KEY, false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(false));
+    }
+
+    @Test
+    @DisplayName("Retries, unlimited keys and disabled sampling are always logged")
+    void retriesAndUnlimitedKeysAreAlwaysLogged() {
+        samplerUnderTest.sample(KEY, false);
+        samplerUnderTest.sample(KEY, false);
+
+        final boolean retry = samplerUnderTest.isSampledOrder("/orders/ORD-3", true);
+        assertThat(retry, is(true));
+        assertThat(samplerUnderTest.sample(KEY, retry), is(true));
+        assertThat(samplerUnderTest.sample(LoggingUtils.SAMPLED_MESSAGE_SENT, false), is(true));
+        config.setEnabled(false);
+        assertThat(samplerUnderTest.isSampledOrder("/orders/ORD-3", false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(true));
+    }
+
+    @Test
+    @DisplayName("Sampled orders are always logged, and the same orders are sampled every time")
+    void sampledOrdersAreAlwaysLogged() {
+        config.setOrderSampleRate(1);
+        config.setMessagesPerSecond(Map.of(KEY, 0));
+
+        assertThat(samplerUnderTest.isSampledOrder("/orders/ORD-1", false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, true), is(true));
+        assertThat(samplerUnderTest.isSampledOrder(null, false), is(false));
+        assertThat(samplerUnderTest.sample(KEY, false), is(false));
+
+        config.setOrderSampleRate(0.5);
+        final LogSampler other = new LogSampler(config, now::get);
+        for (int i = 0; i < 100; i++) {
+            final String orderUri = "/orders/ORD-123456-" + i;
+            assertThat(other.isSampledOrder(orderUri, false), is(samplerUnderTest.isSampledOrder(orderUri, false)));
+        }
+    }
+
+    @Test
+    @DisplayName("The decision made once for an order applies to every message about it")
+    void orderDecisionAppliesToEveryMessage() {
+        config.setOrderSampleRate(1);
+        final boolean sampledOrder = samplerUnderTest.isSampledOrder("/orders/ORD-1", false);
+        config.setOrderSampleRate(0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(samplerUnderTest.sample(KEY, sampledOrder), is(true));
+        }
+        assertThat(samplerUnderTest.isSampledOrder("/orders/ORD-2", true), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(true));
+        assertThat(samplerUnderTest.sample(KEY, false), is(false));
+    }
+}
@@ -0,0 +1,108 @@
+package uk.gov.companieshouse.itemhandler.mapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.config.ApplicationConfig;
+import uk.gov.companieshouse.itemhandler.model.CertificateItemOptions;
+import uk.gov.companieshouse.itemhandler.model.CertifiedCopyItemOptions;
+import uk.gov.companieshouse.itemhandler.model.CompanyStatus;
+import uk.gov.companieshouse.itemhandler.model.CompanyType;
+import uk.gov.companieshouse.itemhandler.model.DeliveryTimescale;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.MissingImageDeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+
+class OrderDataStreamingReaderTest {
+
+    private final OrderDataStreamingReader readerUnderTest =
+            new OrderDataStreamingReader(new ApplicationConfig().objectMapper(), new OrdersApiToOrderDataMapperImpl());
+
+    @Test
+    @DisplayName("Reads a certificate order, choosing certificate item options from the item kind")
+    void readsCertificateOrder() throws IOException {
+        final OrderData order = read("/fixtures/certified-certificate.json");
+
+        assertThat(order.getReference(), is("ORD-123123-123123"));
+        assertThat(order.getPaymentReference(), is("F00DFACE"));
+        assertThat(order.getTotalOrderCost(), is("15"));
+        assertThat(order.getOrderedAt(), is(LocalDateTime.of(2021, 1, 1, 0, 0)));
+        assertThat(order.getOrderedBy().getEmail(), is("demo@ch.gov.uk"));
+        assertThat(order.getLinks().getSelf(), is("/orders/ORD-123123-123123"));
+        assertThat(order.getDeliveryDetails().getAddressLine1(), is("Address Line 1"));
+        assertThat(order.getItems().size(), is(1));
+
+        final Item item = order.getItems().getFirst();
+        assertThat(item.getId(), is("CRT-123123-123123"));
+        assertThat(item.getItemUri(), is("/orderable/certificates/CRT-123123-123123"));
+        assertThat(item.isPostalDelivery(), is(true));
+        assertThat(item.getDescriptionValues().get("company_number"), is("12345678"));
+        assertThat(item.getItemCosts().getFirst().getCalculatedCost(), is("15"));
+        assertThat(item.getItemOptions(), is(instanceOf(CertificateItemOptions.class)));
+        final CertificateItemOptions options = (CertificateItemOptions) item.getItemOptions();
+        assertThat(options.getCompanyStatus(), is(CompanyStatus.ACTIVE));
+        assertThat(options.getDeliveryTimescale(), is(DeliveryTimescale.STANDARD));
+        assertThat(options.getDirectorDetails().getIncludeAddress(), is(true));
+    }
+
+    @Test
+    @DisplayName("Reads a certified copy order, choosing certified copy item options from the item kind")
+    void readsCertifiedCopyOrder() throws IOException {
+        final OrderData order = read("/fixtures/certified-copy.json");
+
+        final Item item = order.getItems().getFirst();
+        assertThat(item.getItemOptions(), is(instanceOf(CertifiedCopyItemOptions.class)));
+        final CertifiedCopyItemOptions options = (CertifiedCopyItemOptions) item.getItemOptions();
+        assertThat(options.getFilingHistoryDocuments().getFirst().getFilingHistoryId(), is("F00DFACE"));
+    }
+
+    @Test
+    @DisplayName("Reads a missing image delivery order, choosing missing image delivery item options")
+    void readsMissingImageDeliveryOrder() throws IOException {
+        final OrderData order = read("/fixtures/missing-image-delivery.json");
+
+        assertThat(order.getItems().getFirst().getItemOptions(), is(instanceOf(MissingImageDeliveryItemOptions.class)));
+    }
+
+    @Test
+    @DisplayName("Reads item options that precede the item kind and maps Orders API company values")
+    void readsItemOptionsBeforeKind() throws IOException {
+        final OrderData order = readerUnderTest.read(body("{\"reference\":\"ORD-1\",\"items\":[{"
+                + "\"item_options\":{\"company_type\":\"llp\",\"company_status\":\"dissolved\","
+                + "\"designated_member_details\":{\"include_address\":true}},"
+                + "\"kind\":\"item#certificate\",\"links\":{\"self\":\"/orderable/certificates/CRT-1\"}}]}"));
+
+        final Item item = order.getItems().getFirst();
+        final CertificateItemOptions options = (CertificateItemOptions) item.getItemOptions();
+        assertThat(options.getCompanyType(), is(CompanyType.LIMITED_LIABILITY_PARTNERSHIP));
+        assertThat(options.getCompanyStatus(), is(CompanyStatus.OTHER));
+        assertThat(options.getDesignatedMembersDetails().getIncludeAddress(), is(true));
+        assertThat(item.getItemUri(), is("/orderable/certificates/CRT-1"));
+    }
+
+    @Test
+    @DisplayName("Body that is not an order is rejected")
+    void rejectsBodyThatIsNotAnOrder() {
+        assertThrows(JsonProcessingException.class, () -> readerUnderTest.read(body("[1, 2, 3]")));
+    }
+
+    private OrderData read(final String fixture) throws IOException {
+        try (InputStream body = getClass().getResourceAsStream(fixture)) {
+            return readerUnderTest.read(body);
+        }
+    }
+
+    private static InputStream body(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import uk.gov.companieshouse.email.EmailSend;
+import uk.gov.companieshouse.itemgroupordered.ItemGroupOrdered;
+import uk.gov.companieshouse.itemhandler.config.ApplicationConfig;
+import uk.gov.companieshouse.itemhandler.config.OutboxConfig;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.itemhandler.itemsummary.DeliverableItemGroup;
+import uk.gov.companieshouse.itemhandler.itemsummary.ItemGroup;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderRoutingEngine;
+import uk.gov.companieshouse.itemhandler.itemsummary.RoutingPlan;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedAvroSerializer;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedFactory;
+import uk.gov.companieshouse.itemhandler.kafka.ItemMessageFactory;
+import uk.gov.companieshouse.itemhandler.model.DeliveryTimescale;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.service.EmailService;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.kafka.message.Message;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Unit tests {@link OrderOutbox}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxTest {
+
+    private static final String ORDER_REFERENCE = "ORD-123456-123456";
+    private static final String OUTBOX_TOPIC = "item-handler-outbox";
+    private static final String ITEM_GROUP_ORDERED_TOPIC = "item-group-ordered";
+    private static final byte[] CHD_MESSAGE = {1, 2, 3};
+    private static final byte[] ITEM_GROUP_ORDERED_MESSAGE = {4, 5, 6};
+
+    @Mock
+    private OrderRoutingEngine orderRoutingEngine;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ItemMessageFactory itemMessageFactory;
+
+    @Mock
+    private ItemGroupOrderedFactory itemGroupOrderedFactory;
+
+    @Mock
+    private ItemGroupOrderedAvroSerializer itemGroupOrderedSerializer;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private Logger logger;
+
+    @Captor
+    private ArgumentCaptor<byte[]> value;
+
+    private final ObjectMapper objectMapper = new ApplicationConfig().objectMapper();
+
+    private OrderData order;
+    private OrderOutbox outboxUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        order = new OrderData();
+        order.setReference(ORDER_REFERENCE);
+        outboxUnderTest = new OrderOutbox(new OutboxConfig(), orderRoutingEngine, emailService, itemMessageFactory,
+                itemGroupOrderedFactory, itemGroupOrderedSerializer, kafkaTemplate, objectMapper, OUTBOX_TOPIC,
+                ITEM_GROUP_ORDERED_TOPIC, logger);
+    }
+
+    @Test
+    @DisplayName("Every output planned for the order is written to the outbox in one record")
+    void everyOutputIsWrittenInOneRecord() throws Exception {
+        givenPlan();
+        when(kafkaTemplate.send(eq(OUTBOX_TOPIC), eq(ORDER_REFERENCE), value.capture()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(outboxUnderTest.route(order), is(OrderProcessResponse.Status.OK));
+
+        final OutboxEntry entry = objectMapper.readValue(value.getValue(), OutboxEntry.class);
+        assertThat(entry.orderReference(), is(ORDER_REFERENCE));
+        assertThat(entry.emails(), contains(new OutboxEntry.Email("item-handler.certificate-summary-order-confirmation",
+                "message-id", "certificate_summary_order_confirmation", "{}", EmailService.TOKEN_EMAIL_ADDRESS,
+                "2024-01-01T09:00")));
+        assertThat(entry.messages().size(), is(2));
+        assertThat(entry.messages().get(0).topic(), is("chd-item-ordered"));
+        assertThat(entry.messages().get(0).value(), is(CHD_MESSAGE));
+        assertThat(entry.messages().get(1).topic(), is(ITEM_GROUP_ORDERED_TOPIC));
+        assertThat(entry.messages().get(1).value(), is(ITEM_GROUP_ORDERED_MESSAGE));
+    }
+
+    @Test
+    @DisplayName("A failure to write to the outbox is retryable")
+    void writeFailureIsRetryable() {
+        givenPlan();
+        final CompletableFuture<SendResult<String, byte[]>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("Test message!"));
+        when(kafkaTemplate.send(eq(OUTBOX_TOPIC), eq(ORDER_REFERENCE), any(byte[].class))).thenReturn(failed);
+
+        assertThrows(RetryableException.class, () -> outboxUnderTest.route(order));
+
+        verify(logger).error(anyString(), any(Exception.class), anyMap());
+    }
+
+    private void givenPlan() {
+        final Item chdItem = new Item();
+        chdItem.setId("MID-123456-123456");
+        final Item digitalItem = new Item();
+        digitalItem.setId("CRT-123456-123456");
+        final DeliverableItemGroup emailGroup =
+                new DeliverableItemGroup(order, "item#certificate", DeliveryTimescale.STANDARD);
+        final ItemGroup digitalGroup = new ItemGroup(order, "item#certificate", List.of(digitalItem));
+        when(orderRoutingEngine.plan(order)).thenReturn(new RoutingPlan(order, List.of(emailGroup),
+                new ItemGroup(order, "item#missing-image-delivery", List.of(chdItem)), List.of(digitalGroup)));
+
+        when(emailService.createOrderConfirmation(emailGroup)).thenReturn(emailSend());
+        final Message chdMessage = new Message();
+        chdMessage.setTopic("chd-item-ordered");
+        chdMessage.setValue(CHD_MESSAGE);
+        when(itemMessageFactory.createMessage(any())).thenReturn(chdMessage);
+        final ItemGroupOrdered itemGroupOrdered = new ItemGroupOrdered();
+        when(itemGroupOrderedFactory.createMessage(digitalGroup)).thenReturn(itemGroupOrdered);
+        when(itemGroupOrderedSerializer.serialize(ITEM_GROUP_ORDERED_TOPIC, itemGroupOrdered))
+                .thenReturn(ITEM_GROUP_ORDERED_MESSAGE);
+    }
+
+    private static EmailSend emailSend() {
+        final EmailSend emailSend = new EmailSend();
+        emailSend.setAppId("item-handler.certificate-summary-order-confirmation");
+        emailSend.setMessageType("certificate_summary_order_confirmation");
+        emailSend.setData("{}");
+        emailSend.setEmailAddress(EmailService.TOKEN_EMAIL_ADDRESS);
+        emailSend.setMessageId("message-id");
+        emailSend.setCreatedAt("2024-01-01T09:00");
+        return emailSend;
+    }
+}
@@ -0,0 +1,81 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Unit tests {@link OutboxDeadLetterRecoverer}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxDeadLetterRecovererTest {
+
+    private static final String OUTBOX_TOPIC = "item-handler-outbox";
+    private static final String OUTBOX_ERROR_TOPIC = "item-handler-outbox-error";
+    private static final String ORDER_REFERENCE = "ORD-111111-111111";
+    private static final byte[] ENTRY = "{\"orderReference\":\"ORD-111111-111111\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private SendResult<String, byte[]> sendResult;
+
+    @Mock
+    private Logger logger;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> published;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxDeadLetterRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recoverer = new OutboxDeadLetterRecoverer(kafkaTemplate, OUTBOX_TOPIC, OUTBOX_ERROR_TOPIC, meterRegistry,
+                logger);
+    }
+
+    @Test
+    @DisplayName("An entry given up on is published as it is to the outbox error topic and tombstoned in the outbox")
+    void entryIsDeadLetteredAndTombstoned() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(sendResult));
+        final ConsumerRecord<String, byte[]> entry = new ConsumerRecord<>(OUTBOX_TOPIC, 0, 7L, ORDER_REFERENCE, ENTRY);
+        final RetryableException cause = new RetryableException("Email API rejected the email");
+
+        recoverer.accept(entry, null, new BatchListenerFailedException("Unable to relay", cause, 0));
+
+        verify(kafkaTemplate).send(published.capture());
+        final ProducerRecord<String, byte[]> deadLetter = published.getValue();
+        assertThat(deadLetter.topic(), is(OUTBOX_ERROR_TOPIC));
+        assertThat(deadLetter.key(), is(ORDER_REFERENCE));
+        assertThat(deadLetter.value(), is(ENTRY));
+        assertThat(deadLetter.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET), is(notNullValue()));
+        verify(kafkaTemplate).send(OUTBOX_TOPIC, ORDER_REFERENCE, null);
+        assertThat(meterRegistry.counter(OutboxDeadLetterRecoverer.DEAD_LETTERED_COUNTER).count(), is(1.0));
+    }
+}
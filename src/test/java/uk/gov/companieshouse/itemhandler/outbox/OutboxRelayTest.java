@@ -0,0 +1,125 @@
+package uk.gov.companieshouse.itemhandler.outbox;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import uk.gov.companieshouse.email.EmailSend;
+import uk.gov.companieshouse.itemhandler.client.EmailClient;
+import uk.gov.companieshouse.itemhandler.config.ApplicationConfig;
+import uk.gov.companieshouse.itemhandler.config.OutboxConfig;
+import uk.gov.companieshouse.itemhandler.exception.EmailClientException;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Unit tests {@link OutboxRelay}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String OUTBOX_TOPIC = "item-handler-outbox";
+    private static final String FIRST_ORDER = "ORD-111111-111111";
+    private static final String SECOND_ORDER = "ORD-222222-222222";
+    private static final byte[] MESSAGE = {1, 2, 3};
+
+    @Mock
+    private EmailClient emailClient;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private Logger logger;
+
+    private final ObjectMapper objectMapper = new ApplicationConfig().objectMapper();
+
+    private OutboxRelay relayUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        relayUnderTest = new OutboxRelay(new OutboxConfig(), emailClient, kafkaTemplate, objectMapper,
+                OUTBOX_TOPIC, logger);
+    }
+
+    @Test
+    @DisplayName("The outputs of each entry are delivered and the entry is then tombstoned")
+    void outputsAreDeliveredAndEntryTombstoned() throws Exception {
+        when(kafkaTemplate.send("chd-item-ordered", MESSAGE)).thenReturn(CompletableFuture.completedFuture(null));
+
+        relayUnderTest.relay(List.of(outboxRecord(0, FIRST_ORDER, entry(FIRST_ORDER)),
+                outboxRecord(1, SECOND_ORDER, null)));
+
+        final ArgumentCaptor<EmailSend> email = ArgumentCaptor.forClass(EmailSend.class);
+        verify(emailClient).sendEmail(email.capture());
+        assertThat(email.getValue().getMessageId(), is("message-id"));
+        verify(kafkaTemplate).send("chd-item-ordered", MESSAGE);
+        verify(kafkaTemplate).send(eq(OUTBOX_TOPIC), eq(FIRST_ORDER), isNull());
+        verify(kafkaTemplate, never()).send(eq(OUTBOX_TOPIC), eq(SECOND_ORDER), any());
+    }
+
+    @Test
+    @DisplayName("A failure to deliver is retried from the entry not delivered")
+    void deliveryFailureIsRetriedFromEntry() throws Exception {
+        when(emailClient.sendEmail(any())).thenReturn(null)
+                .thenThrow(new EmailClientException("Test message!", null));
+        when(kafkaTemplate.send("chd-item-ordered", MESSAGE)).thenReturn(CompletableFuture.completedFuture(null));
+
+        final BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> relayUnderTest.relay(List.of(outboxRecord(0, FIRST_ORDER, entry(FIRST_ORDER)),
+                        outboxRecord(1, SECOND_ORDER, entry(SECOND_ORDER)))));
+
+        assertThat(exception.getIndex(), is(1));
+        assertThat(exception.getCause(), is(instanceOf(RetryableException.class)));
+        verify(kafkaTemplate).send(eq(OUTBOX_TOPIC), eq(FIRST_ORDER), isNull());
+        verify(kafkaTemplate, never()).send(eq(OUTBOX_TOPIC), eq(SECOND_ORDER), any());
+        verify(logger).error(anyString(), any(Exception.class), anyMap());
+    }
+
+    @Test
+    @DisplayName("An entry that cannot be read is not retried")
+    void unreadableEntryIsNotRetried() {
+        final BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> relayUnderTest.relay(List.of(outboxRecord(0, FIRST_ORDER, new byte[] {'{'}))));
+
+        assertThat(exception.getIndex(), is(0));
+        assertThat(exception.getCause(), is(instanceOf(NonRetryableException.class)));
+        verifyNoInteractions(emailClient, kafkaTemplate);
+    }
+
+    private byte[] entry(final String orderReference) throws Exception {
+        return objectMapper.writeValueAsBytes(new OutboxEntry(orderReference,
+                List.of(new OutboxEntry.Email("item-handler.certificate-summary-order-confirmation", "message-id",
+                        "certificate_summary_order_confirmation", "{}", "chs-orders@ch.gov.uk", "2024-01-01T09:00")),
+                List.of(new OutboxEntry.KafkaMessage("chd-item-ordered", MESSAGE))));
+    }
+
+    private static ConsumerRecord<String, byte[]> outboxRecord(final long offset, final String key,
+                                                               final byte[] value) {
+        return new ConsumerRecord<>(OUTBOX_TOPIC, 0, offset, key, value);
+    }
+}
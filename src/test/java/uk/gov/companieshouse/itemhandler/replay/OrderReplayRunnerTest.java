@@ -0,0 +1,172 @@
+package uk.gov.companieshouse.itemhandler.replay;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.itemhandler.config.ReplayConfig;
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessorService;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Unit tests {@link OrderReplayRunner}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderReplayRunnerTest {
+
+    private static final String ORDER_URI = "/orders/ORD-111111-111111";
+    private static final String OTHER_ORDER_URI = "/orders/ORD-222222-222222";
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private OrderProcessorService orderProcessorService;
+
+    @Mock
+    private TopicOrderReader topicOrderReader;
+
+    @Mock
+    private Logger logger;
+
+    private ReplayConfig config;
+    private Path report;
+
+    @BeforeEach
+    void setUp() {
+        report = directory.resolve("report.csv");
+        config = new ReplayConfig();
+        config.setEnabled(true);
+        config.setParallelism(2);
+        config.setRatePerSecond(0);
+        config.setReportFile(report.toString());
+    }
+
+    @Test
+    @DisplayName("Replays each order in the file and reports its outcome, exiting non-zero as one was not processed")
+    void replaysOrdersFromFile() throws IOException {
+        config.setFile(orderFile().toString());
+        when(orderProcessorService.processOrderReceived(eq(ORDER_URI), isNull())).thenReturn(response(
+                OrderProcessResponse.Status.OK));
+        when(orderProcessorService.processOrderReceived(eq(OTHER_ORDER_URI), isNull())).thenReturn(response(
+                OrderProcessResponse.Status.SERVICE_UNAVAILABLE));
+        final OrderReplayRunner runner = runner();
+
+        runner.run(null);
+
+        assertThat(outcomes(), containsInAnyOrder(ORDER_URI + ",OK", OTHER_ORDER_URI + ",SERVICE_UNAVAILABLE"));
+        assertThat(runner.getExitCode(), is(1));
+    }
+
+    @Test
+    @DisplayName("A dry run reports the orders in the file without processing any of them")
+    void dryRunProcessesNothing() throws IOException {
+        config.setFile(orderFile().toString());
+        config.setDryRun(true);
+        final OrderReplayRunner runner = runner();
+
+        runner.run(null);
+
+        assertThat(outcomes(), containsInAnyOrder(ORDER_URI + ",DRY_RUN", OTHER_ORDER_URI + ",DRY_RUN"));
+        assertThat(runner.getExitCode(), is(0));
+        verifyNoInteractions(orderProcessorService);
+    }
+
+    @Test
+    @DisplayName("Replays the orders read from the topic with their priority, reporting records that are not orders")
+    void replaysOrdersFromTopic() throws IOException {
+        config.setTopic("order-received");
+        doAnswer(invocation -> {
+            final Consumer<ReplayOrder> orders = invocation.getArgument(1);
+            orders.accept(new ReplayOrder(ORDER_URI, OrderPriority.EXPRESS, "order-received-0@10"));
+            orders.accept(new ReplayOrder(null, null, "order-received-0@11"));
+            return null;
+        }).when(topicOrderReader).read(eq(config), any());
+        when(orderProcessorService.processOrderReceived(ORDER_URI, OrderPriority.EXPRESS)).thenReturn(response(
+                OrderProcessResponse.Status.OK));
+        final OrderReplayRunner runner = runner();
+
+        runner.run(null);
+
+        assertThat(outcomes(), containsInAnyOrder(ORDER_URI + ",OK", ",INVALID"));
+        assertThat(runner.getExitCode(), is(1));
+    }
+
+    @Test
+    @DisplayName("An order that fails is reported as failed")
+    void failedOrderIsReported() throws IOException {
+        config.setFile(Files.writeString(directory.resolve("orders.txt"), ORDER_URI).toString());
+        when(orderProcessorService.processOrderReceived(eq(ORDER_URI), isNull()))
+                .thenThrow(new IllegalStateException("Orders API unreachable"));
+
+        runner().run(null);
+
+        assertThat(outcomes(), contains(ORDER_URI + ",FAILED"));
+    }
+
+    @Test
+    @DisplayName("Replay requires either a file or a topic")
+    void fileAndTopicAreExclusive() {
+        config.setFile("orders.txt");
+        config.setTopic("order-received");
+        final OrderReplayRunner runner = runner();
+
+        assertThrows(IllegalStateException.class, () -> runner.run(null));
+    }
+
+    @Test
+    @DisplayName("Nothing is replayed unless replay is enabled")
+    void disabledReplayDoesNothing() throws IOException {
+        config.setEnabled(false);
+        config.setTopic("order-received");
+
+        runner().run(null);
+
+        verifyNoInteractions(orderProcessorService, topicOrderReader);
+        assertThat(Files.exists(report), is(false));
+    }
+
+    private OrderReplayRunner runner() {
+        return new OrderReplayRunner(config, orderProcessorService, topicOrderReader, logger);
+    }
+
+    private Path orderFile() throws IOException {
+        return Files.write(directory.resolve("orders.txt"),
+                List.of("# orders to replay", ORDER_URI, "", "  " + OTHER_ORDER_URI + "  "));
+    }
+
+    private List<String> outcomes() throws IOException {
+        final List<String> lines = Files.readAllLines(report);
+        assertThat(lines.get(0), is(ReplayReport.HEADER));
+        return lines.stream().skip(1).map(line -> {
+            final String[] fields = line.split(",", -1);
+            return fields[0] + "," + fields[2];
+        }).toList();
+    }
+
+    private static OrderProcessResponse response(final OrderProcessResponse.Status status) {
+        return OrderProcessResponse.newBuilder().withStatus(status).build();
+    }
+}
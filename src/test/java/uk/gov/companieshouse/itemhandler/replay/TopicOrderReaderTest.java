@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.itemhandler.replay;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.config.ReplayConfig;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedSerialiser;
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link TopicOrderReader}.
+ */
+class TopicOrderReaderTest {
+
+    private static final String TOPIC = "order-received";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private final OrderReceivedSerialiser serialiser = new OrderReceivedSerialiser();
+    private final List<ReplayOrder> orders = new ArrayList<>();
+
+    private MockConsumer<String, byte[]> consumer;
+    private ReplayConfig config;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(
+                new PartitionInfo(TOPIC, 0, null, null, null),
+                new PartitionInfo(TOPIC, 1, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION_0, 5L, PARTITION_1, 3L));
+        consumer.schedulePollTask(() -> {
+            for (long offset = 0; offset < 5; offset++) {
+                consumer.addRecord(order(0, offset));
+            }
+            if (consumer.assignment().contains(PARTITION_1)) {
+                consumer.addRecord(order(1, 0));
+                final ConsumerRecord<String, byte[]> express = order(1, 1);
+                express.headers().add(OrderPriority.ORDER_PRIORITY_HEADER,
+                        OrderPriority.EXPRESS.name().getBytes(StandardCharsets.UTF_8));
+                consumer.addRecord(express);
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, 2, null,
+                        "Not an order".getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+        config = new ReplayConfig();
+        config.setTopic(TOPIC);
+    }
+
+    @Test
+    @DisplayName("Reads the orders within the offset range of every partition, and closes the consumer")
+    void readsOffsetRange() {
+        config.setFromOffset(1L);
+        config.setToOffset(3L);
+
+        new TopicOrderReader(() -> consumer).read(config, orders::add);
+
+        assertThat(orders, containsInAnyOrder(
+                new ReplayOrder("/orders/ORD-0-1", null, TOPIC + "-0@1"),
+                new ReplayOrder("/orders/ORD-0-2", null, TOPIC + "-0@2"),
+                new ReplayOrder("/orders/ORD-1-1", OrderPriority.EXPRESS, TOPIC + "-1@1"),
+                new ReplayOrder(null, null, TOPIC + "-1@2")));
+        assertThat(consumer.closed(), is(true));
+    }
+
+    @Test
+    @DisplayName("Reads only the partition configured, to its end")
+    void readsPartition() {
+        config.setPartition(0);
+        config.setFromOffset(3L);
+
+        new TopicOrderReader(() -> consumer).read(config, orders::add);
+
+        assertThat(orders, contains(
+                new ReplayOrder("/orders/ORD-0-3", null, TOPIC + "-0@3"),
+                new ReplayOrder("/orders/ORD-0-4", null, TOPIC + "-0@4")));
+    }
+
+    private ConsumerRecord<String, byte[]> order(final int partition, final long offset) {
+        final OrderReceived orderReceived = new OrderReceived();
+        orderReceived.setOrderUri("/orders/ORD-" + partition + "-" + offset);
+        orderReceived.setAttempt(0);
+        return new ConsumerRecord<>(TOPIC, partition, offset, null, serialiser.serialize(TOPIC, orderReceived));
+    }
+}
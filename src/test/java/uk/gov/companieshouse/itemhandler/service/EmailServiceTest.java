@@ -2,6 +2,7 @@ package uk.gov.companieshouse.itemhandler.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.email.EmailSend;
 import uk.gov.companieshouse.itemhandler.client.EmailClient;
+import uk.gov.companieshouse.itemhandler.exception.EmailClientException;
 import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
 import uk.gov.companieshouse.itemhandler.itemsummary.*;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
@@ -39,6 +41,9 @@ class EmailServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ObjectWriter objectWriter;
+
     @Mock
     private EmailClient emailClient;
 
@@ -86,7 +91,8 @@ class EmailServiceTest {
         when(metadata.getEmailData()).thenReturn(data);
         when(metadata.getAppId()).thenReturn("appId");
         when(metadata.getMessageType()).thenReturn("messageType");
-        when(objectMapper.writeValueAsString(any())).thenReturn("data");
+        when(objectMapper.writerFor(any(Class.class))).thenReturn(objectWriter);
+        when(objectWriter.writeValueAsString(any())).thenReturn("data");
         when(order.getReference()).thenReturn("ORD-123123-123123");
 
         // when
@@ -111,7 +117,8 @@ class EmailServiceTest {
         when(certCopyMetadata.getEmailData()).thenReturn(certCopyData);
         when(certCopyMetadata.getAppId()).thenReturn("appId");
         when(certCopyMetadata.getMessageType()).thenReturn("messageType");
-        when(objectMapper.writeValueAsString(any())).thenReturn("data");
+        when(objectMapper.writerFor(any(Class.class))).thenReturn(objectWriter);
+        when(objectWriter.writeValueAsString(any())).thenReturn("data");
         when(order.getReference()).thenReturn("ORD-123123-123123");
 
         // when
@@ -127,6 +134,29 @@ class EmailServiceTest {
         assertThat(emailCaptor.getValue().getCreatedAt(), is(notNullValue()));
     }
 
+    @Test
+    @DisplayName("Email service maps an order confirmation without sending it")
+    void createOrderConfirmationDoesNotSend() throws JsonProcessingException {
+        // given
+        when(confirmationMapperFactory.getCertificateMapper()).thenReturn(certificateConfirmationMapper);
+        when(certificateConfirmationMapper.map(any())).thenReturn(metadata);
+        when(metadata.getEmailData()).thenReturn(data);
+        when(metadata.getAppId()).thenReturn("appId");
+        when(metadata.getMessageType()).thenReturn("messageType");
+        when(objectMapper.writerFor(any(Class.class))).thenReturn(objectWriter);
+        when(objectWriter.writeValueAsString(any())).thenReturn("data");
+
+        // when
+        final EmailSend emailSend = emailServiceUnderTest.createOrderConfirmation(
+                new DeliverableItemGroup(order, "item#certificate", STANDARD));
+
+        // then
+        verifyNoInteractions(emailClient);
+        assertThat(emailSend.getAppId(), is(equalTo("appId")));
+        assertThat(emailSend.getMessageType(), is(equalTo("messageType")));
+        assertThat(emailSend.getData(), is(equalTo("data")));
+    }
+
     @Test
     @DisplayName("Email service throws NonRetryableException when object mappers fails to serialise")
     void serviceThrowsNonRetryableExceptionWhenSerialisationFails() throws Exception  {
@@ -134,7 +164,8 @@ class EmailServiceTest {
         when(confirmationMapperFactory.getCertificateMapper()).thenReturn(certificateConfirmationMapper);
         when(certificateConfirmationMapper.map(any())).thenReturn(metadata);
         when(metadata.getEmailData()).thenReturn(data);
-        when(objectMapper.writeValueAsString(data)).thenThrow(new TestJsonProcessingException(TEST_EXCEPTION_MESSAGE));
+        when(objectMapper.writerFor(any(Class.class))).thenReturn(objectWriter);
+        when(objectWriter.writeValueAsString(data)).thenThrow(new TestJsonProcessingException(TEST_EXCEPTION_MESSAGE));
         when(order.getReference()).thenReturn("ORD-123456-123456");
 
         // when
@@ -157,4 +188,24 @@ class EmailServiceTest {
         NonRetryableException actual = assertThrows(NonRetryableException.class, executable);
         assertEquals("Unknown item kind: [item#unknowntype]", actual.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Email service propagates the failure to send its email")
+    void servicePropagatesEmailClientException() throws JsonProcessingException {
+        // given
+        when(confirmationMapperFactory.getCertificateMapper()).thenReturn(certificateConfirmationMapper);
+        when(certificateConfirmationMapper.map(any())).thenReturn(metadata);
+        when(metadata.getEmailData()).thenReturn(data);
+        when(objectMapper.writerFor(any(Class.class))).thenReturn(objectWriter);
+        when(objectWriter.writeValueAsString(any())).thenReturn("data");
+        when(order.getReference()).thenReturn("ORD-123123-123123");
+        when(emailClient.sendEmail(any())).thenThrow(new EmailClientException(TEST_EXCEPTION_MESSAGE, null));
+
+        // when
+        Executable executable = () -> emailServiceUnderTest.sendOrderConfirmation(new DeliverableItemGroup(order, "item#certificate", STANDARD));
+
+        // then
+        EmailClientException actual = assertThrows(EmailClientException.class, executable);
+        assertEquals(TEST_EXCEPTION_MESSAGE, actual.getMessage());
+    }
+}
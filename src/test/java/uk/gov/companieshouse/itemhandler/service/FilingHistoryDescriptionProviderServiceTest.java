@@ -1,10 +1,16 @@
 package uk.gov.companieshouse.itemhandler.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +34,9 @@ class FilingHistoryDescriptionProviderServiceTest {
     private static final String DESCRIPTION_KEY_NULL = "incorporation-company";
     private static final String EXPECTED_DESCRIPTION_NULL = "Incorporation";
 
+    @TempDir
+    Path directory;
+
     static {
         DESCRIPTION_VALUES = new HashMap<>();
         DESCRIPTION_VALUES.put("appointment_date", "2010-02-12");
@@ -93,4 +102,36 @@ class FilingHistoryDescriptionProviderServiceTest {
         assertThat(provider.mapFilingHistoryDescription(DESCRIPTION_KEY, DESCRIPTION_VALUES), is(nullValue()));
     }
 
+    @Test
+    @DisplayName("Repeated descriptions are served from the render cache and reported as hits")
+    void mapFilingHistoryDescriptionCachesRenderedDescriptions() {
+        final FilingHistoryDescriptionProviderService provider = new FilingHistoryDescriptionProviderService();
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        provider.bindTo(registry);
+
+        provider.mapFilingHistoryDescription(DESCRIPTION_KEY, DESCRIPTION_VALUES);
+        assertThat(provider.mapFilingHistoryDescription(DESCRIPTION_KEY, new HashMap<>(DESCRIPTION_VALUES)), is(EXPECTED_DESCRIPTION));
+
+        assertThat(registry.get(FilingHistoryDescriptionProviderService.CACHE_HITS)
+                .tag(FilingHistoryDescriptionProviderService.CACHE_TAG, "description").functionCounter().count(), is(1.0));
+        assertThat(registry.get(FilingHistoryDescriptionProviderService.CACHE_MISSES)
+                .tag(FilingHistoryDescriptionProviderService.CACHE_TAG, "description").functionCounter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Descriptions that are null or not strings do not stop the others from loading")
+    void invalidDescriptionsDoNotStopLoading() throws IOException {
+        final File yamlFile = directory.resolve("filing_history_descriptions.yml").toFile();
+        Files.writeString(yamlFile.toPath(), "description:\n"
+                + "  incorporation-company: \"**Incorporation**\"\n"
+                + "  null-description:\n"
+                + "  integer-description: 42\n", StandardCharsets.UTF_8);
+
+        final FilingHistoryDescriptionProviderService provider = new FilingHistoryDescriptionProviderService(yamlFile);
+
+        assertThat(provider.mapFilingHistoryDescription(DESCRIPTION_KEY_NULL, null), is(EXPECTED_DESCRIPTION_NULL));
+        assertThat(provider.mapFilingHistoryDescription("integer-description", null), is("42"));
+        assertThat(provider.mapFilingHistoryDescription("null-description", null), is("null-description"));
+        assertThat(provider.reload(), is(true));
+    }
 }
@@ -0,0 +1,87 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.gov.companieshouse.itemhandler.config.FilingHistoryReloadConfig;
+
+class FilingHistoryDescriptionReloaderTest {
+
+    private static final String KEY = "incorporation-company";
+
+    @TempDir
+    Path directory;
+
+    private File yamlFile;
+    private FilingHistoryDescriptionProviderService provider;
+    private FilingHistoryDescriptionReloader reloaderUnderTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        yamlFile = directory.resolve("filing_history_descriptions.yml").toFile();
+        writeDescription("**Incorporation**");
+        provider = new FilingHistoryDescriptionProviderService(yamlFile);
+        final FilingHistoryReloadConfig config = new FilingHistoryReloadConfig();
+        config.setEnabled(true);
+        config.setInterval(Duration.ofHours(1));
+        reloaderUnderTest = new FilingHistoryDescriptionReloader(provider, config);
+        reloaderUnderTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reloaderUnderTest.destroy();
+    }
+
+    @Test
+    @DisplayName("Unchanged file is not reloaded")
+    void unchangedFileIsNotReloaded() {
+        assertThat(reloaderUnderTest.reloadIfChanged(), is(false));
+    }
+
+    @Test
+    @DisplayName("Changed file is reloaded and swapped in")
+    void changedFileIsReloaded() throws IOException {
+        writeDescription("**Incorporation of company**");
+
+        assertThat(reloaderUnderTest.reloadIfChanged(), is(true));
+        assertThat(provider.mapFilingHistoryDescription(KEY, null), is("Incorporation of company"));
+    }
+
+    @Test
+    @DisplayName("Descriptions rendered before a reload are not served after it")
+    void renderedDescriptionsAreNotServedAfterReload() throws IOException {
+        final Map<String, Object> values = Map.of("made_up_date", "2010-02-12");
+        assertThat(provider.mapFilingHistoryDescription(KEY, values), is("Incorporation"));
+        writeDescription("**Incorporation of company**");
+
+        assertThat(reloaderUnderTest.reloadIfChanged(), is(true));
+        assertThat(provider.mapFilingHistoryDescription(KEY, values), is("Incorporation of company"));
+    }
+
+    @Test
+    @DisplayName("Invalid file is not swapped in and the current descriptions are kept")
+    void invalidFileKeepsCurrentDescriptions() throws IOException {
+        Files.writeString(yamlFile.toPath(), "not_descriptions:\n  a: b\n", StandardCharsets.UTF_8);
+
+        assertThat(reloaderUnderTest.reloadIfChanged(), is(false));
+        assertThat(provider.mapFilingHistoryDescription(KEY, null), is("Incorporation"));
+    }
+
+    private void writeDescription(final String description) throws IOException {
+        Files.writeString(yamlFile.toPath(), "description:\n  " + KEY + ": \"" + description + "\"\n",
+                StandardCharsets.UTF_8);
+    }
+}
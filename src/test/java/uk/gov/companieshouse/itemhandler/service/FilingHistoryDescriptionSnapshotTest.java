@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FilingHistoryDescriptionSnapshotTest {
+
+    private static final String YAML = "description:\n"
+            + "  incorporation-company: \"**Incorporation**\"\n"
+            + "  appoint-person-director-company-with-name-date: \"**Appointment** of {officer_name} as a director"
+            + " on {appointment_date}\"\n";
+
+    @TempDir
+    Path directory;
+
+    private File yamlFile;
+    private File snapshotFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        yamlFile = directory.resolve("filing_history_descriptions.yml").toFile();
+        Files.writeString(yamlFile.toPath(), YAML, StandardCharsets.UTF_8);
+        snapshotFile = FilingHistoryDescriptionSnapshot.snapshotFileFor(yamlFile);
+    }
+
+    @Test
+    @DisplayName("Snapshot written at build time is read back in place of the YAML")
+    void snapshotRoundTrips() throws IOException {
+        FilingHistoryDescriptionSnapshot.main(new String[]{yamlFile.getPath(), snapshotFile.getPath()});
+
+        final Map<String, String> descriptions = FilingHistoryDescriptionSnapshot.read(yamlFile);
+
+        assertThat(descriptions, is(FilingHistoryDescriptionProviderService.loadFilingHistoryDescriptionsFromFile(yamlFile)));
+    }
+
+    @Test
+    @DisplayName("Snapshot and YAML give the same descriptions for null and non-string values")
+    void snapshotAndYamlAgreeOnInvalidValues() throws IOException {
+        Files.writeString(yamlFile.toPath(), YAML + "  null-description:\n  integer-description: 42\n",
+                StandardCharsets.UTF_8);
+        final Map<String, String> fromYaml =
+                FilingHistoryDescriptionProviderService.loadFilingHistoryDescriptionsFromFile(yamlFile);
+
+        FilingHistoryDescriptionSnapshot.main(new String[]{yamlFile.getPath(), snapshotFile.getPath()});
+        final Map<String, String> fromSnapshot = FilingHistoryDescriptionSnapshot.read(yamlFile);
+
+        assertThat(fromSnapshot, is(fromYaml));
+        assertThat(fromSnapshot.containsKey("null-description"), is(false));
+        assertThat(fromSnapshot.get("integer-description"), is("42"));
+    }
+
+    @Test
+    @DisplayName("Snapshot is ignored once the YAML it was compiled from has changed")
+    void staleSnapshotIsIgnored() throws IOException {
+        FilingHistoryDescriptionSnapshot.main(new String[]{yamlFile.getPath(), snapshotFile.getPath()});
+        Files.writeString(yamlFile.toPath(), YAML + "  legacy: \"Legacy\"\n", StandardCharsets.UTF_8);
+
+        assertThat(FilingHistoryDescriptionSnapshot.read(yamlFile), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Snapshot that is not in the expected format is ignored")
+    void corruptSnapshotIsIgnored() throws IOException {
+        Files.write(snapshotFile.toPath(), new byte[]{1, 2, 3});
+
+        assertThat(FilingHistoryDescriptionSnapshot.read(yamlFile), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Provider renders descriptions loaded from the snapshot")
+    void providerUsesSnapshot() throws IOException {
+        FilingHistoryDescriptionSnapshot.main(new String[]{yamlFile.getPath(), snapshotFile.getPath()});
+
+        final FilingHistoryDescriptionProviderService provider = new FilingHistoryDescriptionProviderService(yamlFile);
+
+        assertThat(provider.mapFilingHistoryDescription("incorporation-company", null), is("Incorporation"));
+    }
+}
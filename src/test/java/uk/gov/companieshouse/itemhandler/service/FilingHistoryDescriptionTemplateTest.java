@@ -0,0 +1,56 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FilingHistoryDescriptionTemplateTest {
+
+    @Test
+    @DisplayName("Asterisks are removed when the template is compiled")
+    void asterisksAreRemovedAtCompileTime() {
+        final FilingHistoryDescriptionTemplate template =
+                FilingHistoryDescriptionTemplate.compile("**Appointment** of {officer_name}");
+
+        assertThat(template.getText(), is("Appointment of {officer_name}"));
+    }
+
+    @Test
+    @DisplayName("Placeholders are rendered with their values and date values are reformatted")
+    void placeholdersAreRendered() {
+        final FilingHistoryDescriptionTemplate template = FilingHistoryDescriptionTemplate.compile(
+                "{officer_name} appointed on {appointment_date}, confirmed by {officer_name}");
+        final Map<String, Object> values = new HashMap<>();
+        values.put("officer_name", "Thomas David Wheare");
+        values.put("appointment_date", "2010-02-12");
+
+        assertThat(template.render(values), is("Thomas David Wheare appointed on 12 February 2010, "
+                + "confirmed by Thomas David Wheare"));
+    }
+
+    @Test
+    @DisplayName("Placeholders without a String value and unterminated braces are left in place")
+    void unmatchedPlaceholdersAreLeftInPlace() {
+        final FilingHistoryDescriptionTemplate template =
+                FilingHistoryDescriptionTemplate.compile("Capital {capital} on {date} {unterminated");
+        final Map<String, Object> values = new HashMap<>();
+        values.put("capital", new HashMap<>());
+
+        assertThat(template.render(values), is("Capital {capital} on {date} {unterminated"));
+    }
+
+    @Test
+    @DisplayName("Values are not themselves searched for placeholders")
+    void valuesAreNotReplacedAgain() {
+        final FilingHistoryDescriptionTemplate template = FilingHistoryDescriptionTemplate.compile("{a} and {b}");
+        final Map<String, Object> values = new HashMap<>();
+        values.put("a", "{b}");
+        values.put("b", "B");
+
+        assertThat(template.render(values), is("{b} and B"));
+    }
+}
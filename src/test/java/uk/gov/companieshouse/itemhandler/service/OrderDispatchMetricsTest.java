@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.config.DispatchSloConfig;
+
+/** Unit tests the {@link OrderDispatchMetrics} class. */
+class OrderDispatchMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderDispatchMetrics metricsUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final DispatchSloConfig config = new DispatchSloConfig();
+        config.setExpressLatency(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+        metricsUnderTest = new OrderDispatchMetrics(config, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Dispatch latency and SLO breaches are recorded per priority")
+    void latencyIsRecordedPerPriority() {
+        metricsUnderTest.record(OrderPriority.EXPRESS, Duration.ofSeconds(2).toNanos());
+        metricsUnderTest.record(OrderPriority.STANDARD, Duration.ofSeconds(2).toNanos());
+        metricsUnderTest.record(OrderPriority.STANDARD, Duration.ofSeconds(2).toNanos());
+
+        assertThat(meterRegistry.get(OrderDispatchMetrics.DISPATCH_TIMER)
+                .tag(OrderDispatchMetrics.PRIORITY_TAG, "express").timer().count(), is(1L));
+        assertThat(meterRegistry.get(OrderDispatchMetrics.DISPATCH_TIMER)
+                .tag(OrderDispatchMetrics.PRIORITY_TAG, "standard").timer().count(), is(2L));
+        assertThat(meterRegistry.get(OrderDispatchMetrics.SLO_BREACH_COUNTER)
+                .tag(OrderDispatchMetrics.PRIORITY_TAG, "express").counter().count(), is(1.0));
+        assertThat(meterRegistry.get(OrderDispatchMetrics.SLO_BREACH_COUNTER)
+                .tag(OrderDispatchMetrics.PRIORITY_TAG, "standard").counter().count(), is(0.0));
+    }
+}
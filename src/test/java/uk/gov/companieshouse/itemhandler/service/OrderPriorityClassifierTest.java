@@ -0,0 +1,67 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.model.DeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.DeliveryTimescale;
+import uk.gov.companieshouse.itemhandler.model.Item;
+import uk.gov.companieshouse.itemhandler.model.MissingImageDeliveryItemOptions;
+import uk.gov.companieshouse.itemhandler.model.OrderData;
+
+/** Unit tests the {@link OrderPriorityClassifier} class and {@link OrderPriority} header parsing. */
+class OrderPriorityClassifierTest {
+
+    private final OrderPriorityClassifier classifierUnderTest = new OrderPriorityClassifier();
+
+    @Test
+    @DisplayName("Order containing a same day item is express")
+    void orderWithSameDayItemIsExpress() {
+        final OrderData order = new OrderData();
+        order.setItems(Arrays.asList(getMissingImageDelivery(),
+                getDeliverableItem(DeliveryTimescale.STANDARD),
+                getDeliverableItem(DeliveryTimescale.SAME_DAY)));
+
+        assertThat(classifierUnderTest.classify(order), is(OrderPriority.EXPRESS));
+    }
+
+    @Test
+    @DisplayName("Order without same day items is standard")
+    void orderWithoutSameDayItemsIsStandard() {
+        final OrderData order = new OrderData();
+        order.setItems(Arrays.asList(getMissingImageDelivery(), getDeliverableItem(DeliveryTimescale.STANDARD)));
+
+        assertThat(classifierUnderTest.classify(order), is(OrderPriority.STANDARD));
+    }
+
+    @Test
+    @DisplayName("Priority header values are resolved case insensitively from bytes or strings")
+    void priorityHeaderIsResolved() {
+        assertThat(OrderPriority.fromHeader("express".getBytes(StandardCharsets.UTF_8)), is(OrderPriority.EXPRESS));
+        assertThat(OrderPriority.fromHeader("STANDARD"), is(OrderPriority.STANDARD));
+        assertThat(OrderPriority.fromHeader("urgent"), is(nullValue()));
+        assertThat(OrderPriority.fromHeader(null), is(nullValue()));
+    }
+
+    private Item getMissingImageDelivery() {
+        final Item item = new Item();
+        item.setKind("item#missing-image-delivery");
+        item.setItemOptions(new MissingImageDeliveryItemOptions());
+        return item;
+    }
+
+    private Item getDeliverableItem(final DeliveryTimescale timescale) {
+        final Item item = new Item();
+        item.setKind("item#certificate");
+        final DeliveryItemOptions itemOptions = new DeliveryItemOptions();
+        itemOptions.setDeliveryTimescale(timescale);
+        item.setItemOptions(itemOptions);
+        item.setPostalDelivery(true);
+        return item;
+    }
+}
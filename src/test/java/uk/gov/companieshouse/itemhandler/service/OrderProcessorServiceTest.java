@@ -5,7 +5,10 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.itemhandler.logging.LoggingUtils.ORDER_REFERENCE_NUMBER;
 
@@ -16,9 +19,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.itemhandler.exception.ApiException;
 import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
-import uk.gov.companieshouse.itemhandler.itemsummary.DigitalOrderItemRouter;
-import uk.gov.companieshouse.itemhandler.itemsummary.OrderItemRouter;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderRoutingEngine;
 import uk.gov.companieshouse.itemhandler.model.OrderData;
+import uk.gov.companieshouse.itemhandler.outbox.OrderOutbox;
 
 /** Unit tests the {@link OrderProcessorService} class. */
 @ExtendWith(MockitoExtension.class)
@@ -36,10 +39,16 @@ class OrderProcessorServiceTest {
     private OrderData order;
 
     @Mock
-    private OrderItemRouter orderItemRouter;
+    private OrderRoutingEngine orderRoutingEngine;
 
     @Mock
-    private DigitalOrderItemRouter digitalOrderItemRouter;
+    private OrderPriorityClassifier orderPriorityClassifier;
+
+    @Mock
+    private OrderDispatchMetrics orderDispatchMetrics;
+
+    @Mock
+    private OrderOutbox orderOutbox;
 
     @Test
     void getsOrderAndSendsOutConfirmation() {
@@ -47,14 +56,15 @@ class OrderProcessorServiceTest {
         // Given
         when(ordersApi.getOrderData(ORDER_URI)).thenReturn(order);
         when(order.getReference()).thenReturn(ORDER_REFERENCE_NUMBER);
+        when(orderPriorityClassifier.classify(order)).thenReturn(OrderPriority.STANDARD);
 
         // When
         orderProcessorUnderTest.processOrderReceived(ORDER_URI);
 
         // Then
         verify(ordersApi).getOrderData(ORDER_URI);
-        verify(orderItemRouter).route(order);
-        verify(digitalOrderItemRouter).route(order);
+        verify(orderDispatchMetrics).record(eq(OrderPriority.STANDARD), anyLong());
+        verify(orderRoutingEngine).route(order);
     }
 
     @Test
@@ -77,13 +87,59 @@ class OrderProcessorServiceTest {
     void testProcessOrderWithMultipleItems() {
         // given
         when(ordersApi.getOrderData(any())).thenReturn(order);
+        when(orderRoutingEngine.route(order)).thenReturn(OrderProcessResponse.Status.OK);
+
+        // when
+        OrderProcessResponse actual = orderProcessorUnderTest.processOrderReceived(ORDER_URI);
+
+        // then
+        assertThat(actual.getStatus(), is(equalTo(OrderProcessResponse.Status.OK)));
+        verify(orderRoutingEngine).route(order);
+    }
+
+    @Test
+    void priorityFromMessageHeaderSkipsClassification() {
+        // given
+        when(ordersApi.getOrderData(ORDER_URI)).thenReturn(order);
+        when(orderRoutingEngine.route(order)).thenReturn(OrderProcessResponse.Status.OK);
+
+        // when
+        OrderProcessResponse actual = orderProcessorUnderTest.processOrderReceived(ORDER_URI, OrderPriority.EXPRESS);
+
+        // then
+        assertThat(actual.getStatus(), is(equalTo(OrderProcessResponse.Status.OK)));
+        verify(orderDispatchMetrics).record(eq(OrderPriority.EXPRESS), anyLong());
+        verifyNoInteractions(orderPriorityClassifier);
+    }
+
+    @Test
+    void sinkStatusIsReturned() {
+        // given
+        when(ordersApi.getOrderData(ORDER_URI)).thenReturn(order);
+        when(orderPriorityClassifier.classify(order)).thenReturn(OrderPriority.STANDARD);
+        when(orderRoutingEngine.route(order)).thenReturn(OrderProcessResponse.Status.SERVICE_UNAVAILABLE);
+
+        // when
+        OrderProcessResponse actual = orderProcessorUnderTest.processOrderReceived(ORDER_URI);
+
+        // then
+        assertThat(actual.getStatus(), is(equalTo(OrderProcessResponse.Status.SERVICE_UNAVAILABLE)));
+    }
+
+    @Test
+    void outboxRoutesOrderWhenEnabled() {
+        // given
+        when(ordersApi.getOrderData(ORDER_URI)).thenReturn(order);
+        when(orderPriorityClassifier.classify(order)).thenReturn(OrderPriority.STANDARD);
+        when(orderOutbox.isEnabled()).thenReturn(true);
+        when(orderOutbox.route(order)).thenReturn(OrderProcessResponse.Status.OK);
 
         // when
         OrderProcessResponse actual = orderProcessorUnderTest.processOrderReceived(ORDER_URI);
 
         // then
         assertThat(actual.getStatus(), is(equalTo(OrderProcessResponse.Status.OK)));
-        verify(orderItemRouter).route(order);
-        verify(digitalOrderItemRouter).route(order);
+        verify(orderOutbox).route(order);
+        verifyNoInteractions(orderRoutingEngine);
     }
 }
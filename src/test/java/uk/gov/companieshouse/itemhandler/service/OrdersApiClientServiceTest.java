@@ -3,6 +3,7 @@ package uk.gov.companieshouse.itemhandler.service;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.api.client.http.HttpStatusCodes;
@@ -21,6 +22,7 @@ import uk.gov.companieshouse.api.handler.order.request.OrdersGet;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.order.OrdersApi;
 import uk.gov.companieshouse.itemhandler.client.ApiClient;
+import uk.gov.companieshouse.itemhandler.client.OrdersApiStreamingClient;
 import uk.gov.companieshouse.itemhandler.exception.ApiException;
 import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
 import uk.gov.companieshouse.itemhandler.mapper.OrdersApiToOrderDataMapper;
@@ -59,6 +61,9 @@ class OrdersApiClientServiceTest {
     @Mock
     ApiErrorResponseException apiErrorResponseException;
 
+    @Mock
+    OrdersApiStreamingClient ordersApiStreamingClient;
+
     @Test
     void getOrderData() throws Exception {
         final OrderData expectedOrderData = new OrderData();
@@ -125,4 +130,21 @@ class OrdersApiClientServiceTest {
         NonRetryableException exception = Assertions.assertThrows(NonRetryableException.class, executable);
         assertThat(exception.getMessage(), is("Invalid order URI /bad-orders/url"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOrderDataUsesStreamingClientWhenEnabled() {
+        final OrderData expectedOrderData = new OrderData();
+        expectedOrderData.setEtag(ORDER_ETAG);
+
+        // Given the streaming fetch path is enabled
+        when(ordersApiStreamingClient.isEnabled()).thenReturn(true);
+        when(ordersApiStreamingClient.getOrderData(ORDER_URL)).thenReturn(expectedOrderData);
+
+        // When
+        OrderData actualOrderData = serviceUnderTest.getOrderData(ORDER_URL);
+
+        // Then
+        assertThat(actualOrderData, is(expectedOrderData));
+        verifyNoInteractions(apiClient, ordersApiToOrderDataMapper);
+    }
+}
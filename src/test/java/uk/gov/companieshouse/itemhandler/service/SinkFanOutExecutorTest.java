@@ -0,0 +1,145 @@
+package uk.gov.companieshouse.itemhandler.service;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.itemhandler.exception.EmailClientException;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.exception.RetryableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/** Unit tests the {@link SinkFanOutExecutor} class. */
+@ExtendWith(MockitoExtension.class)
+class SinkFanOutExecutorTest {
+
+    private static final String ORDER_REFERENCE = "ORD-432118-793830";
+
+    @Mock
+    private Logger logger;
+
+    private ExecutorService executor;
+    private SinkFanOutExecutor executorUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        executorUnderTest = new SinkFanOutExecutor(executor, Duration.ofSeconds(5), Duration.ofSeconds(5), logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Sinks run concurrently and an order whose sinks all succeed is OK")
+    void sinksRunConcurrently() {
+        final CountDownLatch allStarted = new CountDownLatch(3);
+        final Runnable sink = () -> {
+            allStarted.countDown();
+            await(allStarted);
+        };
+
+        assertThat(executorUnderTest.fanOut(ORDER_REFERENCE, asList(sink, sink, sink)),
+                is(OrderProcessResponse.Status.OK));
+    }
+
+    @Test
+    @DisplayName("An order with no sinks is OK")
+    void noSinksIsOk() {
+        assertThat(executorUnderTest.fanOut(ORDER_REFERENCE, Collections.emptyList()),
+                is(OrderProcessResponse.Status.OK));
+    }
+
+    @Test
+    @DisplayName("A non retryable failure dominates a retryable failure and every sink is still run")
+    void nonRetryableDominatesRetryable() {
+        final AtomicInteger succeeded = new AtomicInteger();
+
+        final OrderProcessResponse.Status actual = executorUnderTest.fanOut(ORDER_REFERENCE, asList(
+                () -> { throw new RetryableException("Test message!"); },
+                succeeded::incrementAndGet,
+                () -> { throw new NonRetryableException("Test message!"); }));
+
+        assertThat(actual, is(OrderProcessResponse.Status.SERVICE_ERROR));
+        assertThat(succeeded.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("A retryable failure makes the order service unavailable")
+    void retryableIsServiceUnavailable() {
+        assertThat(executorUnderTest.fanOut(ORDER_REFERENCE, asList(
+                        () -> { },
+                        () -> { throw new RetryableException("Test message!"); })),
+                is(OrderProcessResponse.Status.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("A sink still running at the deadline makes the order service unavailable")
+    void deadlineIsServiceUnavailable() {
+        final CountDownLatch release = new CountDownLatch(1);
+        executorUnderTest = new SinkFanOutExecutor(executor, Duration.ofMillis(50), Duration.ofSeconds(5), logger);
+
+        final OrderProcessResponse.Status actual = executorUnderTest.fanOut(ORDER_REFERENCE, asList(
+                () -> { },
+                () -> await(release)));
+        release.countDown();
+
+        assertThat(actual, is(OrderProcessResponse.Status.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("A sink still running at the deadline is interrupted and has stopped before the order is reported")
+    void sinkRunningAtDeadlineIsInterruptedAndAwaited() {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final AtomicBoolean stopped = new AtomicBoolean();
+        executorUnderTest = new SinkFanOutExecutor(executor, Duration.ofMillis(50), Duration.ofSeconds(5), logger);
+
+        final OrderProcessResponse.Status actual = executorUnderTest.fanOut(ORDER_REFERENCE, asList(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                interrupted.set(true);
+            }
+            stopped.set(true);
+        }));
+
+        assertThat(actual, is(OrderProcessResponse.Status.SERVICE_UNAVAILABLE));
+        assertThat(interrupted.get(), is(true));
+        assertThat(stopped.get(), is(true));
+    }
+
+    @Test
+    @DisplayName("Unclassified exceptions are rethrown to the caller")
+    void unclassifiedExceptionsAreRethrown() {
+        assertThrows(EmailClientException.class, () -> executorUnderTest.fanOut(ORDER_REFERENCE, asList(
+                () -> { throw new RetryableException("Test message!"); },
+                () -> { throw new EmailClientException("Test message!", null); })));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package uk.gov.companieshouse.itemhandler.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.test.TestRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.itemhandler.config.OrderStreamsConfig;
+import uk.gov.companieshouse.itemhandler.config.ResponseHandlerConfig;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedDeserialiser;
+import uk.gov.companieshouse.itemhandler.kafka.OrderReceivedSerialiser;
+import uk.gov.companieshouse.itemhandler.service.OrderPriority;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessResponse;
+import uk.gov.companieshouse.itemhandler.service.OrderProcessorService;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests the {@link OrderStreamsTopology} and its {@link OrderStreamsProcessor}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderStreamsTopologyTest {
+
+    private static final String ORDER_RECEIVED_TOPIC = "order-received";
+    private static final String RETRY_TOPIC = "order-received-retry";
+    private static final String ERROR_TOPIC = "order-received-error";
+    private static final String ORDER_URI = "/orders/ORD-123456-123456";
+
+    @Mock
+    private OrderProcessorService orderProcessorService;
+
+    @Mock
+    private Logger logger;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, OrderReceived> orderReceived;
+    private TestOutputTopic<String, OrderReceived> retry;
+    private TestOutputTopic<String, OrderReceived> error;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final ResponseHandlerConfig responseHandlerConfig = new ResponseHandlerConfig();
+        responseHandlerConfig.setMaximumRetryAttempts(2);
+        responseHandlerConfig.setRetryTopic(RETRY_TOPIC);
+        responseHandlerConfig.setErrorTopic(ERROR_TOPIC);
+        final OrderStreamsTopology topology = new OrderStreamsTopology(orderProcessorService, responseHandlerConfig,
+                new OrderStreamsConfig(), ORDER_RECEIVED_TOPIC, logger);
+
+        final Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "order-streams-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        properties.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("order-streams").toString());
+        driver = new TopologyTestDriver(topology.build(), properties);
+        orderReceived = driver.createInputTopic(ORDER_RECEIVED_TOPIC, new StringSerializer(),
+                new OrderReceivedSerialiser());
+        retry = driver.createOutputTopic(RETRY_TOPIC, new StringDeserializer(), new OrderReceivedDeserialiser());
+        error = driver.createOutputTopic(ERROR_TOPIC, new StringDeserializer(), new OrderReceivedDeserialiser());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("An order completed is not processed again")
+    void completedOrderIsNotProcessedAgain() {
+        givenStatus(OrderProcessResponse.Status.OK);
+
+        orderReceived.pipeInput(ORDER_URI, orderReceived(0));
+        orderReceived.pipeInput(ORDER_URI, orderReceived(0));
+
+        verify(orderProcessorService, times(1)).processOrderReceived(eq(ORDER_URI), any());
+        assertThat(retry.isEmpty(), is(true));
+        assertThat(error.isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("An order published again under another key, or none, is not processed again")
+    void completedOrderIsNotProcessedAgainWhateverItsKey() {
+        givenStatus(OrderProcessResponse.Status.OK);
+
+        orderReceived.pipeInput((String) null, orderReceived(0));
+        orderReceived.pipeInput("another-key", orderReceived(0));
+
+        verify(orderProcessorService, times(1)).processOrderReceived(eq(ORDER_URI), any());
+    }
+
+    @Test
+    @DisplayName("An order forwarded for retry is keyed by its order URI")
+    void retryIsKeyedByOrderUri() {
+        givenStatus(OrderProcessResponse.Status.SERVICE_UNAVAILABLE);
+
+        orderReceived.pipeInput((String) null, orderReceived(0));
+
+        assertThat(retry.readRecord().key(), is(ORDER_URI));
+    }
+
+    @Test
+    @DisplayName("The priority header of the record is passed to the processor service")
+    void priorityHeaderIsPassedOn() {
+        givenStatus(OrderProcessResponse.Status.OK);
+        final RecordHeaders headers = new RecordHeaders();
+        headers.add(OrderPriority.ORDER_PRIORITY_HEADER, "express".getBytes(StandardCharsets.UTF_8));
+
+        orderReceived.pipeInput(new TestRecord<>(ORDER_URI, orderReceived(0), headers));
+
+        verify(orderProcessorService).processOrderReceived(ORDER_URI, OrderPriority.EXPRESS);
+    }
+
+    @Test
+    @DisplayName("An order the service is unavailable for is forwarded to the retry topic with its next attempt")
+    void unavailableOrderIsForwardedForRetry() {
+        givenStatus(OrderProcessResponse.Status.SERVICE_UNAVAILABLE);
+
+        orderReceived.pipeInput(ORDER_URI, orderReceived(1));
+
+        assertThat(retry.readValue().getAttempt(), is(2));
+        assertThat(error.isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("An order the service is unavailable for is forwarded to the error topic once its retries are spent")
+    void unavailableOrderIsForwardedToErrorOnceRetriesSpent() {
+        givenStatus(OrderProcessResponse.Status.SERVICE_UNAVAILABLE);
+
+        orderReceived.pipeInput(ORDER_URI, orderReceived(2));
+
+        assertThat(error.readValue().getAttempt(), is(0));
+        assertThat(retry.isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("An order that failed is neither retried nor recorded as completed")
+    void failedOrderIsNotRetried() {
+        givenStatus(OrderProcessResponse.Status.SERVICE_ERROR);
+
+        orderReceived.pipeInput(ORDER_URI, orderReceived(0));
+        orderReceived.pipeInput(ORDER_URI, orderReceived(0));
+
+        verify(orderProcessorService, times(2)).processOrderReceived(eq(ORDER_URI), any());
+        assertThat(retry.isEmpty(), is(true));
+        assertThat(error.isEmpty(), is(true));
+    }
+
+    private void givenStatus(final OrderProcessResponse.Status status) {
+        when(orderProcessorService.processOrderReceived(eq(ORDER_URI), any())).thenReturn(
+                OrderProcessResponse.newBuilder().withOrderUri(ORDER_URI).withStatus(status).build());
+    }
+
+    private static OrderReceived orderReceived(final int attempt) {
+        final OrderReceived orderReceived = new OrderReceived();
+        orderReceived.setOrderUri(ORDER_URI);
+        orderReceived.setAttempt(attempt);
+        return orderReceived;
+    }
+}
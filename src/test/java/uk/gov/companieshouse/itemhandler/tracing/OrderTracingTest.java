@@ -0,0 +1,212 @@
+package uk.gov.companieshouse.itemhandler.tracing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+
+/**
+ * Unit tests {@link OrderTracing}.
+ */
+class OrderTracingTest {
+
+    private static final String ORDER_REFERENCE = "ORD-123456-123456";
+    private static final String ITEM_ID = "MID-123456-123456";
+
+    private final List<SpanData> endedSpans = new CopyOnWriteArrayList<>();
+
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    void installOpenTelemetry() {
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(new CollectingSpanProcessor()).build();
+        OrderTracing.install(OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build());
+    }
+
+    @AfterEach
+    void resetOpenTelemetry() {
+        OrderTracing.reset();
+        tracerProvider.close();
+    }
+
+    @Test
+    @DisplayName("inSpan() records a span with the order reference and item IDs")
+    void inSpanRecordsSpanWithOrderAttributes() {
+        final String result = OrderTracing.inSpan(OrderTracing.SPAN_SEND_CHD_ITEM, SpanKind.PRODUCER,
+                ORDER_REFERENCE, Arrays.asList(ITEM_ID, null), () -> "sent");
+
+        assertThat(result, is("sent"));
+        assertThat(endedSpans, hasSize(1));
+        final SpanData span = endedSpans.get(0);
+        assertThat(span.getName(), is(OrderTracing.SPAN_SEND_CHD_ITEM));
+        assertThat(span.getKind(), is(SpanKind.PRODUCER));
+        assertThat(span.getAttributes().get(OrderTracing.ORDER_REFERENCE), is(ORDER_REFERENCE));
+        assertThat(span.getAttributes().get(OrderTracing.ITEM_IDS), contains(ITEM_ID));
+    }
+
+    @Test
+    @DisplayName("inSpan() nests spans started by the traced work within its own")
+    void inSpanNestsChildSpans() {
+        OrderTracing.inSpan(OrderTracing.SPAN_ROUTE_ORDER, SpanKind.INTERNAL, ORDER_REFERENCE, null,
+                () -> OrderTracing.inSpan(OrderTracing.SPAN_SEND_EMAIL, SpanKind.PRODUCER, ORDER_REFERENCE, null,
+                        () -> { }));
+
+        assertThat(endedSpans, hasSize(2));
+        final SpanData child = endedSpans.get(0);
+        final SpanData parent = endedSpans.get(1);
+        assertThat(child.getParentSpanId(), is(parent.getSpanId()));
+        assertThat(child.getTraceId(), is(parent.getTraceId()));
+    }
+
+    @Test
+    @DisplayName("inSpan() records the exception thrown by the traced work and rethrows it")
+    void inSpanRecordsAndRethrowsException() {
+        final NonRetryableException failure = new NonRetryableException("Test simulated failure");
+
+        final NonRetryableException actual = assertThrows(NonRetryableException.class,
+                () -> OrderTracing.inSpan(OrderTracing.SPAN_FETCH_ORDER, SpanKind.CLIENT, null, null,
+                        () -> { throw failure; }));
+
+        assertThat(actual, is(failure));
+        assertThat(endedSpans, hasSize(1));
+        assertThat(endedSpans.get(0).getStatus().getStatusCode(), is(StatusCode.ERROR));
+        assertThat(endedSpans.get(0).getEvents().get(0).getName(), is("exception"));
+    }
+
+    @Test
+    @DisplayName("setOrderReference() records the order reference on the current span once known")
+    void setOrderReferenceRecordsOnCurrentSpan() {
+        OrderTracing.inSpan(OrderTracing.SPAN_CONSUME_ORDER_RECEIVED, SpanKind.CONSUMER, null, null, () -> {
+            OrderTracing.setOrderUri("/orders/" + ORDER_REFERENCE);
+            OrderTracing.setOrderReference(ORDER_REFERENCE);
+        });
+
+        assertThat(endedSpans.get(0).getAttributes().get(OrderTracing.ORDER_URI), is("/orders/" + ORDER_REFERENCE));
+        assertThat(endedSpans.get(0).getAttributes().get(OrderTracing.ORDER_REFERENCE), is(ORDER_REFERENCE));
+    }
+
+    @Test
+    @DisplayName("inject() propagates the trace context of the current span into Kafka headers once only")
+    void injectPropagatesTraceContextIntoKafkaHeaders() {
+        final RecordHeaders headers = new RecordHeaders();
+        final AtomicReference<String> traceParent = new AtomicReference<>();
+
+        OrderTracing.inSpan(OrderTracing.SPAN_SEND_ITEM_GROUP, SpanKind.PRODUCER, ORDER_REFERENCE, null, () -> {
+            OrderTracing.inject(headers);
+            OrderTracing.inject(headers);
+            traceParent.set(OrderTracing.traceParent());
+        });
+
+        final SpanData span = endedSpans.get(0);
+        final Header[] injected = headers.toArray();
+        assertThat(injected.length, is(1));
+        assertThat(injected[0].key(), is(OrderTracing.TRACE_PARENT));
+        final String value = new String(injected[0].value(), StandardCharsets.UTF_8);
+        assertThat(value, is("00-" + span.getTraceId() + "-" + span.getSpanId() + "-01"));
+        assertThat(traceParent.get(), is(value));
+    }
+
+    @Test
+    @DisplayName("traceParent() is null outside of a span")
+    void traceParentIsNullOutsideOfSpan() {
+        assertThat(OrderTracing.traceParent(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("withOrderSampled() carries the sampling decision into nested spans and wrapped tasks only")
+    void withOrderSampledCarriesDecision() {
+        final AtomicReference<Boolean> onOtherThread = new AtomicReference<>();
+
+        final Boolean inSpan = OrderTracing.withOrderSampled(true, () ->
+                OrderTracing.inSpan(OrderTracing.SPAN_ROUTE_ORDER, SpanKind.INTERNAL, ORDER_REFERENCE, null, () -> {
+                    final Thread thread = new Thread(Context.current().wrap(
+                            () -> onOtherThread.set(OrderTracing.isOrderSampled())));
+                    thread.start();
+                    join(thread);
+                    return OrderTracing.isOrderSampled();
+                }));
+
+        assertThat(inSpan, is(true));
+        assertThat(onOtherThread.get(), is(true));
+        assertThat(OrderTracing.isOrderSampled(), is(false));
+        assertThat(OrderTracing.withOrderSampled(false, OrderTracing::isOrderSampled), is(false));
+    }
+
+    @Test
+    @DisplayName("Work is still run, but not recorded, once OpenTelemetry is reset")
+    void workIsRunWithoutOpenTelemetry() {
+        OrderTracing.reset();
+        final RecordHeaders headers = new RecordHeaders();
+
+        final String result = OrderTracing.inSpan(OrderTracing.SPAN_ROUTE_ORDER, SpanKind.INTERNAL, ORDER_REFERENCE,
+                null, () -> {
+                    OrderTracing.inject(headers);
+                    return OrderTracing.traceParent() == null ? "untraced" : "traced";
+                });
+
+        assertThat(result, is("untraced"));
+        assertThat(headers.toArray().length, is(0));
+        assertThat(endedSpans, hasSize(0));
+    }
+
+    private static void join(final Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private class CollectingSpanProcessor implements SpanProcessor {
+
+        @Override
+        public void onStart(final Context parentContext, final ReadWriteSpan span) {
+            // Only ended spans are of interest.
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(final ReadableSpan span) {
+            endedSpans.add(span.toSpanData());
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+    }
+}
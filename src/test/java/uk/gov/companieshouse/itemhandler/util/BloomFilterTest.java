@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.itemhandler.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests the {@link BloomFilter} class. */
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Every value put is reported as possibly contained")
+    void valuesPutAreContained() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("/orders/ORD-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("/orders/ORD-" + i), is(true));
+        }
+    }
+
+    @Test
+    @DisplayName("Values never put are rarely reported as possibly contained")
+    void falsePositiveRateIsNearTarget() {
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("/orders/ORD-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain("/orders/ORD-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives, is(lessThan(2_000)));
+    }
+
+    @Test
+    @DisplayName("The filter is sized from its expected insertions and false positive rate")
+    void filterIsSized() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(filter.bitCount(), is(9600L));
+        assertThat(filter.hashCount(), is(7));
+    }
+
+    @Test
+    @DisplayName("An empty filter contains nothing")
+    void emptyFilterContainsNothing() {
+        assertThat(new BloomFilter(10, 0.01).mightContain("/orders/ORD-1"), is(false));
+    }
+
+    @Test
+    @DisplayName("A false positive rate outside of (0, 1) is rejected")
+    void invalidFalsePositiveRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.companieshouse.itemhandler.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests the {@link LruCache} class. */
+class LruCacheTest {
+
+    @Test
+    @DisplayName("Values are loaded once and then served from the cache")
+    void valuesAreLoadedOnce() {
+        final LruCache<String, String> cache = new LruCache<>(2);
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.computeIfAbsent("a", key -> key + loads.incrementAndGet());
+        final String actual = cache.computeIfAbsent("a", key -> key + loads.incrementAndGet());
+
+        assertThat(actual, is("a1"));
+        assertThat(cache.hitCount(), is(1L));
+        assertThat(cache.missCount(), is(1L));
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted once the cache is full")
+    void leastRecentlyUsedEntryIsEvicted() {
+        final LruCache<String, String> cache = new LruCache<>(2);
+        cache.computeIfAbsent("a", key -> "A");
+        cache.computeIfAbsent("b", key -> "B");
+        cache.computeIfAbsent("a", key -> "A");
+
+        cache.computeIfAbsent("c", key -> "C");
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.computeIfAbsent("a", key -> "reloaded"), is("A"));
+        assertThat(cache.computeIfAbsent("b", key -> "reloaded"), is("reloaded"));
+    }
+
+    @Test
+    @DisplayName("Reset empties the cache and zeroes its hit and miss counts")
+    void resetEmptiesCacheAndCounts() {
+        final LruCache<String, String> cache = new LruCache<>(2);
+        cache.computeIfAbsent("a", key -> "A");
+        cache.computeIfAbsent("a", key -> "A");
+
+        cache.reset();
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.hitCount(), is(0L));
+        assertThat(cache.missCount(), is(0L));
+        assertThat(cache.computeIfAbsent("a", key -> "reloaded"), is("reloaded"));
+    }
+}
@@ -0,0 +1,210 @@
+package uk.gov.companieshouse.itemhandler.warmup;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import uk.gov.companieshouse.email.EmailSend;
+import uk.gov.companieshouse.itemhandler.config.ApplicationConfig;
+import uk.gov.companieshouse.itemhandler.config.WarmUpConfig;
+import uk.gov.companieshouse.itemhandler.exception.NonRetryableException;
+import uk.gov.companieshouse.itemhandler.itemsummary.OrderRoutingEngine;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedAvroSerializer;
+import uk.gov.companieshouse.itemhandler.kafka.ItemGroupOrderedFactory;
+import uk.gov.companieshouse.itemhandler.kafka.ItemMessageFactory;
+import uk.gov.companieshouse.itemhandler.kafka.MessageSerialiserFactory;
+import uk.gov.companieshouse.itemhandler.mapper.OrdersApiToOrderDataMapperImpl;
+import uk.gov.companieshouse.itemhandler.service.ChdItemSenderService;
+import uk.gov.companieshouse.itemhandler.service.DigitalItemGroupSenderService;
+import uk.gov.companieshouse.itemhandler.service.EmailService;
+import uk.gov.companieshouse.itemhandler.service.FilingHistoryDescriptionProviderService;
+import uk.gov.companieshouse.itemhandler.service.SinkFanOutExecutor;
+import uk.gov.companieshouse.kafka.serialization.SerializerFactory;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.orders.OrderReceived;
+
+/**
+ * Unit tests {@link OrderWarmUp}. Everything but the email service and the sinks is real, so that the warm-up orders
+ * are known to make it through every mapper and serialiser.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderWarmUpTest {
+
+    private static final String DESCRIPTION_KEY = "appoint-person-director-company-with-name-date";
+    private static final Map<String, Object> DESCRIPTION_VALUES =
+            Map.of("appointment_date", "2010-02-12", "officer_name", "Thomas David Wheare");
+
+    /** The warm-up order has certificates and certified copies for postal delivery on both timescales. */
+    private static final int EMAIL_GROUPS_PER_ITERATION = 4;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ChdItemSenderService chdItemSenderService;
+
+    @Mock
+    private DigitalItemGroupSenderService digitalItemGroupSenderService;
+
+    @Mock
+    private Logger logger;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private WarmUpConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private FilingHistoryDescriptionProviderService filingHistoryDescriptions;
+    private ItemMessageFactory itemMessageFactory;
+    private ItemGroupOrderedFactory itemGroupOrderedFactory;
+    private OrderWarmUp warmUpUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        config = new WarmUpConfig();
+        config.setEnabled(true);
+        config.setIterations(3);
+        meterRegistry = new SimpleMeterRegistry();
+        final ObjectMapper objectMapper = new ApplicationConfig().objectMapper();
+        final SerializerFactory serializerFactory = new SerializerFactory();
+        filingHistoryDescriptions = new FilingHistoryDescriptionProviderService();
+        filingHistoryDescriptions.bindTo(meterRegistry);
+        itemMessageFactory = spy(new ItemMessageFactory(serializerFactory, objectMapper));
+        itemGroupOrderedFactory = spy(new ItemGroupOrderedFactory(logger, objectMapper));
+        final OrderRoutingEngine orderRoutingEngine = new OrderRoutingEngine(emailService, chdItemSenderService,
+                digitalItemGroupSenderService,
+                new SinkFanOutExecutor(Runnable::run, Duration.ofMinutes(1), Duration.ofSeconds(10), logger), logger);
+        warmUpUnderTest = new OrderWarmUp(config,
+                new OrdersApiToOrderDataMapperImpl(),
+                orderRoutingEngine,
+                emailService,
+                itemMessageFactory,
+                itemGroupOrderedFactory,
+                new ItemGroupOrderedAvroSerializer(),
+                new MessageSerialiserFactory<>(serializerFactory, EmailSend.class),
+                new MessageSerialiserFactory<>(serializerFactory, OrderReceived.class),
+                filingHistoryDescriptions,
+                meterRegistry,
+                logger,
+                nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("The warm-up orders are handled for each iteration without anything being sent")
+    void warmUpHandlesOrdersWithoutSending() {
+        when(emailService.createOrderConfirmation(any())).thenReturn(emailSend());
+
+        warmUpUnderTest.start();
+
+        verify(emailService, times(3 * EMAIL_GROUPS_PER_ITERATION)).createOrderConfirmation(any());
+        verify(emailService, never()).sendOrderConfirmation(any());
+        verifyNoInteractions(chdItemSenderService, digitalItemGroupSenderService);
+        verify(logger).info(eq("Warm-up complete"), anyMap());
+        assertThat(meterRegistry.get(OrderWarmUp.WARM_UP_TIMER).timer().count(), is(1L));
+        assertThat(warmUpUnderTest.isRunning(), is(true));
+    }
+
+    @Test
+    @DisplayName("The caches the warm-up orders pass through are left empty, with no hits or misses reported")
+    void warmUpLeavesCachesUntouched() {
+        // Renders a description with an action date, as the certified copy confirmation mapper does.
+        when(emailService.createOrderConfirmation(any())).thenAnswer(invocation -> {
+            filingHistoryDescriptions.mapFilingHistoryDescription(DESCRIPTION_KEY, DESCRIPTION_VALUES);
+            return emailSend();
+        });
+
+        warmUpUnderTest.start();
+
+        for (String cache : List.of("description", "action_date")) {
+            assertThat(meterRegistry.get(FilingHistoryDescriptionProviderService.CACHE_SIZE)
+                    .tag(FilingHistoryDescriptionProviderService.CACHE_TAG, cache).gauge().value(), is(0.0));
+            assertThat(meterRegistry.get(FilingHistoryDescriptionProviderService.CACHE_HITS)
+                    .tag(FilingHistoryDescriptionProviderService.CACHE_TAG, cache).functionCounter().count(), is(0.0));
+            assertThat(meterRegistry.get(FilingHistoryDescriptionProviderService.CACHE_MISSES)
+                    .tag(FilingHistoryDescriptionProviderService.CACHE_TAG, cache).functionCounter().count(), is(0.0));
+        }
+        verify(itemMessageFactory).clearFilingHistoryOptions();
+        verify(itemGroupOrderedFactory).clearFilingHistoryOptions();
+    }
+
+    @Test
+    @DisplayName("Nothing is warmed up unless the warm-up is enabled")
+    void nothingWarmedUpWhenDisabled() {
+        config.setEnabled(false);
+
+        warmUpUnderTest.start();
+
+        verifyNoInteractions(emailService, logger);
+        assertThat(meterRegistry.find(OrderWarmUp.WARM_UP_TIMER).timer(), is(nullValue()));
+        assertThat(warmUpUnderTest.isRunning(), is(true));
+    }
+
+    @Test
+    @DisplayName("The warm-up stops at its timeout")
+    void warmUpStopsAtTimeout() {
+        config.setTimeout(Duration.ofMillis(700));
+        when(emailService.createOrderConfirmation(any())).thenAnswer(invocation -> {
+            nanoTime.addAndGet(Duration.ofMillis(100).toNanos());
+            return emailSend();
+        });
+
+        warmUpUnderTest.start();
+
+        // Each iteration takes 400ms, so the second ends beyond the timeout and the third is never started.
+        verify(emailService, times(2 * EMAIL_GROUPS_PER_ITERATION)).createOrderConfirmation(any());
+        verify(logger).info(eq("Warm-up complete"), anyMap());
+    }
+
+    @Test
+    @DisplayName("A failure abandons the warm-up rather than the start of the application")
+    void failureAbandonsWarmUp() {
+        final NonRetryableException failure = new NonRetryableException("Test message!");
+        when(emailService.createOrderConfirmation(any())).thenThrow(failure);
+
+        warmUpUnderTest.start();
+
+        verify(logger).error(anyString(), eq(failure), anyMap());
+        assertThat(meterRegistry.get(OrderWarmUp.WARM_UP_TIMER).timer().count(), is(1L));
+        assertThat(warmUpUnderTest.isRunning(), is(true));
+    }
+
+    @Test
+    @DisplayName("The warm-up starts before the listener containers")
+    void startsBeforeListenerContainers() {
+        assertThat(warmUpUnderTest.getPhase(), is(lessThan(AbstractMessageListenerContainer.DEFAULT_PHASE)));
+    }
+
+    private static EmailSend emailSend() {
+        final EmailSend emailSend = new EmailSend();
+        emailSend.setAppId("item-handler.certificate-summary-order-confirmation");
+        emailSend.setMessageType("certificate_summary_order_confirmation");
+        emailSend.setData("{}");
+        emailSend.setEmailAddress(EmailService.TOKEN_EMAIL_ADDRESS);
+        emailSend.setMessageId("warm-up");
+        emailSend.setCreatedAt("2024-01-01T09:00");
+        return emailSend;
+    }
+}